@@ -0,0 +1,82 @@
+package com.dartverein.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Second-level cache for Hibernate, kept in this JVM in {@link BoundedStorageAccess} regions.
+ * Size and time to live are set with {@code hibernate.cache.bounded.max_entries} and
+ * {@code hibernate.cache.bounded.ttl_seconds}, or per region with
+ * {@code hibernate.cache.bounded.<region>.max_entries} and {@code .ttl_seconds}.
+ */
+public class BoundedCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String SETTINGS_PREFIX = "hibernate.cache.bounded.";
+    public static final String MAX_ENTRIES = "max_entries";
+    public static final String TTL_SECONDS = "ttl_seconds";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final int DEFAULT_TTL_SECONDS = 600;
+
+    private final Map<String, BoundedStorageAccess> regions = new ConcurrentHashMap<>();
+    private Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(BoundedStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return createStorage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return createStorage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // One entry per table; a dropped timestamp would let stale query results count as current
+        return register(new BoundedStorageAccess(regionName, Integer.MAX_VALUE, 0));
+    }
+
+    public List<BoundedStorageAccess> getRegions() {
+        return new ArrayList<>(regions.values());
+    }
+
+    private BoundedStorageAccess createStorage(String regionName) {
+        int maxEntries = setting(regionName, MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+        int ttlSeconds = setting(regionName, TTL_SECONDS, DEFAULT_TTL_SECONDS);
+        return register(new BoundedStorageAccess(regionName, maxEntries, ttlSeconds));
+    }
+
+    private BoundedStorageAccess register(BoundedStorageAccess storage) {
+        regions.put(storage.getRegionName(), storage);
+        return storage;
+    }
+
+    private int setting(String regionName, String name, int defaultValue) {
+        int value = ConfigurationHelper.getInt(SETTINGS_PREFIX + name, settings, defaultValue);
+        return ConfigurationHelper.getInt(SETTINGS_PREFIX + regionName + "." + name, settings, value);
+    }
+}
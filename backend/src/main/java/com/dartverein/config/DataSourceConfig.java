@@ -0,0 +1,31 @@
+package com.dartverein.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections that take one from the pool only with their first statement. Every game
+ * task runs in a transaction (see {@link com.dartverein.service.GameExecutor}), but a dart is
+ * usually scored in memory only; its transaction then begins and commits without a round trip.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // Static, so the post-processor is registered before the data source is created
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
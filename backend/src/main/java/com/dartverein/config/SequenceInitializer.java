@@ -0,0 +1,71 @@
+package com.dartverein.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequences of the entities with pooled sequence ids past the ids their tables
+ * already hold. Those entities used IDENTITY columns before, and {@code ddl-auto=update} creates
+ * their sequences starting at 1, so without this the first insert into a populated table would
+ * reuse an existing id. MySQL has no sequences; Hibernate keeps them in one-row tables
+ * ({@code game_seq.next_val}). Runs once the schema is up, before any request is served; a
+ * sequence that is ahead already is left alone.
+ */
+@Component
+public class SequenceInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    // Value column of a table-backed sequence, Hibernate's default
+    private static final String VALUE_COLUMN = "next_val";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void initializeSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SqlStringGenerationContext context = sessionFactory.getSqlStringGenerationContext();
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                return;
+            }
+            DatabaseStructure structure = generator.getDatabaseStructure();
+            String sequence = context.format(structure.getPhysicalName());
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + entityPersister.getIdentifierColumnNames()[0]
+                    + ") FROM " + entityPersister.getTableName(), Long.class);
+            if (maxId == null) {
+                return;
+            }
+            // A pooled optimizer hands out the increment below the value it reads
+            long next = maxId + structure.getIncrementSize() + 1;
+            if (structure.isPhysicalSequence()) {
+                Long current = jdbcTemplate.queryForObject(
+                        dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                if (current != null && current >= next) {
+                    return;
+                }
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+            } else if (jdbcTemplate.update("UPDATE " + sequence + " SET " + VALUE_COLUMN + " = ? WHERE "
+                    + VALUE_COLUMN + " < ?", next, next) == 0) {
+                return;
+            }
+            logger.info("Moved id sequence {} to {}, past the ids in {}", sequence, next, entityPersister.getTableName());
+        });
+    }
+}
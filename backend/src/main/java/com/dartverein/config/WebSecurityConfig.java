@@ -65,8 +65,10 @@ public class WebSecurityConfig {
                     .requestMatchers("/api/test/**").permitAll()
                     .requestMatchers("/api/players/**").permitAll()
                     .requestMatchers("/api/games/**").permitAll()
+                    .requestMatchers("/api/tournaments/**").permitAll()
                     .requestMatchers("/api/gamestate/**").permitAll()
                     .requestMatchers("/api/statistics/**").permitAll()
+                    .requestMatchers("/api/checkout/**").permitAll()
                     .anyRequest().authenticated()
             );
 
@@ -82,6 +84,8 @@ public class WebSecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Read by clients for conditional requests on game states
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
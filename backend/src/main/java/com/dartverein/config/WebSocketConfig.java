@@ -0,0 +1,49 @@
+package com.dartverein.config;
+
+import com.dartverein.controller.GameStateSocket;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the WebSocket endpoints with the servlet container's JSR 356 support, handing out the
+ * Spring-managed endpoint beans instead of letting the container instantiate them.
+ */
+@Configuration
+public class WebSocketConfig {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Autowired
+    private GameStateSocket gameStateSocket;
+
+    @Value("${dartverein.ws.idleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    @PostConstruct
+    void registerEndpoints() throws DeploymentException {
+        ServerContainer container = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            logger.warn("No WebSocket support in the servlet container, {} is not available", GameStateSocket.PATH);
+            return;
+        }
+        container.setDefaultMaxSessionIdleTimeout(idleTimeoutMs);
+        container.addEndpoint(ServerEndpointConfig.Builder.create(GameStateSocket.class, GameStateSocket.PATH)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(gameStateSocket);
+                    }
+                })
+                .build());
+    }
+}
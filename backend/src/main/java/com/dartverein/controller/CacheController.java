@@ -0,0 +1,22 @@
+package com.dartverein.controller;
+
+import com.dartverein.dto.CacheRegionStatistics;
+import com.dartverein.service.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/statistics")
+    public List<CacheRegionStatistics> getCacheStatistics() {
+        return cacheStatisticsService.getRegionStatistics();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dartverein.controller;
+
+import com.dartverein.dto.CheckoutResponse;
+import com.dartverein.engine.CheckoutTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/checkout")
+@CrossOrigin(origins = "*")
+public class CheckoutController {
+
+    @Autowired
+    private CheckoutTable checkoutTable;
+
+    @GetMapping
+    public ResponseEntity<CheckoutResponse> getCheckout(@RequestParam int score,
+                                                        @RequestParam(defaultValue = "3") int darts,
+                                                        @RequestParam(defaultValue = "false") boolean doubleIn,
+                                                        @RequestParam(defaultValue = "true") boolean doubleOut) {
+        if (darts < 1 || darts > CheckoutTable.MAX_DARTS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int route = checkoutTable.lookup(score, darts, doubleIn, doubleOut);
+        if (route == CheckoutTable.NO_FINISH) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int length = CheckoutTable.routeLength(route);
+        List<String> labels = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            labels.add(CheckoutTable.label(CheckoutTable.dartCode(route, i)));
+        }
+        return ResponseEntity.ok(new CheckoutResponse(score, darts, doubleIn, doubleOut, labels));
+    }
+}
@@ -1,20 +1,44 @@
 package com.dartverein.controller;
 
+import com.dartverein.dto.GameBatchRequest;
+import com.dartverein.dto.GameBatchResponse;
+import com.dartverein.dto.GameHistoryPage;
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.VisitBatchResponse;
+import com.dartverein.dto.VisitRequest;
+import com.dartverein.engine.DartBot;
 import com.dartverein.model.*;
 import com.dartverein.repository.*;
+import com.dartverein.service.BotService;
+import com.dartverein.service.CareerStatisticsService;
+import com.dartverein.service.GameCreationService;
+import com.dartverein.service.GameHistoryService;
+import com.dartverein.service.ScoringService;
+import com.dartverein.service.VisitIngestionService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/games")
 @CrossOrigin(origins = "*")
 public class GameController {
 
+    private static final Pageable LATEST = PageRequest.of(0, GameHistoryService.MAX_PAGE_SIZE);
+
     @Autowired
     private GameRepository gameRepository;
     
@@ -27,38 +51,84 @@ public class GameController {
     @Autowired
     private GameStatisticsRepository gameStatisticsRepository;
 
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private BotService botService;
+
+    @Autowired
+    private VisitIngestionService visitIngestionService;
+
+    @Autowired
+    private CareerStatisticsService careerStatisticsService;
+
+    @Autowired
+    private GameHistoryService gameHistoryService;
+
+    @Autowired
+    private GameCreationService gameCreationService;
+
+    /**
+     * The latest {@link GameHistoryService#MAX_PAGE_SIZE} games, newest first.
+     *
+     * @deprecated page through {@code /history} to reach older games
+     */
+    @Deprecated
     @GetMapping
-    public List<Game> getAllGames() {
-        return gameRepository.findAll();
+    public List<GameResponse> getAllGames() {
+        return toResponses(gameRepository.findAllWithPlayers(LATEST));
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<GameHistoryPage> getGameHistory(
+            @RequestParam(required = false) Game.GameStatus status,
+            @RequestParam(required = false) Game.GameType gameType,
+            @RequestParam(required = false) Long playerId,
+            @RequestParam(required = false) Long opponentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.findGames(status, gameType, playerId, opponentId, from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Game> getGameById(@PathVariable Long id) {
-        Optional<Game> game = gameRepository.findById(id);
+    public ResponseEntity<GameResponse> getGameById(@PathVariable Long id) {
+        Optional<GameResponse> game = gameHistoryService.findGame(id);
         return game.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * The latest {@link GameHistoryService#MAX_PAGE_SIZE} games of a player, newest first.
+     *
+     * @deprecated page through {@code /history?playerId=} to reach older games
+     */
+    @Deprecated
     @GetMapping("/player/{playerId}")
-    public List<Game> getGamesByPlayer(@PathVariable Long playerId) {
-        Optional<Player> player = playerRepository.findById(playerId);
-        if (player.isEmpty()) {
-            return List.of();
-        }
-        return gameRepository.findByPlayer1OrPlayer2OrderByCreatedAtDesc(player.get(), player.get());
+    public List<GameResponse> getGamesByPlayer(@PathVariable Long playerId) {
+        return toResponses(gameRepository.findAllWithPlayersByPlayer(playerId, LATEST));
     }
 
+    /**
+     * Served from the registry of games in progress, without a query.
+     */
     @GetMapping("/active")
-    public List<Game> getActiveGames() {
-        return gameRepository.findByStatusOrderByCreatedAtDesc(Game.GameStatus.IN_PROGRESS);
+    public List<GameResponse> getActiveGames() {
+        return scoringService.getActiveGames();
     }
 
     @GetMapping("/player/{playerId}/active")
-    public List<Game> getActiveGamesByPlayer(@PathVariable Long playerId) {
-        return gameRepository.findActiveGamesByPlayer(playerId);
+    public List<GameResponse> getActiveGamesByPlayer(@PathVariable Long playerId) {
+        return scoringService.getActiveGamesByPlayer(playerId);
     }
 
     @PostMapping
-    public ResponseEntity<Game> createGame(@Valid @RequestBody GameCreateRequest request) {
+    public ResponseEntity<GameResponse> createGame(@Valid @RequestBody GameCreateRequest request) {
         Optional<Player> player1 = playerRepository.findById(request.getPlayer1Id());
         if (player1.isEmpty()) {
             return ResponseEntity.badRequest().build();
@@ -71,6 +141,8 @@ public class GameController {
                 return ResponseEntity.badRequest().build();
             }
             player2 = optionalPlayer2.get();
+        } else if (request.getGameMode() == Game.GameMode.VS_BOT) {
+            player2 = botService.getBotPlayer();
         }
 
         Game game = new Game(player1.get(), player2, request.getGameType(), request.getGameMode(), request.getStartScore());
@@ -78,6 +150,9 @@ public class GameController {
         game.setTargetSets(request.getTargetSets());
         game.setDoubleIn(request.getDoubleIn());
         game.setDoubleOut(request.getDoubleOut());
+        if (request.getGameMode() == Game.GameMode.VS_BOT) {
+            game.setBotLevel(request.getBotLevel());
+        }
 
         Game savedGame = gameRepository.save(game);
 
@@ -92,38 +167,72 @@ public class GameController {
             gameStatisticsRepository.save(stats2);
         }
 
-        return ResponseEntity.ok(savedGame);
+        // The players were loaded above, so mapping runs no further statements
+        GameResponse response = GameResponse.from(savedGame);
+        scoringService.register(response);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Creates the games of all pairings in one transaction, e.g. every board of a club night.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<GameBatchResponse> createGames(@Valid @RequestBody GameBatchRequest request) {
+        List<Game> games;
+        try {
+            games = gameCreationService.createGames(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> gameIds = new ArrayList<>(games.size());
+        for (Game game : games) {
+            scoringService.register(GameResponse.from(game));
+            gameIds.add(game.getId());
+        }
+        return ResponseEntity.ok(new GameBatchResponse(games.size(), gameIds));
     }
 
     @PutMapping("/{id}/finish")
-    public ResponseEntity<Game> finishGame(@PathVariable Long id, @RequestBody GameFinishRequest request) {
+    public ResponseEntity<GameResponse> finishGame(@PathVariable Long id, @RequestBody GameFinishRequest request) {
+        Optional<GameResponse> game = scoringService.finishGame(id, request.getWinnerId());
+        return game.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteGame(@PathVariable Long id) {
         Optional<Game> optionalGame = gameRepository.findById(id);
         if (optionalGame.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Game game = optionalGame.get();
-        game.setStatus(Game.GameStatus.FINISHED);
-        
-        if (request.getWinnerId() != null) {
-            Optional<Player> winner = playerRepository.findById(request.getWinnerId());
-            if (winner.isPresent()) {
-                game.setWinner(winner.get());
+        gameRepository.delete(game);
+        scoringService.discard(id);
+        if (game.getStatus() == Game.GameStatus.FINISHED) {
+            // The game's statistics rows are gone with it
+            List<Long> playerIds = new ArrayList<>(2);
+            playerIds.add(game.getPlayer1().getId());
+            if (game.getPlayer2() != null) {
+                playerIds.add(game.getPlayer2().getId());
             }
+            careerStatisticsService.rebuildPlayers(playerIds);
         }
-
-        Game savedGame = gameRepository.save(game);
-        return ResponseEntity.ok(savedGame);
+        return ResponseEntity.noContent().build();
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteGame(@PathVariable Long id) {
-        if (!gameRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
+    @PostMapping("/visits")
+    public ResponseEntity<VisitBatchResponse> ingestVisits(@Valid @RequestBody VisitBatchRequest request) {
+        try {
+            return ResponseEntity.ok(visitIngestionService.ingest(request.getVisits()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        
-        gameRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+    }
+
+    private static List<GameResponse> toResponses(List<Game> games) {
+        return games.stream().map(GameResponse::from).collect(Collectors.toList());
     }
 
     public static class GameCreateRequest {
@@ -136,6 +245,9 @@ public class GameController {
         private Integer targetSets = 0;
         private Boolean doubleIn = false;
         private Boolean doubleOut = true;
+        @Min(DartBot.MIN_LEVEL)
+        @Max(DartBot.MAX_LEVEL)
+        private Integer botLevel = 5;
 
         public Long getPlayer1Id() {
             return player1Id;
@@ -208,6 +320,14 @@ public class GameController {
         public void setDoubleOut(Boolean doubleOut) {
             this.doubleOut = doubleOut;
         }
+
+        public Integer getBotLevel() {
+            return botLevel;
+        }
+
+        public void setBotLevel(Integer botLevel) {
+            this.botLevel = botLevel;
+        }
     }
 
     public static class GameFinishRequest {
@@ -221,4 +341,18 @@ public class GameController {
             this.winnerId = winnerId;
         }
     }
-}
\ No newline at end of file
+
+    public static class VisitBatchRequest {
+        @jakarta.validation.constraints.NotEmpty(message = "Visits are required")
+        @Valid
+        private List<VisitRequest> visits;
+
+        public List<VisitRequest> getVisits() {
+            return visits;
+        }
+
+        public void setVisits(List<VisitRequest> visits) {
+            this.visits = visits;
+        }
+    }
+}
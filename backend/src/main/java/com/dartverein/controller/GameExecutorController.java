@@ -0,0 +1,20 @@
+package com.dartverein.controller;
+
+import com.dartverein.dto.GameExecutorStatistics;
+import com.dartverein.service.GameExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/executor")
+@CrossOrigin(origins = "*")
+public class GameExecutorController {
+
+    @Autowired
+    private GameExecutor gameExecutor;
+
+    @GetMapping("/statistics")
+    public GameExecutorStatistics getExecutorStatistics() {
+        return gameExecutor.getStatistics();
+    }
+}
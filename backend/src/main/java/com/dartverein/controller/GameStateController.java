@@ -1,12 +1,23 @@
 package com.dartverein.controller;
 
+import com.dartverein.dto.CricketMarksResponse;
+import com.dartverein.dto.DoubleAccuracyResponse;
+import com.dartverein.dto.GameStateResponse;
+import com.dartverein.dto.WinProbabilityResponse;
 import com.dartverein.model.GameState;
-import com.dartverein.repository.GameStateRepository;
+import com.dartverein.service.LiveScoreService;
+import com.dartverein.service.ScoringService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -15,56 +26,202 @@ import java.util.Optional;
 public class GameStateController {
 
     @Autowired
-    private GameStateRepository gameStateRepository;
+    private ScoringService scoringService;
 
+    @Autowired
+    private LiveScoreService liveScoreService;
+
+    /**
+     * Served from memory while the game is in progress, loading it again if it was idle, otherwise with
+     * one query. With a matching If-None-Match the answer is 304, which for a loaded game needs neither
+     * the database nor serialization, and for a finished game only the version column.
+     */
     @GetMapping("/game/{gameId}")
-    public ResponseEntity<GameState> getGameStateByGameId(@PathVariable Long gameId) {
-        Optional<GameState> gameState = gameStateRepository.findByGameId(gameId);
-        return gameState.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<GameStateResponse> getGameStateByGameId(@PathVariable Long gameId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = scoringService.getETag(gameId);
+            if (eTag.isPresent() && matches(ifNoneMatch, eTag.get(), true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
+        Optional<GameStateResponse> gameState = scoringService.getState(gameId);
+        return gameState.map(GameStateController::ok).orElse(ResponseEntity.notFound().build());
     }
 
-    @PutMapping("/game/{gameId}")
-    public ResponseEntity<GameState> updateGameState(@PathVariable Long gameId, @Valid @RequestBody GameStateUpdateRequest request) {
-        Optional<GameState> optionalGameState = gameStateRepository.findByGameId(gameId);
-        if (optionalGameState.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    /**
+     * Server-Sent Events: the current state, then a {@code state} event after every change and a
+     * {@code finished} event when the game is finished from outside of play.
+     */
+    @GetMapping(path = "/game/{gameId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamGameState(@PathVariable Long gameId) {
+        return liveScoreService.subscribe(gameId, () -> scoringService.getState(gameId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-Sent Events of all games: the states of the games being played, then every change.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamActiveGameStates() {
+        return liveScoreService.subscribeAll(scoringService::getLiveStates);
+    }
+
+    @GetMapping("/game/{gameId}/winprobability")
+    public ResponseEntity<WinProbabilityResponse> getWinProbability(@PathVariable Long gameId) {
+        try {
+            return scoringService.getWinProbability(gameId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
+    }
 
-        GameState gameState = optionalGameState.get();
-        
-        if (request.getPlayer1Score() != null) {
-            gameState.setPlayer1Score(request.getPlayer1Score());
+    /**
+     * Requires If-Match with the entity tag of the state the correction was made on: 428 without
+     * it, 412 if the state has changed since, 409 if it was written elsewhere, is not in play or is
+     * not an X01 game.
+     */
+    @PutMapping("/game/{gameId}")
+    public ResponseEntity<GameStateResponse> updateGameState(@PathVariable Long gameId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody GameStateUpdateRequest request) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
         }
-        if (request.getPlayer2Score() != null) {
-            gameState.setPlayer2Score(request.getPlayer2Score());
+        try {
+            Optional<GameStateResponse> gameState = scoringService.updateState(gameId, eTag -> matches(ifMatch, eTag, false), state -> {
+                if (request.getPlayer1Score() != null) {
+                    state.setPlayer1Score(request.getPlayer1Score());
+                }
+                if (request.getPlayer2Score() != null) {
+                    state.setPlayer2Score(request.getPlayer2Score());
+                }
+                if (request.getPlayer1Legs() != null) {
+                    state.setPlayer1Legs(request.getPlayer1Legs());
+                }
+                if (request.getPlayer2Legs() != null) {
+                    state.setPlayer2Legs(request.getPlayer2Legs());
+                }
+                if (request.getPlayer1Sets() != null) {
+                    state.setPlayer1Sets(request.getPlayer1Sets());
+                }
+                if (request.getPlayer2Sets() != null) {
+                    state.setPlayer2Sets(request.getPlayer2Sets());
+                }
+                if (request.getCurrentPlayer() != null) {
+                    state.setCurrentPlayer(request.getCurrentPlayer());
+                }
+                if (request.getRoundNumber() != null) {
+                    state.setRoundNumber(request.getRoundNumber());
+                }
+                if (request.getPlayer1DartsThrown() != null) {
+                    state.setPlayer1DartsThrown(request.getPlayer1DartsThrown());
+                }
+                if (request.getPlayer2DartsThrown() != null) {
+                    state.setPlayer2DartsThrown(request.getPlayer2DartsThrown());
+                }
+            });
+            return gameState.map(GameStateController::ok).orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        if (request.getPlayer1Legs() != null) {
-            gameState.setPlayer1Legs(request.getPlayer1Legs());
+    }
+
+    @PostMapping("/game/{gameId}/undo")
+    public ResponseEntity<GameStateResponse> undo(@PathVariable Long gameId) {
+        try {
+            Optional<GameStateResponse> gameState = scoringService.undo(gameId);
+            return gameState.map(GameStateController::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        if (request.getPlayer2Legs() != null) {
-            gameState.setPlayer2Legs(request.getPlayer2Legs());
+    }
+
+    @PostMapping("/game/{gameId}/throw")
+    public ResponseEntity<GameStateResponse> throwDart(@PathVariable Long gameId, @Valid @RequestBody DartThrowRequest request) {
+        try {
+            Optional<GameStateResponse> gameState = scoringService.throwDart(gameId, request.getSegment(), request.getMultiplier());
+            return gameState.map(GameStateController::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        if (request.getPlayer1Sets() != null) {
-            gameState.setPlayer1Sets(request.getPlayer1Sets());
+    }
+
+    @GetMapping("/game/{gameId}/cricket")
+    public ResponseEntity<CricketMarksResponse> getCricketMarks(@PathVariable Long gameId) {
+        try {
+            return scoringService.getCricketMarks(gameId)
+                    .map(marks -> ResponseEntity.ok(new CricketMarksResponse(gameId, marks[0], marks[1])))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        if (request.getPlayer2Sets() != null) {
-            gameState.setPlayer2Sets(request.getPlayer2Sets());
+    }
+
+    @GetMapping("/game/{gameId}/bobs27")
+    public ResponseEntity<List<DoubleAccuracyResponse>> getBobs27Accuracy(@PathVariable Long gameId) {
+        try {
+            return scoringService.getBobs27Accuracy(gameId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        if (request.getCurrentPlayer() != null) {
-            gameState.setCurrentPlayer(request.getCurrentPlayer());
+    }
+
+    private static ResponseEntity<GameStateResponse> ok(GameStateResponse gameState) {
+        return ResponseEntity.ok().eTag(gameState.getETag()).body(gameState);
+    }
+
+    /**
+     * Whether an If-Match or If-None-Match header lists {@code eTag}; weak tags only match if {@code weak}.
+     */
+    private static boolean matches(String header, String eTag, boolean weak) {
+        String quoted = "\"" + eTag + "\"";
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quoted)) {
+                return true;
+            }
         }
-        if (request.getRoundNumber() != null) {
-            gameState.setRoundNumber(request.getRoundNumber());
+        return false;
+    }
+
+    public static class DartThrowRequest {
+        @jakarta.validation.constraints.NotNull(message = "Segment is required")
+        private Integer segment;
+
+        @jakarta.validation.constraints.NotNull(message = "Multiplier is required")
+        private Integer multiplier = 1;
+
+        public Integer getSegment() {
+            return segment;
         }
-        if (request.getPlayer1DartsThrown() != null) {
-            gameState.setPlayer1DartsThrown(request.getPlayer1DartsThrown());
+
+        public void setSegment(Integer segment) {
+            this.segment = segment;
         }
-        if (request.getPlayer2DartsThrown() != null) {
-            gameState.setPlayer2DartsThrown(request.getPlayer2DartsThrown());
+
+        public Integer getMultiplier() {
+            return multiplier;
         }
 
-        GameState savedGameState = gameStateRepository.save(gameState);
-        return ResponseEntity.ok(savedGameState);
+        public void setMultiplier(Integer multiplier) {
+            this.multiplier = multiplier;
+        }
     }
 
     public static class GameStateUpdateRequest {
@@ -0,0 +1,160 @@
+package com.dartverein.controller;
+
+import com.dartverein.dto.GameStateResponse;
+import com.dartverein.service.GameDeltaService;
+import com.dartverein.service.ScoringService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WebSocket channel of one game. Clients send
+ * <ul>
+ *     <li>{@code {"type":"dart","segment":20,"multiplier":3}}</li>
+ *     <li>{@code {"type":"visit","darts":[{"segment":20,"multiplier":3},{"segment":19,"multiplier":1}]}}</li>
+ *     <li>{@code {"type":"undo"}}</li>
+ *     <li>{@code {"type":"resync","stream":123,"version":41}}</li>
+ * </ul>
+ * and receive deltas of the game state from {@link GameDeltaService}, which also confirm their own
+ * darts. A rejected message is answered with {@code {"type":"error","code":409,...}}, echoing its
+ * {@code id} if it had one. To resume after a reconnect, {@code stream} and {@code version} can
+ * also be passed as query parameters.
+ */
+@Component
+public class GameStateSocket extends Endpoint {
+    private static final Logger logger = LoggerFactory.getLogger(GameStateSocket.class);
+
+    public static final String PATH = "/api/gamestate/game/{gameId}/ws";
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private GameDeltaService gameDeltaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        Long gameId = parseLong(session.getPathParameters().get("gameId"));
+        if (gameId == null) {
+            close(session, "Invalid game id");
+            return;
+        }
+        Long stream = parseLong(queryParameter(session, "stream"));
+        Long version = parseLong(queryParameter(session, "version"));
+        boolean found = scoringService.withCurrentState(gameId,
+                state -> gameDeltaService.join(gameId, session, state, stream, version));
+        if (!found) {
+            close(session, "Game " + gameId + " not found");
+            return;
+        }
+        session.addMessageHandler(String.class, message -> onMessage(session, gameId, message));
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        gameDeltaService.leave(session);
+    }
+
+    @Override
+    public void onError(Session session, Throwable error) {
+        logger.debug("Game state socket failed: {}", error.getMessage());
+        gameDeltaService.leave(session);
+    }
+
+    private void onMessage(Session session, Long gameId, String message) {
+        Long requestId = null;
+        try {
+            JsonNode request = objectMapper.readTree(message);
+            requestId = request.hasNonNull("id") ? request.get("id").asLong() : null;
+            Optional<GameStateResponse> gameState = switch (request.path("type").asText()) {
+                case "dart" -> scoringService.throwDart(gameId, intValue(request, "segment"), multiplier(request));
+                case "visit" -> throwVisit(gameId, request.path("darts"));
+                case "undo" -> scoringService.undo(gameId);
+                case "resync" -> {
+                    gameDeltaService.resync(session, longValue(request, "stream"), longValue(request, "version"));
+                    yield null;
+                }
+                default -> throw new IllegalArgumentException("Unknown message type");
+            };
+            if (gameState != null && gameState.isEmpty()) {
+                gameDeltaService.error(session, HttpStatus.NOT_FOUND.value(), "Game " + gameId + " not found", requestId);
+            }
+        } catch (JsonProcessingException e) {
+            gameDeltaService.error(session, HttpStatus.BAD_REQUEST.value(), "Malformed message", null);
+        } catch (IllegalArgumentException e) {
+            gameDeltaService.error(session, HttpStatus.BAD_REQUEST.value(), e.getMessage(), requestId);
+        } catch (IllegalStateException e) {
+            gameDeltaService.error(session, HttpStatus.CONFLICT.value(), e.getMessage(), requestId);
+        }
+    }
+
+    private Optional<GameStateResponse> throwVisit(Long gameId, JsonNode darts) {
+        if (!darts.isArray()) {
+            throw new IllegalArgumentException("darts is required");
+        }
+        int[] segments = new int[darts.size()];
+        int[] multipliers = new int[darts.size()];
+        for (int dart = 0; dart < darts.size(); dart++) {
+            segments[dart] = intValue(darts.get(dart), "segment");
+            multipliers[dart] = multiplier(darts.get(dart));
+        }
+        return scoringService.throwVisit(gameId, segments, multipliers);
+    }
+
+    private static int intValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.canConvertToInt()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value.asInt();
+    }
+
+    private static int multiplier(JsonNode dart) {
+        return dart.hasNonNull("multiplier") ? intValue(dart, "multiplier") : 1;
+    }
+
+    private static Long longValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.canConvertToLong() ? value.asLong() : null;
+    }
+
+    private static String queryParameter(Session session, String name) {
+        List<String> values = session.getRequestParameterMap().get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void close(Session session, String reason) {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, reason));
+        } catch (IOException e) {
+            logger.debug("Closing game state socket failed: {}", e.getMessage());
+        }
+    }
+}
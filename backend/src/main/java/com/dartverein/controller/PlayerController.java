@@ -1,7 +1,9 @@
 package com.dartverein.controller;
 
+import com.dartverein.dto.PlayerResponse;
 import com.dartverein.model.Player;
 import com.dartverein.repository.PlayerRepository;
+import com.dartverein.service.ScoringService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/players")
@@ -18,36 +21,39 @@ public class PlayerController {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private ScoringService scoringService;
+
     @GetMapping
-    public List<Player> getAllPlayers() {
+    public List<PlayerResponse> getAllPlayers() {
         System.out.println("GET ALL PLAYERS");
-        return playerRepository.findAllActivePlayersOrderByName();
+        return toResponses(playerRepository.findAllActivePlayersOrderByName());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Player> getPlayer2ById(@PathVariable Long id) {
+    public ResponseEntity<PlayerResponse> getPlayer2ById(@PathVariable Long id) {
         Optional<Player> player = playerRepository.findById(id);
-        return player.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return player.map(PlayerResponse::from).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/search")
-    public List<Player> searchPlayersByName(@RequestParam String name) {
-        return playerRepository.findByNameContainingIgnoreCase(name);
+    public List<PlayerResponse> searchPlayersByName(@RequestParam String name) {
+        return toResponses(playerRepository.findByNameContainingIgnoreCase(name));
     }
 
     @PostMapping
-    public ResponseEntity<Player> createPlayer(@Valid @RequestBody PlayerCreateRequest request) {
+    public ResponseEntity<PlayerResponse> createPlayer(@Valid @RequestBody PlayerCreateRequest request) {
         if (playerRepository.existsByNameAndIsActiveTrue(request.getName())) {
             return ResponseEntity.badRequest().build();
         }
 
         Player player = new Player(request.getName(), request.getEmail());
         Player savedPlayer = playerRepository.save(player);
-        return ResponseEntity.ok(savedPlayer);
+        return ResponseEntity.ok(PlayerResponse.from(savedPlayer));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Player> updatePlayer(@PathVariable Long id, @Valid @RequestBody PlayerUpdateRequest request) {
+    public ResponseEntity<PlayerResponse> updatePlayer(@PathVariable Long id, @Valid @RequestBody PlayerUpdateRequest request) {
         Optional<Player> optionalPlayer = playerRepository.findById(id);
         if (optionalPlayer.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -64,7 +70,10 @@ public class PlayerController {
         player.setEmail(request.getEmail());
         
         Player updatedPlayer = playerRepository.save(player);
-        return ResponseEntity.ok(updatedPlayer);
+        PlayerResponse response = PlayerResponse.from(updatedPlayer);
+        // The active-game listing holds copies of the players
+        scoringService.updatePlayer(response);
+        return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
@@ -76,8 +85,8 @@ public class PlayerController {
 
         Player player = optionalPlayer.get();
         player.setIsActive(false);
-        playerRepository.save(player);
-        
+        scoringService.updatePlayer(PlayerResponse.from(playerRepository.save(player)));
+
         return ResponseEntity.noContent().build();
     }
 
@@ -87,6 +96,10 @@ public class PlayerController {
         return ResponseEntity.ok(count);
     }
 
+    private static List<PlayerResponse> toResponses(List<Player> players) {
+        return players.stream().map(PlayerResponse::from).collect(Collectors.toList());
+    }
+
     public static class PlayerCreateRequest {
         @jakarta.validation.constraints.NotBlank(message = "Name is required")
         private String name;
@@ -0,0 +1,45 @@
+package com.dartverein.controller;
+
+import com.dartverein.dto.TournamentRequest;
+import com.dartverein.dto.TournamentResponse;
+import com.dartverein.service.TournamentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tournaments")
+@CrossOrigin(origins = "*")
+public class TournamentController {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @GetMapping
+    public List<TournamentResponse> getTournaments() {
+        return tournamentService.getTournaments();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TournamentResponse> getTournament(@PathVariable Long id) {
+        return tournamentService.getTournament(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public ResponseEntity<TournamentResponse> createTournament(@Valid @RequestBody TournamentRequest request) {
+        Long tournamentId;
+        try {
+            tournamentId = tournamentService.createTournament(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return tournamentService.getTournament(tournamentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
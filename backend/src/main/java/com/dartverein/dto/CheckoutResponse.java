@@ -0,0 +1,34 @@
+package com.dartverein.dto;
+
+import java.util.List;
+
+public class CheckoutResponse {
+    private int score;
+    private int dartsLeft;
+    private boolean doubleIn;
+    private boolean doubleOut;
+    private List<String> darts;
+
+    public CheckoutResponse(int score, int dartsLeft, boolean doubleIn, boolean doubleOut, List<String> darts) {
+        this.score = score;
+        this.dartsLeft = dartsLeft;
+        this.doubleIn = doubleIn;
+        this.doubleOut = doubleOut;
+        this.darts = darts;
+    }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public int getDartsLeft() { return dartsLeft; }
+    public void setDartsLeft(int dartsLeft) { this.dartsLeft = dartsLeft; }
+
+    public boolean isDoubleIn() { return doubleIn; }
+    public void setDoubleIn(boolean doubleIn) { this.doubleIn = doubleIn; }
+
+    public boolean isDoubleOut() { return doubleOut; }
+    public void setDoubleOut(boolean doubleOut) { this.doubleOut = doubleOut; }
+
+    public List<String> getDarts() { return darts; }
+    public void setDarts(List<String> darts) { this.darts = darts; }
+}
@@ -0,0 +1,23 @@
+package com.dartverein.dto;
+
+public class CricketMarksResponse {
+    private Long gameId;
+    private int[] player1Marks;
+    private int[] player2Marks;
+
+    public CricketMarksResponse(Long gameId, int[] player1Marks, int[] player2Marks) {
+        this.gameId = gameId;
+        this.player1Marks = player1Marks;
+        this.player2Marks = player2Marks;
+    }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    // Marks per target in the order 15, 16, 17, 18, 19, 20, bull
+    public int[] getPlayer1Marks() { return player1Marks; }
+    public void setPlayer1Marks(int[] player1Marks) { this.player1Marks = player1Marks; }
+
+    public int[] getPlayer2Marks() { return player2Marks; }
+    public void setPlayer2Marks(int[] player2Marks) { this.player2Marks = player2Marks; }
+}
@@ -0,0 +1,31 @@
+package com.dartverein.dto;
+
+public class DoubleAccuracyResponse {
+    private Long playerId;
+    private long[] attempts;
+    private long[] hits;
+
+    public DoubleAccuracyResponse(Long playerId, long[] attempts, long[] hits) {
+        this.playerId = playerId;
+        this.attempts = attempts;
+        this.hits = hits;
+    }
+
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    // Per double in the order D1 ... D20, bull
+    public long[] getAttempts() { return attempts; }
+    public void setAttempts(long[] attempts) { this.attempts = attempts; }
+
+    public long[] getHits() { return hits; }
+    public void setHits(long[] hits) { this.hits = hits; }
+
+    public double[] getHitRates() {
+        double[] rates = new double[attempts.length];
+        for (int i = 0; i < attempts.length; i++) {
+            rates[i] = attempts[i] == 0 ? 0.0 : (double) hits[i] / attempts[i] * 100;
+        }
+        return rates;
+    }
+}
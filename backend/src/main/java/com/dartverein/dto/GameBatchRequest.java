@@ -0,0 +1,80 @@
+package com.dartverein.dto;
+
+import com.dartverein.engine.DartBot;
+import com.dartverein.model.Game;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Games created together, e.g. the boards of a club night: the settings they share and one pairing per game.
+ */
+public class GameBatchRequest {
+    @NotNull
+    private Game.GameType gameType;
+
+    @NotNull
+    private Game.GameMode gameMode;
+
+    private Integer startScore;
+    private Integer targetLegs = 0;
+    private Integer targetSets = 0;
+    private Boolean doubleIn = false;
+    private Boolean doubleOut = true;
+    @Min(DartBot.MIN_LEVEL)
+    @Max(DartBot.MAX_LEVEL)
+    private Integer botLevel = 5;
+
+    @NotEmpty
+    @Size(max = 256)
+    @Valid
+    private List<Pairing> pairings;
+
+    public Game.GameType getGameType() { return gameType; }
+    public void setGameType(Game.GameType gameType) { this.gameType = gameType; }
+
+    public Game.GameMode getGameMode() { return gameMode; }
+    public void setGameMode(Game.GameMode gameMode) { this.gameMode = gameMode; }
+
+    public Integer getStartScore() { return startScore; }
+    public void setStartScore(Integer startScore) { this.startScore = startScore; }
+
+    public Integer getTargetLegs() { return targetLegs; }
+    public void setTargetLegs(Integer targetLegs) { this.targetLegs = targetLegs; }
+
+    public Integer getTargetSets() { return targetSets; }
+    public void setTargetSets(Integer targetSets) { this.targetSets = targetSets; }
+
+    public Boolean getDoubleIn() { return doubleIn; }
+    public void setDoubleIn(Boolean doubleIn) { this.doubleIn = doubleIn; }
+
+    public Boolean getDoubleOut() { return doubleOut; }
+    public void setDoubleOut(Boolean doubleOut) { this.doubleOut = doubleOut; }
+
+    public Integer getBotLevel() { return botLevel; }
+    public void setBotLevel(Integer botLevel) { this.botLevel = botLevel; }
+
+    public List<Pairing> getPairings() { return pairings; }
+    public void setPairings(List<Pairing> pairings) { this.pairings = pairings; }
+
+    /**
+     * The players of one game; without a second player a VS_BOT game is played against the bot.
+     */
+    public static class Pairing {
+        @NotNull
+        private Long player1Id;
+
+        private Long player2Id;
+
+        public Long getPlayer1Id() { return player1Id; }
+        public void setPlayer1Id(Long player1Id) { this.player1Id = player1Id; }
+
+        public Long getPlayer2Id() { return player2Id; }
+        public void setPlayer2Id(Long player2Id) { this.player2Id = player2Id; }
+    }
+}
@@ -0,0 +1,20 @@
+package com.dartverein.dto;
+
+import java.util.List;
+
+public class GameBatchResponse {
+    private int games;
+    // In the order of the pairings
+    private List<Long> gameIds;
+
+    public GameBatchResponse(int games, List<Long> gameIds) {
+        this.games = games;
+        this.gameIds = gameIds;
+    }
+
+    public int getGames() { return games; }
+    public void setGames(int games) { this.games = games; }
+
+    public List<Long> getGameIds() { return gameIds; }
+    public void setGameIds(List<Long> gameIds) { this.gameIds = gameIds; }
+}
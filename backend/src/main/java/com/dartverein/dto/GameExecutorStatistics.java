@@ -0,0 +1,45 @@
+package com.dartverein.dto;
+
+public class GameExecutorStatistics {
+    private int threads;
+    private int mailboxes;
+    private int queuedTasks;
+    private int maxMailboxDepth;
+    private long completedTasks;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+    private double averageRunMillis;
+    private double maxRunMillis;
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    // Games with queued or running tasks
+    public int getMailboxes() { return mailboxes; }
+    public void setMailboxes(int mailboxes) { this.mailboxes = mailboxes; }
+
+    // Tasks waiting to start, over all games
+    public int getQueuedTasks() { return queuedTasks; }
+    public void setQueuedTasks(int queuedTasks) { this.queuedTasks = queuedTasks; }
+
+    // Deepest a single game's mailbox has been since startup
+    public int getMaxMailboxDepth() { return maxMailboxDepth; }
+    public void setMaxMailboxDepth(int maxMailboxDepth) { this.maxMailboxDepth = maxMailboxDepth; }
+
+    public long getCompletedTasks() { return completedTasks; }
+    public void setCompletedTasks(long completedTasks) { this.completedTasks = completedTasks; }
+
+    // Time from queueing to start
+    public double getAverageWaitMillis() { return averageWaitMillis; }
+    public void setAverageWaitMillis(double averageWaitMillis) { this.averageWaitMillis = averageWaitMillis; }
+
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+    public void setMaxWaitMillis(double maxWaitMillis) { this.maxWaitMillis = maxWaitMillis; }
+
+    // Time to run, including the commit
+    public double getAverageRunMillis() { return averageRunMillis; }
+    public void setAverageRunMillis(double averageRunMillis) { this.averageRunMillis = averageRunMillis; }
+
+    public double getMaxRunMillis() { return maxRunMillis; }
+    public void setMaxRunMillis(double maxRunMillis) { this.maxRunMillis = maxRunMillis; }
+}
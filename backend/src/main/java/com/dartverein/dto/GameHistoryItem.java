@@ -0,0 +1,73 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.Game;
+
+import java.time.LocalDateTime;
+
+public class GameHistoryItem {
+    private Long id;
+    private Game.GameType gameType;
+    private Game.GameMode gameMode;
+    private Game.GameStatus status;
+    private Integer startScore;
+    private Long player1Id;
+    private String player1Name;
+    private Long player2Id;
+    private String player2Name;
+    private Long winnerId;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public GameHistoryItem(Long id, Game.GameType gameType, Game.GameMode gameMode, Game.GameStatus status,
+                           Integer startScore, Long player1Id, String player1Name, Long player2Id,
+                           String player2Name, Long winnerId, LocalDateTime createdAt, LocalDateTime finishedAt) {
+        this.id = id;
+        this.gameType = gameType;
+        this.gameMode = gameMode;
+        this.status = status;
+        this.startScore = startScore;
+        this.player1Id = player1Id;
+        this.player1Name = player1Name;
+        this.player2Id = player2Id;
+        this.player2Name = player2Name;
+        this.winnerId = winnerId;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Game.GameType getGameType() { return gameType; }
+    public void setGameType(Game.GameType gameType) { this.gameType = gameType; }
+
+    public Game.GameMode getGameMode() { return gameMode; }
+    public void setGameMode(Game.GameMode gameMode) { this.gameMode = gameMode; }
+
+    public Game.GameStatus getStatus() { return status; }
+    public void setStatus(Game.GameStatus status) { this.status = status; }
+
+    public Integer getStartScore() { return startScore; }
+    public void setStartScore(Integer startScore) { this.startScore = startScore; }
+
+    public Long getPlayer1Id() { return player1Id; }
+    public void setPlayer1Id(Long player1Id) { this.player1Id = player1Id; }
+
+    public String getPlayer1Name() { return player1Name; }
+    public void setPlayer1Name(String player1Name) { this.player1Name = player1Name; }
+
+    public Long getPlayer2Id() { return player2Id; }
+    public void setPlayer2Id(Long player2Id) { this.player2Id = player2Id; }
+
+    public String getPlayer2Name() { return player2Name; }
+    public void setPlayer2Name(String player2Name) { this.player2Name = player2Name; }
+
+    public Long getWinnerId() { return winnerId; }
+    public void setWinnerId(Long winnerId) { this.winnerId = winnerId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,20 @@
+package com.dartverein.dto;
+
+import java.util.List;
+
+public class GameHistoryPage {
+    private List<GameHistoryItem> games;
+    // Pass as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+
+    public GameHistoryPage(List<GameHistoryItem> games, String nextCursor) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<GameHistoryItem> getGames() { return games; }
+    public void setGames(List<GameHistoryItem> games) { this.games = games; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
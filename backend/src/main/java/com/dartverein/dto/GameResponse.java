@@ -0,0 +1,120 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.Game;
+
+import java.time.LocalDateTime;
+
+public class GameResponse {
+    private Long id;
+    private PlayerResponse player1;
+    private PlayerResponse player2;
+    private Game.GameType gameType;
+    private Game.GameMode gameMode;
+    private Integer startScore;
+    private Integer targetLegs;
+    private Integer targetSets;
+    private Boolean doubleIn;
+    private Boolean doubleOut;
+    private Integer botLevel;
+    private Game.GameStatus status;
+    private PlayerResponse winner;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Maps a game whose players and winner were fetched with it; unloaded proxies would be
+     * initialized here, one statement each.
+     */
+    public static GameResponse from(Game game) {
+        GameResponse response = new GameResponse();
+        response.id = game.getId();
+        response.player1 = PlayerResponse.from(game.getPlayer1());
+        response.player2 = PlayerResponse.from(game.getPlayer2());
+        response.gameType = game.getGameType();
+        response.gameMode = game.getGameMode();
+        response.startScore = game.getStartScore();
+        response.targetLegs = game.getTargetLegs();
+        response.targetSets = game.getTargetSets();
+        response.doubleIn = game.getDoubleIn();
+        response.doubleOut = game.getDoubleOut();
+        response.botLevel = game.getBotLevel();
+        response.status = game.getStatus();
+        response.winner = PlayerResponse.from(game.getWinner());
+        response.createdAt = game.getCreatedAt();
+        response.finishedAt = game.getFinishedAt();
+        return response;
+    }
+
+    /**
+     * A copy with {@code player} in place of the game's player or winner with the same id, so that
+     * a listing already handed out is never changed.
+     */
+    public GameResponse withPlayer(PlayerResponse player) {
+        GameResponse copy = new GameResponse();
+        copy.id = id;
+        copy.player1 = replace(player1, player);
+        copy.player2 = replace(player2, player);
+        copy.gameType = gameType;
+        copy.gameMode = gameMode;
+        copy.startScore = startScore;
+        copy.targetLegs = targetLegs;
+        copy.targetSets = targetSets;
+        copy.doubleIn = doubleIn;
+        copy.doubleOut = doubleOut;
+        copy.botLevel = botLevel;
+        copy.status = status;
+        copy.winner = replace(winner, player);
+        copy.createdAt = createdAt;
+        copy.finishedAt = finishedAt;
+        return copy;
+    }
+
+    private static PlayerResponse replace(PlayerResponse current, PlayerResponse player) {
+        return current != null && current.getId().equals(player.getId()) ? player : current;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public PlayerResponse getPlayer1() { return player1; }
+    public void setPlayer1(PlayerResponse player1) { this.player1 = player1; }
+
+    public PlayerResponse getPlayer2() { return player2; }
+    public void setPlayer2(PlayerResponse player2) { this.player2 = player2; }
+
+    public Game.GameType getGameType() { return gameType; }
+    public void setGameType(Game.GameType gameType) { this.gameType = gameType; }
+
+    public Game.GameMode getGameMode() { return gameMode; }
+    public void setGameMode(Game.GameMode gameMode) { this.gameMode = gameMode; }
+
+    public Integer getStartScore() { return startScore; }
+    public void setStartScore(Integer startScore) { this.startScore = startScore; }
+
+    public Integer getTargetLegs() { return targetLegs; }
+    public void setTargetLegs(Integer targetLegs) { this.targetLegs = targetLegs; }
+
+    public Integer getTargetSets() { return targetSets; }
+    public void setTargetSets(Integer targetSets) { this.targetSets = targetSets; }
+
+    public Boolean getDoubleIn() { return doubleIn; }
+    public void setDoubleIn(Boolean doubleIn) { this.doubleIn = doubleIn; }
+
+    public Boolean getDoubleOut() { return doubleOut; }
+    public void setDoubleOut(Boolean doubleOut) { this.doubleOut = doubleOut; }
+
+    public Integer getBotLevel() { return botLevel; }
+    public void setBotLevel(Integer botLevel) { this.botLevel = botLevel; }
+
+    public Game.GameStatus getStatus() { return status; }
+    public void setStatus(Game.GameStatus status) { this.status = status; }
+
+    public PlayerResponse getWinner() { return winner; }
+    public void setWinner(PlayerResponse winner) { this.winner = winner; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,114 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.GameState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public class GameStateResponse {
+    private Long id;
+    private GameResponse game;
+    private Integer player1Score;
+    private Integer player2Score;
+    private Integer player1Legs;
+    private Integer player2Legs;
+    private Integer player1Sets;
+    private Integer player2Sets;
+    private GameState.CurrentPlayer currentPlayer;
+    private Integer roundNumber;
+    private Integer player1DartsThrown;
+    private Integer player2DartsThrown;
+    private LocalDateTime updatedAt;
+    // Sent as the ETag header, not in the body
+    private String eTag;
+
+    /**
+     * Maps a state whose game and the game's players were fetched with it.
+     */
+    public static GameStateResponse from(GameState gameState) {
+        GameStateResponse response = new GameStateResponse();
+        response.id = gameState.getId();
+        response.game = GameResponse.from(gameState.getGame());
+        response.player1Score = gameState.getPlayer1Score();
+        response.player2Score = gameState.getPlayer2Score();
+        response.player1Legs = gameState.getPlayer1Legs();
+        response.player2Legs = gameState.getPlayer2Legs();
+        response.player1Sets = gameState.getPlayer1Sets();
+        response.player2Sets = gameState.getPlayer2Sets();
+        response.currentPlayer = gameState.getCurrentPlayer();
+        response.roundNumber = gameState.getRoundNumber();
+        response.player1DartsThrown = gameState.getPlayer1DartsThrown();
+        response.player2DartsThrown = gameState.getPlayer2DartsThrown();
+        response.updatedAt = gameState.getUpdatedAt();
+        response.eTag = eTag(gameState.getVersion(), 0);
+        return response;
+    }
+
+    /**
+     * The entity tag of a state: its stored version and, while a visit is open, the darts thrown in
+     * it. Darts are stored when their visit closes; every other change stores the state and
+     * increments the version, so equal tags mean equal states, also after the engine is rebuilt.
+     */
+    public static String eTag(Long version, int openVisitDarts) {
+        return openVisitDarts == 0 ? String.valueOf(version) : version + "." + openVisitDarts;
+    }
+
+    /**
+     * Orders the entity tags of one game's states by version, then by darts of the open visit;
+     * a later state of the game has the greater tag.
+     */
+    public static int compareETags(String a, String b) {
+        int dot = a.indexOf('.');
+        int otherDot = b.indexOf('.');
+        int byVersion = Long.compare(Long.parseLong(dot < 0 ? a : a.substring(0, dot)),
+                Long.parseLong(otherDot < 0 ? b : b.substring(0, otherDot)));
+        if (byVersion != 0) {
+            return byVersion;
+        }
+        return Integer.compare(dot < 0 ? 0 : Integer.parseInt(a.substring(dot + 1)),
+                otherDot < 0 ? 0 : Integer.parseInt(b.substring(otherDot + 1)));
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public GameResponse getGame() { return game; }
+    public void setGame(GameResponse game) { this.game = game; }
+
+    public Integer getPlayer1Score() { return player1Score; }
+    public void setPlayer1Score(Integer player1Score) { this.player1Score = player1Score; }
+
+    public Integer getPlayer2Score() { return player2Score; }
+    public void setPlayer2Score(Integer player2Score) { this.player2Score = player2Score; }
+
+    public Integer getPlayer1Legs() { return player1Legs; }
+    public void setPlayer1Legs(Integer player1Legs) { this.player1Legs = player1Legs; }
+
+    public Integer getPlayer2Legs() { return player2Legs; }
+    public void setPlayer2Legs(Integer player2Legs) { this.player2Legs = player2Legs; }
+
+    public Integer getPlayer1Sets() { return player1Sets; }
+    public void setPlayer1Sets(Integer player1Sets) { this.player1Sets = player1Sets; }
+
+    public Integer getPlayer2Sets() { return player2Sets; }
+    public void setPlayer2Sets(Integer player2Sets) { this.player2Sets = player2Sets; }
+
+    public GameState.CurrentPlayer getCurrentPlayer() { return currentPlayer; }
+    public void setCurrentPlayer(GameState.CurrentPlayer currentPlayer) { this.currentPlayer = currentPlayer; }
+
+    public Integer getRoundNumber() { return roundNumber; }
+    public void setRoundNumber(Integer roundNumber) { this.roundNumber = roundNumber; }
+
+    public Integer getPlayer1DartsThrown() { return player1DartsThrown; }
+    public void setPlayer1DartsThrown(Integer player1DartsThrown) { this.player1DartsThrown = player1DartsThrown; }
+
+    public Integer getPlayer2DartsThrown() { return player2DartsThrown; }
+    public void setPlayer2DartsThrown(Integer player2DartsThrown) { this.player2DartsThrown = player2DartsThrown; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @JsonIgnore
+    public String getETag() { return eTag; }
+    public void setETag(String eTag) { this.eTag = eTag; }
+}
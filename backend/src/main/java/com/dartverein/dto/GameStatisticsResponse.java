@@ -0,0 +1,127 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.GameStatistics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class GameStatisticsResponse {
+    private Long id;
+    private Long gameId;
+    private Long playerId;
+    private Integer totalDartsThrown;
+    private Integer totalScore;
+    private BigDecimal averageScore;
+    private Integer highestCheckout;
+    private Integer count180;
+    private Integer count140Plus;
+    private Integer count100Plus;
+    private Integer count60Plus;
+    private Integer countDoubles;
+    private Integer countTriples;
+    private Integer countBullseyes;
+    private Integer countMisses;
+    private Integer legsWon;
+    private Integer legsLost;
+    private Integer setsWon;
+    private Integer setsLost;
+    private Boolean isWinner;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Maps a statistics row; the game and player are referenced by id only, so neither is loaded.
+     */
+    public static GameStatisticsResponse from(GameStatistics statistics) {
+        GameStatisticsResponse response = new GameStatisticsResponse();
+        response.id = statistics.getId();
+        response.gameId = statistics.getGame().getId();
+        response.playerId = statistics.getPlayer().getId();
+        response.totalDartsThrown = statistics.getTotalDartsThrown();
+        response.totalScore = statistics.getTotalScore();
+        response.averageScore = statistics.getAverageScore();
+        response.highestCheckout = statistics.getHighestCheckout();
+        response.count180 = statistics.getCount180();
+        response.count140Plus = statistics.getCount140Plus();
+        response.count100Plus = statistics.getCount100Plus();
+        response.count60Plus = statistics.getCount60Plus();
+        response.countDoubles = statistics.getCountDoubles();
+        response.countTriples = statistics.getCountTriples();
+        response.countBullseyes = statistics.getCountBullseyes();
+        response.countMisses = statistics.getCountMisses();
+        response.legsWon = statistics.getLegsWon();
+        response.legsLost = statistics.getLegsLost();
+        response.setsWon = statistics.getSetsWon();
+        response.setsLost = statistics.getSetsLost();
+        response.isWinner = statistics.getIsWinner();
+        response.createdAt = statistics.getCreatedAt();
+        response.updatedAt = statistics.getUpdatedAt();
+        return response;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    public Integer getTotalDartsThrown() { return totalDartsThrown; }
+    public void setTotalDartsThrown(Integer totalDartsThrown) { this.totalDartsThrown = totalDartsThrown; }
+
+    public Integer getTotalScore() { return totalScore; }
+    public void setTotalScore(Integer totalScore) { this.totalScore = totalScore; }
+
+    public BigDecimal getAverageScore() { return averageScore; }
+    public void setAverageScore(BigDecimal averageScore) { this.averageScore = averageScore; }
+
+    public Integer getHighestCheckout() { return highestCheckout; }
+    public void setHighestCheckout(Integer highestCheckout) { this.highestCheckout = highestCheckout; }
+
+    public Integer getCount180() { return count180; }
+    public void setCount180(Integer count180) { this.count180 = count180; }
+
+    public Integer getCount140Plus() { return count140Plus; }
+    public void setCount140Plus(Integer count140Plus) { this.count140Plus = count140Plus; }
+
+    public Integer getCount100Plus() { return count100Plus; }
+    public void setCount100Plus(Integer count100Plus) { this.count100Plus = count100Plus; }
+
+    public Integer getCount60Plus() { return count60Plus; }
+    public void setCount60Plus(Integer count60Plus) { this.count60Plus = count60Plus; }
+
+    public Integer getCountDoubles() { return countDoubles; }
+    public void setCountDoubles(Integer countDoubles) { this.countDoubles = countDoubles; }
+
+    public Integer getCountTriples() { return countTriples; }
+    public void setCountTriples(Integer countTriples) { this.countTriples = countTriples; }
+
+    public Integer getCountBullseyes() { return countBullseyes; }
+    public void setCountBullseyes(Integer countBullseyes) { this.countBullseyes = countBullseyes; }
+
+    public Integer getCountMisses() { return countMisses; }
+    public void setCountMisses(Integer countMisses) { this.countMisses = countMisses; }
+
+    public Integer getLegsWon() { return legsWon; }
+    public void setLegsWon(Integer legsWon) { this.legsWon = legsWon; }
+
+    public Integer getLegsLost() { return legsLost; }
+    public void setLegsLost(Integer legsLost) { this.legsLost = legsLost; }
+
+    public Integer getSetsWon() { return setsWon; }
+    public void setSetsWon(Integer setsWon) { this.setsWon = setsWon; }
+
+    public Integer getSetsLost() { return setsLost; }
+    public void setSetsLost(Integer setsLost) { this.setsLost = setsLost; }
+
+    public Boolean getIsWinner() { return isWinner; }
+    public void setIsWinner(Boolean isWinner) { this.isWinner = isWinner; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,53 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.Player;
+
+import java.time.LocalDateTime;
+
+public class PlayerResponse {
+    private Long id;
+    private String name;
+    private String email;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean isActive;
+
+    public PlayerResponse(Long id, String name, String email, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Boolean isActive) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.isActive = isActive;
+    }
+
+    /**
+     * Maps a loaded player; returns null for null so that optional players can be passed as they are.
+     */
+    public static PlayerResponse from(Player player) {
+        if (player == null) {
+            return null;
+        }
+        return new PlayerResponse(player.getId(), player.getName(), player.getEmail(),
+                player.getCreatedAt(), player.getUpdatedAt(), player.getIsActive());
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+}
@@ -0,0 +1,57 @@
+package com.dartverein.dto;
+
+public class PlayerStatisticsSummary {
+    private Long playerId;
+    private String playerName;
+    private long total180s;
+    private long total140Plus;
+    private long total100Plus;
+    private long totalLegsWon;
+    private long totalLegsLost;
+    private int highestCheckout;
+    private double overallAverage;
+    private long gamesWon;
+    private long totalGames;
+
+    public PlayerStatisticsSummary(Long playerId, String playerName) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+    }
+
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    public String getPlayerName() { return playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; }
+
+    public long getTotal180s() { return total180s; }
+    public void setTotal180s(long total180s) { this.total180s = total180s; }
+
+    public long getTotal140Plus() { return total140Plus; }
+    public void setTotal140Plus(long total140Plus) { this.total140Plus = total140Plus; }
+
+    public long getTotal100Plus() { return total100Plus; }
+    public void setTotal100Plus(long total100Plus) { this.total100Plus = total100Plus; }
+
+    public long getTotalLegsWon() { return totalLegsWon; }
+    public void setTotalLegsWon(long totalLegsWon) { this.totalLegsWon = totalLegsWon; }
+
+    public long getTotalLegsLost() { return totalLegsLost; }
+    public void setTotalLegsLost(long totalLegsLost) { this.totalLegsLost = totalLegsLost; }
+
+    public int getHighestCheckout() { return highestCheckout; }
+    public void setHighestCheckout(int highestCheckout) { this.highestCheckout = highestCheckout; }
+
+    public double getOverallAverage() { return overallAverage; }
+    public void setOverallAverage(double overallAverage) { this.overallAverage = overallAverage; }
+
+    public long getGamesWon() { return gamesWon; }
+    public void setGamesWon(long gamesWon) { this.gamesWon = gamesWon; }
+
+    public long getTotalGames() { return totalGames; }
+    public void setTotalGames(long totalGames) { this.totalGames = totalGames; }
+
+    public double getWinRate() {
+        return totalGames == 0 ? 0.0 : (double) gamesWon / totalGames * 100;
+    }
+}
@@ -0,0 +1,73 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.TournamentMatch;
+
+import java.time.LocalDateTime;
+
+public class TournamentMatchResponse {
+    private Long id;
+    private int round;
+    private int position;
+    private PlayerResponse player1;
+    private PlayerResponse player2;
+    private PlayerResponse winner;
+    private TournamentMatch.MatchStatus status;
+    private Integer board;
+    private Long gameId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Maps a match whose players and winner were fetched with it.
+     */
+    public static TournamentMatchResponse from(TournamentMatch match) {
+        TournamentMatchResponse response = new TournamentMatchResponse();
+        response.id = match.getId();
+        response.round = match.getRoundNumber();
+        response.position = match.getPosition();
+        response.player1 = PlayerResponse.from(match.getPlayer1());
+        response.player2 = PlayerResponse.from(match.getPlayer2());
+        response.winner = PlayerResponse.from(match.getWinner());
+        response.status = match.getStatus();
+        response.board = match.getBoard();
+        response.gameId = match.getGameId();
+        response.startedAt = match.getStartedAt();
+        response.finishedAt = match.getFinishedAt();
+        return response;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getRound() { return round; }
+    public void setRound(int round) { this.round = round; }
+
+    // Index within the round; the winner plays on at position / 2 of the next round
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+
+    public PlayerResponse getPlayer1() { return player1; }
+    public void setPlayer1(PlayerResponse player1) { this.player1 = player1; }
+
+    // Null for a bye, or while the previous round is undecided
+    public PlayerResponse getPlayer2() { return player2; }
+    public void setPlayer2(PlayerResponse player2) { this.player2 = player2; }
+
+    public PlayerResponse getWinner() { return winner; }
+    public void setWinner(PlayerResponse winner) { this.winner = winner; }
+
+    public TournamentMatch.MatchStatus getStatus() { return status; }
+    public void setStatus(TournamentMatch.MatchStatus status) { this.status = status; }
+
+    public Integer getBoard() { return board; }
+    public void setBoard(Integer board) { this.board = board; }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,70 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.Game;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A knockout tournament to start: its players in seeding order (the first is seeded first), the
+ * settings of its games, the boards it is played on and the least rest between a player's matches.
+ */
+public class TournamentRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @NotNull
+    private Game.GameType gameType;
+
+    private Integer startScore = 501;
+    private Integer targetLegs = 0;
+    private Integer targetSets = 0;
+    private Boolean doubleIn = false;
+    private Boolean doubleOut = true;
+
+    @Min(1)
+    @Max(256)
+    private int boards = 1;
+
+    @Min(0)
+    private int restSeconds = 0;
+
+    @NotNull
+    @Size(min = 2, max = 1024)
+    private List<@NotNull Long> playerIds;
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Game.GameType getGameType() { return gameType; }
+    public void setGameType(Game.GameType gameType) { this.gameType = gameType; }
+
+    public Integer getStartScore() { return startScore; }
+    public void setStartScore(Integer startScore) { this.startScore = startScore; }
+
+    public Integer getTargetLegs() { return targetLegs; }
+    public void setTargetLegs(Integer targetLegs) { this.targetLegs = targetLegs; }
+
+    public Integer getTargetSets() { return targetSets; }
+    public void setTargetSets(Integer targetSets) { this.targetSets = targetSets; }
+
+    public Boolean getDoubleIn() { return doubleIn; }
+    public void setDoubleIn(Boolean doubleIn) { this.doubleIn = doubleIn; }
+
+    public Boolean getDoubleOut() { return doubleOut; }
+    public void setDoubleOut(Boolean doubleOut) { this.doubleOut = doubleOut; }
+
+    public int getBoards() { return boards; }
+    public void setBoards(int boards) { this.boards = boards; }
+
+    public int getRestSeconds() { return restSeconds; }
+    public void setRestSeconds(int restSeconds) { this.restSeconds = restSeconds; }
+
+    public List<Long> getPlayerIds() { return playerIds; }
+    public void setPlayerIds(List<Long> playerIds) { this.playerIds = playerIds; }
+}
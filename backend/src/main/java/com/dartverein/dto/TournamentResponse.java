@@ -0,0 +1,99 @@
+package com.dartverein.dto;
+
+import com.dartverein.model.Game;
+import com.dartverein.model.Tournament;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TournamentResponse {
+    private Long id;
+    private String name;
+    private Game.GameType gameType;
+    private Integer startScore;
+    private Integer targetLegs;
+    private Integer targetSets;
+    private Boolean doubleIn;
+    private Boolean doubleOut;
+    private Integer boards;
+    private Integer restSeconds;
+    private Integer playerCount;
+    private Tournament.TournamentStatus status;
+    private PlayerResponse winner;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private List<TournamentMatchResponse> matches;
+
+    /**
+     * Maps a tournament whose winner was fetched with it; {@code matches} may be null for listings.
+     */
+    public static TournamentResponse from(Tournament tournament, List<TournamentMatchResponse> matches) {
+        TournamentResponse response = new TournamentResponse();
+        response.id = tournament.getId();
+        response.name = tournament.getName();
+        response.gameType = tournament.getGameType();
+        response.startScore = tournament.getStartScore();
+        response.targetLegs = tournament.getTargetLegs();
+        response.targetSets = tournament.getTargetSets();
+        response.doubleIn = tournament.getDoubleIn();
+        response.doubleOut = tournament.getDoubleOut();
+        response.boards = tournament.getBoards();
+        response.restSeconds = tournament.getRestSeconds();
+        response.playerCount = tournament.getPlayerCount();
+        response.status = tournament.getStatus();
+        response.winner = PlayerResponse.from(tournament.getWinner());
+        response.createdAt = tournament.getCreatedAt();
+        response.finishedAt = tournament.getFinishedAt();
+        response.matches = matches;
+        return response;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Game.GameType getGameType() { return gameType; }
+    public void setGameType(Game.GameType gameType) { this.gameType = gameType; }
+
+    public Integer getStartScore() { return startScore; }
+    public void setStartScore(Integer startScore) { this.startScore = startScore; }
+
+    public Integer getTargetLegs() { return targetLegs; }
+    public void setTargetLegs(Integer targetLegs) { this.targetLegs = targetLegs; }
+
+    public Integer getTargetSets() { return targetSets; }
+    public void setTargetSets(Integer targetSets) { this.targetSets = targetSets; }
+
+    public Boolean getDoubleIn() { return doubleIn; }
+    public void setDoubleIn(Boolean doubleIn) { this.doubleIn = doubleIn; }
+
+    public Boolean getDoubleOut() { return doubleOut; }
+    public void setDoubleOut(Boolean doubleOut) { this.doubleOut = doubleOut; }
+
+    public Integer getBoards() { return boards; }
+    public void setBoards(Integer boards) { this.boards = boards; }
+
+    public Integer getRestSeconds() { return restSeconds; }
+    public void setRestSeconds(Integer restSeconds) { this.restSeconds = restSeconds; }
+
+    public Integer getPlayerCount() { return playerCount; }
+    public void setPlayerCount(Integer playerCount) { this.playerCount = playerCount; }
+
+    public Tournament.TournamentStatus getStatus() { return status; }
+    public void setStatus(Tournament.TournamentStatus status) { this.status = status; }
+
+    public PlayerResponse getWinner() { return winner; }
+    public void setWinner(PlayerResponse winner) { this.winner = winner; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    // By round, then position; null in listings
+    public List<TournamentMatchResponse> getMatches() { return matches; }
+    public void setMatches(List<TournamentMatchResponse> matches) { this.matches = matches; }
+}
@@ -0,0 +1,24 @@
+package com.dartverein.dto;
+
+import java.util.List;
+
+public class VisitBatchResponse {
+    private int rounds;
+    private int darts;
+    private List<Long> gameIds;
+
+    public VisitBatchResponse(int rounds, int darts, List<Long> gameIds) {
+        this.rounds = rounds;
+        this.darts = darts;
+        this.gameIds = gameIds;
+    }
+
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+
+    public int getDarts() { return darts; }
+    public void setDarts(int darts) { this.darts = darts; }
+
+    public List<Long> getGameIds() { return gameIds; }
+    public void setGameIds(List<Long> gameIds) { this.gameIds = gameIds; }
+}
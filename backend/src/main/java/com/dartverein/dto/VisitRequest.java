@@ -0,0 +1,86 @@
+package com.dartverein.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * One recorded visit (round) with its darts, as accepted by the bulk ingestion endpoint.
+ */
+public class VisitRequest {
+    @NotNull
+    private Long gameId;
+
+    @NotNull
+    private Long playerId;
+
+    @NotNull
+    @Min(1)
+    private Integer roundNumber;
+
+    @NotNull
+    private Integer scoreBefore;
+
+    @NotNull
+    private Integer scoreAfter;
+
+    private Boolean isBust = false;
+
+    private Boolean isCheckout = false;
+
+    @NotEmpty
+    @Size(max = 3)
+    @Valid
+    private List<Dart> darts;
+
+    public VisitRequest() {}
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    public Integer getRoundNumber() { return roundNumber; }
+    public void setRoundNumber(Integer roundNumber) { this.roundNumber = roundNumber; }
+
+    public Integer getScoreBefore() { return scoreBefore; }
+    public void setScoreBefore(Integer scoreBefore) { this.scoreBefore = scoreBefore; }
+
+    public Integer getScoreAfter() { return scoreAfter; }
+    public void setScoreAfter(Integer scoreAfter) { this.scoreAfter = scoreAfter; }
+
+    public Boolean getIsBust() { return isBust; }
+    public void setIsBust(Boolean isBust) { this.isBust = isBust; }
+
+    public Boolean getIsCheckout() { return isCheckout; }
+    public void setIsCheckout(Boolean isCheckout) { this.isCheckout = isCheckout; }
+
+    public List<Dart> getDarts() { return darts; }
+    public void setDarts(List<Dart> darts) { this.darts = darts; }
+
+    public static class Dart {
+        @NotNull
+        private Integer segment;
+
+        @NotNull
+        private Integer multiplier = 1;
+
+        public Dart() {}
+
+        public Dart(Integer segment, Integer multiplier) {
+            this.segment = segment;
+            this.multiplier = multiplier;
+        }
+
+        public Integer getSegment() { return segment; }
+        public void setSegment(Integer segment) { this.segment = segment; }
+
+        public Integer getMultiplier() { return multiplier; }
+        public void setMultiplier(Integer multiplier) { this.multiplier = multiplier; }
+    }
+}
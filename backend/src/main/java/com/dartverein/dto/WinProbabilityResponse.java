@@ -0,0 +1,50 @@
+package com.dartverein.dto;
+
+public class WinProbabilityResponse {
+    private Long gameId;
+    private String currentPlayer;
+    private int player1Score;
+    private int player2Score;
+    private int player1Level;
+    private int player2Level;
+    private double player1WinProbability;
+    private double player2WinProbability;
+    private double player1ExpectedDarts;
+    private double player2ExpectedDarts;
+
+    public WinProbabilityResponse(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public String getCurrentPlayer() { return currentPlayer; }
+    public void setCurrentPlayer(String currentPlayer) { this.currentPlayer = currentPlayer; }
+
+    public int getPlayer1Score() { return player1Score; }
+    public void setPlayer1Score(int player1Score) { this.player1Score = player1Score; }
+
+    public int getPlayer2Score() { return player2Score; }
+    public void setPlayer2Score(int player2Score) { this.player2Score = player2Score; }
+
+    // Skill level (1-10) the estimate was computed with
+    public int getPlayer1Level() { return player1Level; }
+    public void setPlayer1Level(int player1Level) { this.player1Level = player1Level; }
+
+    public int getPlayer2Level() { return player2Level; }
+    public void setPlayer2Level(int player2Level) { this.player2Level = player2Level; }
+
+    // Probability of winning the current leg
+    public double getPlayer1WinProbability() { return player1WinProbability; }
+    public void setPlayer1WinProbability(double player1WinProbability) { this.player1WinProbability = player1WinProbability; }
+
+    public double getPlayer2WinProbability() { return player2WinProbability; }
+    public void setPlayer2WinProbability(double player2WinProbability) { this.player2WinProbability = player2WinProbability; }
+
+    public double getPlayer1ExpectedDarts() { return player1ExpectedDarts; }
+    public void setPlayer1ExpectedDarts(double player1ExpectedDarts) { this.player1ExpectedDarts = player1ExpectedDarts; }
+
+    public double getPlayer2ExpectedDarts() { return player2ExpectedDarts; }
+    public void setPlayer2ExpectedDarts(double player2ExpectedDarts) { this.player2ExpectedDarts = player2ExpectedDarts; }
+}
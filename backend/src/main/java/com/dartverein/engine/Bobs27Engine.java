@@ -0,0 +1,111 @@
+package com.dartverein.engine;
+
+/**
+ * In-memory Bob's 27 practice game.
+ * <p>
+ * Every player starts on 27 and throws one visit per double from D1 to D20, then the bull.
+ * Each hit adds the value of the double; a visit without a hit subtracts it.
+ * A player dropping below zero ends the game. Attempts and hits are counted per double
+ * in flat primitive arrays indexed by {@code player * TARGETS + target}.
+ */
+public class Bobs27Engine extends DartEngine {
+
+    public static final int START_SCORE = 27;
+    public static final int TARGETS = 21;
+
+    private final int[] attempts = new int[2 * TARGETS];
+    private final int[] hits = new int[2 * TARGETS];
+
+    private int visitHits;
+    private int lastTarget;
+    private boolean lastHit;
+
+    public Bobs27Engine(boolean twoPlayers) {
+        super(1, 0, twoPlayers);
+        startLeg();
+    }
+
+    /**
+     * Board segment of a target index (0 = D1 ... 19 = D20, 20 = bull).
+     */
+    public static int targetSegment(int target) {
+        return target == TARGETS - 1 ? 25 : target + 1;
+    }
+
+    @Override
+    protected void onVisitStart(int player) {
+        visitHits = 0;
+    }
+
+    @Override
+    protected DartResult scoreDart(int player, int dart, int segment, int multiplier) {
+        int target = roundNumber - 1;
+        int targetSegment = targetSegment(target);
+        int value = targetSegment * 2;
+
+        lastTarget = target;
+        lastHit = segment == targetSegment && multiplier == 2;
+        attempts[player * TARGETS + target]++;
+        if (lastHit) {
+            hits[player * TARGETS + target]++;
+            visitHits++;
+            scores[player] += value;
+            creditPoints(dart, value);
+        }
+
+        if (!isVisitFull()) {
+            return DartResult.SCORED;
+        }
+
+        if (visitHits == 0) {
+            scores[player] -= value;
+            creditPoints(dart, -value);
+            if (scores[player] < 0) {
+                return endGame(playerCount == 2 ? 1 - player : player);
+            }
+        }
+
+        closeVisit();
+        if (roundNumber > TARGETS) {
+            boolean player2Ahead = playerCount == 2 && scores[PLAYER2] > scores[PLAYER1];
+            return endGame(player2Ahead ? PLAYER2 : PLAYER1);
+        }
+        return DartResult.SCORED;
+    }
+
+    @Override
+    protected void resetLeg() {
+        scores[PLAYER1] = START_SCORE;
+        scores[PLAYER2] = START_SCORE;
+    }
+
+    @Override
+    protected int[] snapshotState() {
+        int[] state = new int[attempts.length + hits.length];
+        System.arraycopy(attempts, 0, state, 0, attempts.length);
+        System.arraycopy(hits, 0, state, attempts.length, hits.length);
+        return state;
+    }
+
+    @Override
+    protected void restoreSnapshotState(int[] state, int offset) {
+        System.arraycopy(state, offset, attempts, 0, attempts.length);
+        System.arraycopy(state, offset + attempts.length, hits, 0, hits.length);
+    }
+
+    public int getAttempts(int player, int target) {
+        return attempts[player * TARGETS + target];
+    }
+
+    public int getHits(int player, int target) {
+        return hits[player * TARGETS + target];
+    }
+
+    public int getLastTarget() {
+        return lastTarget;
+    }
+
+    public boolean isLastHit() {
+        return lastHit;
+    }
+}
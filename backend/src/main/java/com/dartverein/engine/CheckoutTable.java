@@ -0,0 +1,214 @@
+package com.dartverein.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed X01 finishes for every score, darts left (1-3) and in/out rule.
+ * <p>
+ * Each route is packed into a single int: bits 24-31 hold the number of darts,
+ * bits 0-23 hold up to three dart codes of 8 bits each (first dart in the lowest byte).
+ * A dart code is {@code segment * 4 + multiplier}. A value of 0 means there is no finish.
+ */
+@Component
+public class CheckoutTable {
+
+    public static final int MAX_SCORE = 180;
+    public static final int MAX_DARTS = 3;
+    public static final int NO_FINISH = 0;
+
+    private static final int RULES = 4;
+    private static final int SCORES = MAX_SCORE + 1;
+
+    // Preferred finishing doubles, best first
+    private static final int[] DOUBLE_PREFERENCE = {
+            20, 16, 8, 18, 12, 10, 4, 14, 6, 2, 19, 17, 15, 13, 11, 9, 7, 5, 3, 1, 25
+    };
+
+    private static final int[] DARTS;
+    private static final String[] LABELS = new String[26 * 4];
+
+    static {
+        DARTS = new int[20 * 3 + 2];
+        int n = 0;
+        for (int segment = 20; segment >= 1; segment--) {
+            for (int multiplier = 3; multiplier >= 1; multiplier--) {
+                DARTS[n++] = code(segment, multiplier);
+            }
+        }
+        DARTS[n++] = code(25, 2);
+        DARTS[n] = code(25, 1);
+
+        for (int segment = 1; segment <= 20; segment++) {
+            LABELS[code(segment, 1)] = "S" + segment;
+            LABELS[code(segment, 2)] = "D" + segment;
+            LABELS[code(segment, 3)] = "T" + segment;
+        }
+        LABELS[code(25, 1)] = "25";
+        LABELS[code(25, 2)] = "BULL";
+    }
+
+    private final int[] routes = new int[RULES * (MAX_DARTS + 1) * SCORES];
+
+    public CheckoutTable() {
+        for (int rule = 0; rule < RULES; rule++) {
+            build((rule & 2) != 0, (rule & 1) != 0);
+        }
+    }
+
+    /**
+     * Returns the packed best finish, or {@link #NO_FINISH}. Constant time, no allocation.
+     *
+     * @param doubleIn true if the player still has to open with a double (first dart of the route)
+     */
+    public int lookup(int score, int dartsLeft, boolean doubleIn, boolean doubleOut) {
+        if (score < 1 || score > MAX_SCORE || dartsLeft < 1) {
+            return NO_FINISH;
+        }
+        return routes[index(rule(doubleIn, doubleOut), Math.min(dartsLeft, MAX_DARTS), score)];
+    }
+
+    public boolean hasFinish(int score, int dartsLeft, boolean doubleIn, boolean doubleOut) {
+        return lookup(score, dartsLeft, doubleIn, doubleOut) != NO_FINISH;
+    }
+
+    /**
+     * Returns the dart code to aim at: the first dart of the finish if there is one this visit,
+     * otherwise of a three-dart finish to set up, otherwise treble 20 (double 20 to open).
+     */
+    public int aim(int score, int dartsLeft, boolean doubleIn, boolean doubleOut) {
+        int route = lookup(score, dartsLeft, doubleIn, doubleOut);
+        if (route == NO_FINISH) {
+            route = lookup(score, MAX_DARTS, doubleIn, doubleOut);
+        }
+        if (route != NO_FINISH) {
+            return dartCode(route, 0);
+        }
+        return doubleIn ? code(20, 2) : code(20, 3);
+    }
+
+    public static int routeLength(int route) {
+        return route >>> 24;
+    }
+
+    public static int dartCode(int route, int dart) {
+        return (route >>> (dart * 8)) & 0xFF;
+    }
+
+    public static int segment(int dartCode) {
+        return dartCode >>> 2;
+    }
+
+    public static int multiplier(int dartCode) {
+        return dartCode & 3;
+    }
+
+    public static int value(int dartCode) {
+        return segment(dartCode) * multiplier(dartCode);
+    }
+
+    public static String label(int dartCode) {
+        return LABELS[dartCode];
+    }
+
+    private static int code(int segment, int multiplier) {
+        return segment * 4 + multiplier;
+    }
+
+    private static int rule(boolean doubleIn, boolean doubleOut) {
+        return (doubleIn ? 2 : 0) | (doubleOut ? 1 : 0);
+    }
+
+    private static int index(int rule, int darts, int score) {
+        return (rule * (MAX_DARTS + 1) + darts) * SCORES + score;
+    }
+
+    private void build(boolean doubleIn, boolean doubleOut) {
+        int rule = rule(doubleIn, doubleOut);
+        int[] best = new int[SCORES];
+        int[] bestCost = new int[SCORES];
+
+        for (int length = 1; length <= MAX_DARTS; length++) {
+            Arrays.fill(bestCost, Integer.MAX_VALUE);
+            Arrays.fill(best, NO_FINISH);
+            collect(length, doubleIn, doubleOut, best, bestCost);
+
+            for (int score = 1; score <= MAX_SCORE; score++) {
+                for (int darts = length; darts <= MAX_DARTS; darts++) {
+                    int i = index(rule, darts, score);
+                    if (routes[i] == NO_FINISH) {
+                        routes[i] = best[score];
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collect(int length, boolean doubleIn, boolean doubleOut, int[] best, int[] bestCost) {
+        for (int last : DARTS) {
+            if (doubleOut && multiplier(last) != 2) {
+                continue;
+            }
+            if (length == 1) {
+                if (!doubleIn || multiplier(last) == 2) {
+                    offer(1, last, 0, 0, doubleOut, best, bestCost);
+                }
+                continue;
+            }
+            for (int first : DARTS) {
+                if (doubleIn && multiplier(first) != 2) {
+                    continue;
+                }
+                if (length == 2) {
+                    offer(2, first, last, 0, doubleOut, best, bestCost);
+                    continue;
+                }
+                for (int second : DARTS) {
+                    offer(3, first, second, last, doubleOut, best, bestCost);
+                }
+            }
+        }
+    }
+
+    private static void offer(int length, int first, int second, int third, boolean doubleOut,
+                              int[] best, int[] bestCost) {
+        int score = value(first) + (length > 1 ? value(second) : 0) + (length > 2 ? value(third) : 0);
+        if (score > MAX_SCORE) {
+            return;
+        }
+
+        int last = length == 1 ? first : length == 2 ? second : third;
+        int cost = doubleOut ? finishCost(last) * 1000 : setupCost(last) * 200;
+        if (length > 1) {
+            cost += setupCost(first) * 200;
+        }
+        if (length > 2) {
+            cost += setupCost(second) * 200;
+        }
+        // Among equal routes, prefer the heavier scoring darts first
+        cost = cost * 10000 - value(first) * 61 - (length > 2 ? value(second) : 0);
+
+        if (cost < bestCost[score]) {
+            bestCost[score] = cost;
+            best[score] = (length << 24) | first | (length > 1 ? second << 8 : 0) | (length > 2 ? third << 16 : 0);
+        }
+    }
+
+    private static int finishCost(int dart) {
+        int segment = segment(dart);
+        for (int i = 0; i < DOUBLE_PREFERENCE.length; i++) {
+            if (DOUBLE_PREFERENCE[i] == segment) {
+                return i;
+            }
+        }
+        return DOUBLE_PREFERENCE.length;
+    }
+
+    private static int setupCost(int dart) {
+        if (segment(dart) == 25) {
+            return multiplier(dart) + 2;
+        }
+        return multiplier(dart) == 1 ? 0 : multiplier(dart) == 3 ? 1 : 2;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dartverein.engine;
+
+import java.util.Arrays;
+
+/**
+ * In-memory Cricket state machine for a single game.
+ * <p>
+ * Marks on 15-20 and bull are packed into one int per player, two bits per target
+ * (0-3 marks), so closing checks and scoring are a few bit operations per dart.
+ * The player's score is the Cricket point total.
+ */
+public class CricketEngine extends DartEngine {
+
+    public static final int TARGETS = 7;
+    public static final int BULL_TARGET = 6;
+
+    private static final int MARKS_TO_CLOSE = 3;
+    private static final int TARGET_BITS = 2;
+    private static final int TARGET_MASK = 0b11;
+    private static final int ALL_CLOSED;
+
+    // Target index per board segment, -1 if the segment does not count in Cricket
+    private static final int[] TARGET_INDEX = new int[26];
+
+    static {
+        Arrays.fill(TARGET_INDEX, -1);
+        for (int segment = 15; segment <= 20; segment++) {
+            TARGET_INDEX[segment] = segment - 15;
+        }
+        TARGET_INDEX[25] = BULL_TARGET;
+
+        int closed = 0;
+        for (int target = 0; target < TARGETS; target++) {
+            closed |= MARKS_TO_CLOSE << (target * TARGET_BITS);
+        }
+        ALL_CLOSED = closed;
+    }
+
+    private final int[] marks = new int[2];
+
+    public CricketEngine(int targetLegs, int targetSets, boolean twoPlayers) {
+        super(targetLegs, targetSets, twoPlayers);
+        startLeg();
+    }
+
+    @Override
+    protected DartResult scoreDart(int player, int dart, int segment, int multiplier) {
+        int target = TARGET_INDEX[segment];
+        if (target >= 0 && multiplier > 0) {
+            int shift = target * TARGET_BITS;
+            int current = (marks[player] >>> shift) & TARGET_MASK;
+            int total = current + multiplier;
+            int closedMarks = Math.min(total, MARKS_TO_CLOSE);
+            marks[player] = (marks[player] & ~(TARGET_MASK << shift)) | (closedMarks << shift);
+
+            int extra = total - MARKS_TO_CLOSE;
+            if (extra > 0 && playerCount == 2 && !isClosed(1 - player, target)) {
+                int points = extra * segment;
+                scores[player] += points;
+                creditPoints(dart, points);
+            }
+
+            if (marks[player] == ALL_CLOSED && (playerCount == 1 || scores[player] >= scores[1 - player])) {
+                return checkout(player);
+            }
+        }
+
+        if (isVisitFull()) {
+            closeVisit();
+        }
+        return DartResult.SCORED;
+    }
+
+    @Override
+    protected void resetLeg() {
+        scores[PLAYER1] = 0;
+        scores[PLAYER2] = 0;
+        marks[PLAYER1] = 0;
+        marks[PLAYER2] = 0;
+    }
+
+    @Override
+    protected int[] snapshotState() {
+        return new int[] {marks[PLAYER1], marks[PLAYER2]};
+    }
+
+    @Override
+    protected void restoreSnapshotState(int[] state, int offset) {
+        marks[PLAYER1] = state[offset];
+        marks[PLAYER2] = state[offset + 1];
+    }
+
+    public boolean isClosed(int player, int target) {
+        return getMarks(player, target) == MARKS_TO_CLOSE;
+    }
+
+    public int getMarks(int player, int target) {
+        return (marks[player] >>> (target * TARGET_BITS)) & TARGET_MASK;
+    }
+
+    /**
+     * Returns the packed marks of a player, two bits per target starting at 15.
+     */
+    public int getPackedMarks(int player) {
+        return marks[player];
+    }
+
+    /**
+     * Returns a bit per target (bit 0 = 15, bit 6 = bull) that is closed by every player.
+     */
+    public int getDeadTargets() {
+        int dead = 0;
+        for (int target = 0; target < TARGETS; target++) {
+            if (isClosed(PLAYER1, target) && (playerCount == 1 || isClosed(PLAYER2, target))) {
+                dead |= 1 << target;
+            }
+        }
+        return dead;
+    }
+}
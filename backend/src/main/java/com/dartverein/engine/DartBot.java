@@ -0,0 +1,124 @@
+package com.dartverein.engine;
+
+/**
+ * Simulated opponent. Each dart lands at the aim point plus Gaussian noise whose spread
+ * depends on the skill level; aim points follow the checkout table.
+ * Random numbers come from an inline xorshift generator so a throw does not allocate.
+ * Instances are not thread-safe; callers serialize access per game.
+ */
+public class DartBot {
+
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 10;
+
+    private static final int TREBLE_20 = Dartboard.code(20, 3);
+    private static final int BULL = Dartboard.code(25, 2);
+
+    private final int level;
+    private final double sigma;
+    private final CheckoutTable checkoutTable;
+
+    private long seed;
+    private double spareGaussian;
+    private boolean hasSpareGaussian;
+
+    public DartBot(int level, CheckoutTable checkoutTable, long seed) {
+        this.level = Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+        this.sigma = sigmaForLevel(this.level);
+        this.checkoutTable = checkoutTable;
+        this.seed = seed != 0 ? seed : 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Standard deviation of the landing position in mm per axis. The spread shrinks
+     * geometrically from 60 mm (beginner) to 12 mm (strong club player).
+     */
+    public static double sigmaForLevel(int level) {
+        return 60.0 * Math.pow(0.2, (level - MIN_LEVEL) / (double) (MAX_LEVEL - MIN_LEVEL));
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Picks a target for the engine's current player and returns the dart code that was hit.
+     */
+    public int throwDart(DartEngine engine) {
+        return throwAt(chooseTarget(engine));
+    }
+
+    public int throwAt(int targetCode) {
+        double x = Dartboard.aimX(targetCode) + nextGaussian() * sigma;
+        double y = Dartboard.aimY(targetCode) + nextGaussian() * sigma;
+        return Dartboard.hit(x, y);
+    }
+
+    public int chooseTarget(DartEngine engine) {
+        if (engine instanceof X01Engine x01) {
+            return chooseX01Target(x01);
+        }
+        if (engine instanceof CricketEngine cricket) {
+            return chooseCricketTarget(cricket);
+        }
+        if (engine instanceof Bobs27Engine) {
+            return Dartboard.code(Bobs27Engine.targetSegment(engine.getRoundNumber() - 1), 2);
+        }
+        return TREBLE_20;
+    }
+
+    private int chooseX01Target(X01Engine engine) {
+        int player = engine.getCurrentPlayer();
+        return checkoutTable.aim(engine.getScore(player), engine.getDartsLeftInVisit(),
+                !engine.isOpened(player), engine.isDoubleOut());
+    }
+
+    private int chooseCricketTarget(CricketEngine engine) {
+        int player = engine.getCurrentPlayer();
+        int opponent = engine.getPlayerCount() == 2 ? 1 - player : player;
+
+        // Close the highest open number first, then score where the opponent is still open
+        for (int target = CricketEngine.BULL_TARGET - 1; target >= 0; target--) {
+            if (!engine.isClosed(player, target)) {
+                return Dartboard.code(target + 15, 3);
+            }
+        }
+        if (!engine.isClosed(player, CricketEngine.BULL_TARGET)) {
+            return BULL;
+        }
+        for (int target = CricketEngine.BULL_TARGET - 1; target >= 0; target--) {
+            if (!engine.isClosed(opponent, target)) {
+                return Dartboard.code(target + 15, 3);
+            }
+        }
+        return BULL;
+    }
+
+    private double nextGaussian() {
+        if (hasSpareGaussian) {
+            hasSpareGaussian = false;
+            return spareGaussian;
+        }
+        // Marsaglia polar method
+        double u;
+        double v;
+        double s;
+        do {
+            u = nextDouble() * 2.0 - 1.0;
+            v = nextDouble() * 2.0 - 1.0;
+            s = u * u + v * v;
+        } while (s >= 1.0 || s == 0.0);
+        double factor = Math.sqrt(-2.0 * Math.log(s) / s);
+        spareGaussian = v * factor;
+        hasSpareGaussian = true;
+        return u * factor;
+    }
+
+    private double nextDouble() {
+        // xorshift64*
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return ((seed * 0x2545F4914F6CDD1DL) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,376 @@
+package com.dartverein.engine;
+
+/**
+ * Common turn, visit and leg/set bookkeeping for the in-memory game engines.
+ * All state is kept in primitive fields so that scoring a dart does not allocate.
+ * Instances are not thread-safe; callers serialize access per game.
+ */
+public abstract class DartEngine {
+
+    public static final int PLAYER1 = 0;
+    public static final int PLAYER2 = 1;
+    public static final int DARTS_PER_VISIT = 3;
+
+    // Common fields at the start of a snapshot, followed by the engine-specific state
+    private static final int SNAPSHOT_HEADER = 13;
+
+    protected final int playerCount;
+    private final int targetLegs;
+    private final int targetSets;
+
+    protected final int[] scores = new int[2];
+    private final int[] legs = new int[2];
+    private final int[] sets = new int[2];
+    private final int[] dartsThrown = new int[2];
+
+    protected int currentPlayer = PLAYER1;
+    private int legStarter = PLAYER1;
+    protected int roundNumber = 1;
+    private int winner = -1;
+
+    // Current (or most recently closed) visit
+    private int visitPlayer;
+    private int visitRound;
+    private int visitScoreBefore;
+    private int visitScoreAfter;
+    private int visitDarts;
+    private boolean visitClosed = true;
+    private boolean visitBust;
+    private boolean visitCheckout;
+    private final int[] visitSegments = new int[DARTS_PER_VISIT];
+    private final int[] visitMultipliers = new int[DARTS_PER_VISIT];
+    private final int[] visitPoints = new int[DARTS_PER_VISIT];
+
+    protected DartEngine(int targetLegs, int targetSets, boolean twoPlayers) {
+        this.targetLegs = Math.max(targetLegs, 1);
+        this.targetSets = Math.max(targetSets, 0);
+        this.playerCount = twoPlayers ? 2 : 1;
+    }
+
+    /**
+     * Scores a single dart for the player whose turn it is.
+     *
+     * @param segment    0 for a miss, 1-20, or 25 for the bull
+     * @param multiplier 1, 2 or 3 (bull only allows 1 or 2)
+     */
+    public final DartResult throwDart(int segment, int multiplier) {
+        if (!isValidDart(segment, multiplier)) {
+            throw new IllegalArgumentException("Invalid dart: segment " + segment + ", multiplier " + multiplier);
+        }
+        if (isFinished()) {
+            throw new IllegalStateException("Game is already finished");
+        }
+        if (visitClosed) {
+            beginVisit();
+        }
+
+        int dart = visitDarts++;
+        visitSegments[dart] = segment;
+        visitMultipliers[dart] = multiplier;
+        visitPoints[dart] = 0;
+        dartsThrown[currentPlayer]++;
+
+        return scoreDart(currentPlayer, dart, segment, multiplier);
+    }
+
+    /**
+     * Applies one recorded dart. Implementations credit points with {@link #creditPoints},
+     * and end the visit with {@link #closeVisit}, {@link #bust} or {@link #checkout}.
+     */
+    protected abstract DartResult scoreDart(int player, int dart, int segment, int multiplier);
+
+    /**
+     * Resets the per-leg state of the concrete game.
+     */
+    protected abstract void resetLeg();
+
+    public static boolean isValidDart(int segment, int multiplier) {
+        if (segment == 0) {
+            return multiplier >= 0 && multiplier <= 3;
+        }
+        if (segment == 25) {
+            return multiplier == 1 || multiplier == 2;
+        }
+        return segment >= 1 && segment <= 20 && multiplier >= 1 && multiplier <= 3;
+    }
+
+    /**
+     * Restores the turn, score and match counters at a visit boundary, e.g. from a persisted game state.
+     */
+    public void restore(int player1Score, int player2Score, int player1Legs, int player2Legs,
+                        int player1Sets, int player2Sets, int player1Darts, int player2Darts,
+                        int currentPlayer, int roundNumber) {
+        scores[PLAYER1] = player1Score;
+        scores[PLAYER2] = player2Score;
+        legs[PLAYER1] = player1Legs;
+        legs[PLAYER2] = player2Legs;
+        sets[PLAYER1] = player1Sets;
+        sets[PLAYER2] = player2Sets;
+        dartsThrown[PLAYER1] = player1Darts;
+        dartsThrown[PLAYER2] = player2Darts;
+        this.currentPlayer = playerCount == 2 ? currentPlayer : PLAYER1;
+        this.roundNumber = Math.max(roundNumber, 1);
+        this.winner = -1;
+        this.visitClosed = true;
+    }
+
+    /**
+     * Captures the engine between two visits as a flat int array for {@link #restoreSnapshot}.
+     */
+    public final int[] snapshot() {
+        if (!visitClosed) {
+            throw new IllegalStateException("Snapshots can only be taken between visits");
+        }
+        int[] extra = snapshotState();
+        int[] state = new int[SNAPSHOT_HEADER + extra.length];
+        state[0] = scores[PLAYER1];
+        state[1] = scores[PLAYER2];
+        state[2] = legs[PLAYER1];
+        state[3] = legs[PLAYER2];
+        state[4] = sets[PLAYER1];
+        state[5] = sets[PLAYER2];
+        state[6] = dartsThrown[PLAYER1];
+        state[7] = dartsThrown[PLAYER2];
+        state[8] = currentPlayer;
+        state[9] = legStarter;
+        state[10] = roundNumber;
+        state[11] = winner;
+        state[12] = extra.length;
+        System.arraycopy(extra, 0, state, SNAPSHOT_HEADER, extra.length);
+        return state;
+    }
+
+    public final void restoreSnapshot(int[] state) {
+        if (state.length < SNAPSHOT_HEADER || state[12] != state.length - SNAPSHOT_HEADER) {
+            throw new IllegalArgumentException("Invalid engine snapshot");
+        }
+        scores[PLAYER1] = state[0];
+        scores[PLAYER2] = state[1];
+        legs[PLAYER1] = state[2];
+        legs[PLAYER2] = state[3];
+        sets[PLAYER1] = state[4];
+        sets[PLAYER2] = state[5];
+        dartsThrown[PLAYER1] = state[6];
+        dartsThrown[PLAYER2] = state[7];
+        currentPlayer = state[8];
+        legStarter = state[9];
+        roundNumber = state[10];
+        winner = state[11];
+        visitClosed = true;
+        restoreSnapshotState(state, SNAPSHOT_HEADER);
+    }
+
+    /**
+     * Engine-specific state to append to a snapshot.
+     */
+    protected int[] snapshotState() {
+        return new int[0];
+    }
+
+    protected void restoreSnapshotState(int[] state, int offset) {
+    }
+
+    protected final void startLeg() {
+        currentPlayer = legStarter;
+        roundNumber = 1;
+        resetLeg();
+    }
+
+    protected final void creditPoints(int dart, int points) {
+        visitPoints[dart] = points;
+    }
+
+    protected final boolean isVisitFull() {
+        return visitDarts == DARTS_PER_VISIT;
+    }
+
+    /**
+     * Ends the visit and passes the turn on.
+     */
+    protected final void closeVisit() {
+        visitClosed = true;
+        visitScoreAfter = scores[visitPlayer];
+        if (visitCheckout) {
+            return;
+        }
+        if (playerCount == 2) {
+            currentPlayer = 1 - currentPlayer;
+            if (currentPlayer == legStarter) {
+                roundNumber++;
+            }
+        } else {
+            roundNumber++;
+        }
+    }
+
+    /**
+     * Ends the visit as a bust; the caller has already restored the score.
+     */
+    protected final DartResult bust() {
+        visitBust = true;
+        closeVisit();
+        return DartResult.BUST;
+    }
+
+    /**
+     * Ends the visit by winning the leg and starts the next leg unless the match is over.
+     */
+    protected final DartResult checkout(int player) {
+        visitCheckout = true;
+        closeVisit();
+
+        legs[player]++;
+        if (targetSets > 0) {
+            if (legs[player] < targetLegs) {
+                startNextLeg();
+                return DartResult.LEG_WON;
+            }
+            sets[player]++;
+            legs[PLAYER1] = 0;
+            legs[PLAYER2] = 0;
+            if (sets[player] >= targetSets) {
+                winner = player;
+                return DartResult.GAME_WON;
+            }
+            startNextLeg();
+            return DartResult.SET_WON;
+        }
+        if (legs[player] >= targetLegs) {
+            winner = player;
+            return DartResult.GAME_WON;
+        }
+        startNextLeg();
+        return DartResult.LEG_WON;
+    }
+
+    /**
+     * Ends the game without a leg checkout, e.g. for practice games that run out.
+     */
+    protected final DartResult endGame(int player) {
+        if (!visitClosed) {
+            closeVisit();
+        }
+        winner = player;
+        return DartResult.GAME_WON;
+    }
+
+    private void startNextLeg() {
+        if (playerCount == 2) {
+            legStarter = 1 - legStarter;
+        }
+        startLeg();
+    }
+
+    private void beginVisit() {
+        visitPlayer = currentPlayer;
+        visitRound = roundNumber;
+        visitScoreBefore = scores[currentPlayer];
+        visitScoreAfter = visitScoreBefore;
+        visitDarts = 0;
+        visitBust = false;
+        visitCheckout = false;
+        visitClosed = false;
+        onVisitStart(currentPlayer);
+    }
+
+    /**
+     * Hook for engines that need to remember per-visit state.
+     */
+    protected void onVisitStart(int player) {
+    }
+
+    public boolean isFinished() {
+        return winner >= 0;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    public int getLegs(int player) {
+        return legs[player];
+    }
+
+    public int getSets(int player) {
+        return sets[player];
+    }
+
+    public int getDartsThrown(int player) {
+        return dartsThrown[player];
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public boolean isVisitClosed() {
+        return visitClosed;
+    }
+
+    public int getDartsLeftInVisit() {
+        return visitClosed ? DARTS_PER_VISIT : DARTS_PER_VISIT - visitDarts;
+    }
+
+    public int getVisitPlayer() {
+        return visitPlayer;
+    }
+
+    public int getVisitRound() {
+        return visitRound;
+    }
+
+    public int getVisitScoreBefore() {
+        return visitScoreBefore;
+    }
+
+    public int getVisitScoreAfter() {
+        return visitScoreAfter;
+    }
+
+    public int getVisitDarts() {
+        return visitDarts;
+    }
+
+    public int getVisitSegment(int dart) {
+        return visitSegments[dart];
+    }
+
+    public int getVisitMultiplier(int dart) {
+        return visitMultipliers[dart];
+    }
+
+    public int getVisitPoints(int dart) {
+        return visitPoints[dart];
+    }
+
+    public int getVisitTotal() {
+        if (visitBust) {
+            return 0;
+        }
+        int total = 0;
+        for (int i = 0; i < visitDarts; i++) {
+            total += visitPoints[i];
+        }
+        return total;
+    }
+
+    public boolean isVisitBust() {
+        return visitBust;
+    }
+
+    public boolean isVisitCheckout() {
+        return visitCheckout;
+    }
+}
@@ -0,0 +1,5 @@
+package com.dartverein.engine;
+
+public enum DartResult {
+    SCORED, NOT_OPENED, BUST, LEG_WON, SET_WON, GAME_WON
+}
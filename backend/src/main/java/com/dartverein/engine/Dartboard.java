@@ -0,0 +1,84 @@
+package com.dartverein.engine;
+
+/**
+ * Standard steel-tip dartboard geometry in millimetres, centred on the bull with y pointing up.
+ * Darts and aim points use the same codes as {@link CheckoutTable} ({@code segment * 4 + multiplier});
+ * code 0 is a miss.
+ */
+public final class Dartboard {
+
+    public static final double INNER_BULL_RADIUS = 6.35;
+    public static final double OUTER_BULL_RADIUS = 15.9;
+    public static final double TRIPLE_INNER_RADIUS = 99.0;
+    public static final double TRIPLE_OUTER_RADIUS = 107.0;
+    public static final double DOUBLE_INNER_RADIUS = 162.0;
+    public static final double DOUBLE_OUTER_RADIUS = 170.0;
+
+    // Segments clockwise, starting with 20 at the top
+    private static final int[] SEGMENTS = {20, 1, 18, 4, 13, 6, 10, 15, 2, 17, 3, 19, 7, 16, 8, 11, 14, 9, 12, 5};
+
+    private static final double[] AIM_X = new double[26 * 4];
+    private static final double[] AIM_Y = new double[26 * 4];
+
+    static {
+        for (int i = 0; i < SEGMENTS.length; i++) {
+            double angle = Math.toRadians(i * 18.0);
+            double sin = Math.sin(angle);
+            double cos = Math.cos(angle);
+            int segment = SEGMENTS[i];
+            setAim(code(segment, 1), (TRIPLE_OUTER_RADIUS + DOUBLE_INNER_RADIUS) / 2, sin, cos);
+            setAim(code(segment, 2), (DOUBLE_INNER_RADIUS + DOUBLE_OUTER_RADIUS) / 2, sin, cos);
+            setAim(code(segment, 3), (TRIPLE_INNER_RADIUS + TRIPLE_OUTER_RADIUS) / 2, sin, cos);
+        }
+        setAim(code(25, 1), (INNER_BULL_RADIUS + OUTER_BULL_RADIUS) / 2, 0.0, 1.0);
+        setAim(code(25, 2), 0.0, 0.0, 1.0);
+    }
+
+    private Dartboard() {
+    }
+
+    public static int code(int segment, int multiplier) {
+        return segment * 4 + multiplier;
+    }
+
+    public static double aimX(int code) {
+        return AIM_X[code];
+    }
+
+    public static double aimY(int code) {
+        return AIM_Y[code];
+    }
+
+    /**
+     * Returns the dart code of the board position (x, y), or 0 if the dart lands outside the scoring area.
+     */
+    public static int hit(double x, double y) {
+        double radius = Math.sqrt(x * x + y * y);
+        if (radius <= INNER_BULL_RADIUS) {
+            return code(25, 2);
+        }
+        if (radius <= OUTER_BULL_RADIUS) {
+            return code(25, 1);
+        }
+        if (radius > DOUBLE_OUTER_RADIUS) {
+            return 0;
+        }
+
+        double degrees = Math.toDegrees(Math.atan2(x, y));
+        int index = (int) Math.floor((degrees + 9.0) / 18.0);
+        int segment = SEGMENTS[((index % 20) + 20) % 20];
+
+        if (radius >= DOUBLE_INNER_RADIUS) {
+            return code(segment, 2);
+        }
+        if (radius >= TRIPLE_INNER_RADIUS && radius <= TRIPLE_OUTER_RADIUS) {
+            return code(segment, 3);
+        }
+        return code(segment, 1);
+    }
+
+    private static void setAim(int code, double radius, double sin, double cos) {
+        AIM_X[code] = radius * sin;
+        AIM_Y[code] = radius * cos;
+    }
+}
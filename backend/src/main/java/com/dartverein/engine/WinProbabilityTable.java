@@ -0,0 +1,350 @@
+package com.dartverein.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed X01 finishing statistics per skill level, so a live win probability is a
+ * handful of array reads instead of a simulation.
+ * <p>
+ * Skill levels are the {@link DartBot} levels: darts land with the Gaussian spread of
+ * {@link DartBot#sigmaForLevel} around the aim point chosen by {@link CheckoutTable#aim}.
+ * The hit distribution of every aim point is integrated once over a grid, then two
+ * dynamic programs run over (score, darts left in the visit):
+ * <ul>
+ *     <li>the expected number of darts to finish a leg, and</li>
+ *     <li>the probability of finishing within k visits, from which the chance of winning a
+ *     leg against an opponent follows directly.</li>
+ * </ul>
+ * Double-in is not modelled; the player is treated as already opened.
+ */
+@Component
+public class WinProbabilityTable {
+
+    public static final int MAX_SCORE = 1001;
+    public static final int MAX_VISITS = 80;
+    public static final int LEVELS = DartBot.MAX_LEVEL - DartBot.MIN_LEVEL + 1;
+
+    // Expected darts reported for states that cannot be finished (1 left under double-out)
+    public static final double UNREACHABLE_DARTS = 999.0;
+
+    private static final int DARTS = DartEngine.DARTS_PER_VISIT;
+    private static final int SCORES = MAX_SCORE + 1;
+    private static final int VISIT_WINDOW = CheckoutTable.MAX_SCORE + 1;
+    private static final int OUT_RULES = 2;
+    private static final int CODES = 26 * 4;
+
+    // Integration grid: GRID_STEPS x GRID_STEPS points within GRID_SIGMAS standard deviations
+    private static final int GRID_STEPS = 61;
+    private static final double GRID_SIGMAS = 4.0;
+
+    private final CheckoutTable checkoutTable;
+
+    // Sparse hit distribution per level and aim code: codes and probabilities of the outcomes
+    private final int[][][] outcomeCodes = new int[LEVELS][CODES][];
+    private final double[][][] outcomeProbabilities = new double[LEVELS][CODES][];
+
+    // [((rule * LEVELS + level) * SCORES + score) * (DARTS + 1) + dartsLeft]
+    private final float[] expectedDarts = new float[OUT_RULES * LEVELS * SCORES * (DARTS + 1)];
+    // [((rule * LEVELS + level) * SCORES + score) * (MAX_VISITS + 1) + visits]
+    private final float[] finishWithin = new float[OUT_RULES * LEVELS * SCORES * (MAX_VISITS + 1)];
+    // Three-dart average per level when aiming at treble 20
+    private final double[] levelAverages = new double[LEVELS];
+
+    public WinProbabilityTable(CheckoutTable checkoutTable) {
+        this.checkoutTable = checkoutTable;
+        for (int level = 0; level < LEVELS; level++) {
+            integrateOutcomes(level);
+            levelAverages[level] = DARTS * expectedValue(level, Dartboard.code(20, 3));
+            for (int rule = 0; rule < OUT_RULES; rule++) {
+                buildExpectedDarts(level, rule == 1);
+                buildFinishWithin(level, rule == 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the expected number of darts needed to finish from the given score.
+     *
+     * @param dartsLeft darts left in the current visit (1-3)
+     */
+    public double expectedDarts(int level, int score, int dartsLeft, boolean doubleOut) {
+        if (score <= 0) {
+            return 0.0;
+        }
+        int darts = Math.max(1, Math.min(dartsLeft, DARTS));
+        return expectedDarts[(block(level, doubleOut) + clampScore(score)) * (DARTS + 1) + darts];
+    }
+
+    /**
+     * Returns the probability of finishing from the start of a visit within the given number of visits.
+     */
+    public double finishWithin(int level, int score, int visits, boolean doubleOut) {
+        if (score <= 0) {
+            return 1.0;
+        }
+        if (visits <= 0) {
+            return 0.0;
+        }
+        return finishWithin[(block(level, doubleOut) + clampScore(score)) * (MAX_VISITS + 1)
+                + Math.min(visits, MAX_VISITS)];
+    }
+
+    /**
+     * Returns the probability that the player about to throw wins the leg against the opponent,
+     * both measured from the start of a visit. Visits beyond {@link #MAX_VISITS} are not counted;
+     * the remaining mass is split in proportion to the counted outcomes.
+     */
+    public double winProbability(int level, int score, int opponentLevel, int opponentScore, boolean doubleOut) {
+        if (score <= 0) {
+            return 1.0;
+        }
+        if (opponentScore <= 0) {
+            return 0.0;
+        }
+        int own = (block(level, doubleOut) + clampScore(score)) * (MAX_VISITS + 1);
+        int other = (block(opponentLevel, doubleOut) + clampScore(opponentScore)) * (MAX_VISITS + 1);
+
+        double wins = 0.0;
+        double losses = 0.0;
+        for (int visit = 1; visit <= MAX_VISITS; visit++) {
+            double ownBefore = finishWithin[own + visit - 1];
+            double ownNow = finishWithin[own + visit];
+            double otherBefore = finishWithin[other + visit - 1];
+            double otherNow = finishWithin[other + visit];
+            // The player throws first, so a finish in the same visit number wins
+            wins += (ownNow - ownBefore) * (1.0 - otherBefore);
+            losses += (otherNow - otherBefore) * (1.0 - ownNow);
+        }
+        double total = wins + losses;
+        return total > 0.0 ? wins / total : 0.5;
+    }
+
+    /**
+     * Maps a three-dart average to the skill level whose simulated average is closest.
+     */
+    public int levelForAverage(double threeDartAverage) {
+        int best = 0;
+        for (int level = 1; level < LEVELS; level++) {
+            if (Math.abs(levelAverages[level] - threeDartAverage) < Math.abs(levelAverages[best] - threeDartAverage)) {
+                best = level;
+            }
+        }
+        return best + DartBot.MIN_LEVEL;
+    }
+
+    public double getLevelAverage(int level) {
+        return levelAverages[levelIndex(level)];
+    }
+
+    private int block(int level, boolean doubleOut) {
+        return ((doubleOut ? 1 : 0) * LEVELS + levelIndex(level)) * SCORES;
+    }
+
+    private static int levelIndex(int level) {
+        return Math.max(DartBot.MIN_LEVEL, Math.min(DartBot.MAX_LEVEL, level)) - DartBot.MIN_LEVEL;
+    }
+
+    private static int clampScore(int score) {
+        return Math.min(score, MAX_SCORE);
+    }
+
+    private void integrateOutcomes(int levelIndex) {
+        double sigma = DartBot.sigmaForLevel(levelIndex + DartBot.MIN_LEVEL);
+        double step = 2.0 * GRID_SIGMAS / (GRID_STEPS - 1);
+
+        double[] weights = new double[GRID_STEPS];
+        for (int i = 0; i < GRID_STEPS; i++) {
+            double z = -GRID_SIGMAS + i * step;
+            weights[i] = Math.exp(-0.5 * z * z);
+        }
+
+        double[] mass = new double[CODES];
+        for (int segment = 1; segment <= 25; segment++) {
+            for (int multiplier = 1; multiplier <= 3; multiplier++) {
+                if (!DartEngine.isValidDart(segment, multiplier)) {
+                    continue;
+                }
+                int aim = Dartboard.code(segment, multiplier);
+                Arrays.fill(mass, 0.0);
+                double total = 0.0;
+                for (int i = 0; i < GRID_STEPS; i++) {
+                    double x = Dartboard.aimX(aim) + (-GRID_SIGMAS + i * step) * sigma;
+                    for (int j = 0; j < GRID_STEPS; j++) {
+                        double y = Dartboard.aimY(aim) + (-GRID_SIGMAS + j * step) * sigma;
+                        double weight = weights[i] * weights[j];
+                        mass[Dartboard.hit(x, y)] += weight;
+                        total += weight;
+                    }
+                }
+
+                int count = 0;
+                for (int code = 0; code < CODES; code++) {
+                    if (mass[code] > 0.0) {
+                        count++;
+                    }
+                }
+                int[] codes = new int[count];
+                double[] probabilities = new double[count];
+                int n = 0;
+                for (int code = 0; code < CODES; code++) {
+                    if (mass[code] > 0.0) {
+                        codes[n] = code;
+                        probabilities[n++] = mass[code] / total;
+                    }
+                }
+                outcomeCodes[levelIndex][aim] = codes;
+                outcomeProbabilities[levelIndex][aim] = probabilities;
+            }
+        }
+    }
+
+    private double expectedValue(int levelIndex, int aim) {
+        int[] codes = outcomeCodes[levelIndex][aim];
+        double[] probabilities = outcomeProbabilities[levelIndex][aim];
+        double value = 0.0;
+        for (int i = 0; i < codes.length; i++) {
+            value += probabilities[i] * CheckoutTable.value(codes[i]);
+        }
+        return value;
+    }
+
+    /**
+     * Expected darts per (score, darts left). A bust is modelled as returning to the current score
+     * with a fresh visit. For each score the three states only depend on lower scores and on each
+     * other through misses and busts, so they are solved as E(d) = a(d) + b(d) * E(3).
+     */
+    private void buildExpectedDarts(int levelIndex, boolean doubleOut) {
+        int base = ((doubleOut ? 1 : 0) * LEVELS + levelIndex) * SCORES;
+        double[] constant = new double[DARTS + 1];
+        double[] factor = new double[DARTS + 1];
+
+        for (int score = 1; score <= MAX_SCORE; score++) {
+            for (int darts = 1; darts <= DARTS; darts++) {
+                int nextDarts = darts == 1 ? DARTS : darts - 1;
+                int aim = checkoutTable.aim(score, darts, false, doubleOut);
+                int[] codes = outcomeCodes[levelIndex][aim];
+                double[] probabilities = outcomeProbabilities[levelIndex][aim];
+
+                double a = 1.0;
+                double b = 0.0;
+                for (int i = 0; i < codes.length; i++) {
+                    int code = codes[i];
+                    double p = probabilities[i];
+                    int remaining = score - CheckoutTable.value(code);
+                    if (isBust(remaining, code, doubleOut)) {
+                        b += p;
+                    } else if (remaining == score) {
+                        // Same score, next dart: resolved through the previous darts-left state
+                        if (nextDarts == DARTS) {
+                            b += p;
+                        } else {
+                            a += p * constant[nextDarts];
+                            b += p * factor[nextDarts];
+                        }
+                    } else if (remaining > 0) {
+                        a += p * expectedDarts[(base + remaining) * (DARTS + 1) + nextDarts];
+                    }
+                }
+                constant[darts] = a;
+                factor[darts] = b;
+            }
+
+            double full = factor[DARTS] < 1.0 - 1e-12
+                    ? Math.min(constant[DARTS] / (1.0 - factor[DARTS]), UNREACHABLE_DARTS)
+                    : UNREACHABLE_DARTS;
+            for (int darts = 1; darts <= DARTS; darts++) {
+                double value = darts == DARTS ? full : Math.min(constant[darts] + factor[darts] * full, UNREACHABLE_DARTS);
+                expectedDarts[(base + score) * (DARTS + 1) + darts] = (float) value;
+            }
+        }
+    }
+
+    /**
+     * Probability of finishing within k visits. One visit from each score is expanded dart by
+     * dart into a distribution over the score it ends on (a bust ends on the starting score),
+     * then F(s, k) = P(finish this visit) + sum over s' of P(s -> s') * F(s', k - 1).
+     */
+    private void buildFinishWithin(int levelIndex, boolean doubleOut) {
+        int base = ((doubleOut ? 1 : 0) * LEVELS + levelIndex) * SCORES;
+        // transitions[score * VISIT_WINDOW + j]: probability of ending the visit on score - j
+        double[] transitions = new double[SCORES * VISIT_WINDOW];
+        double[] finish = new double[SCORES];
+        double[] current = new double[VISIT_WINDOW];
+        double[] next = new double[VISIT_WINDOW];
+
+        for (int score = 1; score <= MAX_SCORE; score++) {
+            Arrays.fill(current, 0.0);
+            current[0] = 1.0;
+            double finished = 0.0;
+            double busted = 0.0;
+            int reach = 0;
+
+            for (int darts = DARTS; darts >= 1; darts--) {
+                Arrays.fill(next, 0.0);
+                int nextReach = 0;
+                for (int j = 0; j <= reach; j++) {
+                    double p = current[j];
+                    if (p == 0.0) {
+                        continue;
+                    }
+                    int from = score - j;
+                    int aim = checkoutTable.aim(from, darts, false, doubleOut);
+                    int[] codes = outcomeCodes[levelIndex][aim];
+                    double[] probabilities = outcomeProbabilities[levelIndex][aim];
+                    for (int i = 0; i < codes.length; i++) {
+                        int code = codes[i];
+                        int remaining = from - CheckoutTable.value(code);
+                        if (isBust(remaining, code, doubleOut)) {
+                            busted += p * probabilities[i];
+                        } else if (remaining == 0) {
+                            finished += p * probabilities[i];
+                        } else {
+                            int k = score - remaining;
+                            next[k] += p * probabilities[i];
+                            nextReach = Math.max(nextReach, k);
+                        }
+                    }
+                }
+                double[] swap = current;
+                current = next;
+                next = swap;
+                reach = nextReach;
+            }
+
+            finish[score] = finished;
+            int row = score * VISIT_WINDOW;
+            transitions[row] = current[0] + busted;
+            for (int j = 1; j <= reach; j++) {
+                transitions[row + j] = current[j];
+            }
+        }
+
+        // finishWithin(s, 0) stays 0
+        for (int visits = 1; visits <= MAX_VISITS; visits++) {
+            for (int score = 1; score <= MAX_SCORE; score++) {
+                double probability = finish[score];
+                int row = score * VISIT_WINDOW;
+                int maxStep = Math.min(score - 1, VISIT_WINDOW - 1);
+                for (int j = 0; j <= maxStep; j++) {
+                    double p = transitions[row + j];
+                    if (p != 0.0) {
+                        probability += p * finishWithin[(base + score - j) * (MAX_VISITS + 1) + visits - 1];
+                    }
+                }
+                finishWithin[(base + score) * (MAX_VISITS + 1) + visits] = (float) Math.min(probability, 1.0);
+            }
+        }
+    }
+
+    private static boolean isBust(int remaining, int code, boolean doubleOut) {
+        if (remaining < 0) {
+            return true;
+        }
+        if (!doubleOut) {
+            return false;
+        }
+        return remaining == 1 || (remaining == 0 && CheckoutTable.multiplier(code) != 2);
+    }
+}
@@ -0,0 +1,110 @@
+package com.dartverein.engine;
+
+/**
+ * In-memory X01 state machine for a single game, honoring double-in and double-out.
+ */
+public class X01Engine extends DartEngine {
+
+    private final int startScore;
+    private final boolean doubleIn;
+    private final boolean doubleOut;
+
+    private final boolean[] opened = new boolean[2];
+    private boolean visitOpenedBefore;
+
+    public X01Engine(int startScore, boolean doubleIn, boolean doubleOut,
+                     int targetLegs, int targetSets, boolean twoPlayers) {
+        super(targetLegs, targetSets, twoPlayers);
+        if (startScore < 2) {
+            throw new IllegalArgumentException("Start score must be at least 2");
+        }
+        this.startScore = startScore;
+        this.doubleIn = doubleIn;
+        this.doubleOut = doubleOut;
+        startLeg();
+    }
+
+    @Override
+    public void restore(int player1Score, int player2Score, int player1Legs, int player2Legs,
+                        int player1Sets, int player2Sets, int player1Darts, int player2Darts,
+                        int currentPlayer, int roundNumber) {
+        super.restore(player1Score, player2Score, player1Legs, player2Legs,
+                player1Sets, player2Sets, player1Darts, player2Darts, currentPlayer, roundNumber);
+        opened[PLAYER1] = !doubleIn || player1Score < startScore;
+        opened[PLAYER2] = !doubleIn || player2Score < startScore;
+    }
+
+    @Override
+    protected int[] snapshotState() {
+        return new int[] {opened[PLAYER1] ? 1 : 0, opened[PLAYER2] ? 1 : 0};
+    }
+
+    @Override
+    protected void restoreSnapshotState(int[] state, int offset) {
+        opened[PLAYER1] = state[offset] != 0;
+        opened[PLAYER2] = state[offset + 1] != 0;
+    }
+
+    @Override
+    protected void onVisitStart(int player) {
+        visitOpenedBefore = opened[player];
+    }
+
+    @Override
+    protected DartResult scoreDart(int player, int dart, int segment, int multiplier) {
+        int points = segment * multiplier;
+        boolean isDouble = segment != 0 && multiplier == 2;
+
+        if (!opened[player]) {
+            if (!isDouble) {
+                if (isVisitFull()) {
+                    closeVisit();
+                }
+                return DartResult.NOT_OPENED;
+            }
+            opened[player] = true;
+        }
+        creditPoints(dart, points);
+
+        int remaining = scores[player] - points;
+        if (remaining < 0 || (doubleOut && remaining == 1) || (remaining == 0 && doubleOut && !isDouble)) {
+            scores[player] = getVisitScoreBefore();
+            opened[player] = visitOpenedBefore;
+            return bust();
+        }
+
+        scores[player] = remaining;
+        if (remaining == 0) {
+            return checkout(player);
+        }
+
+        if (isVisitFull()) {
+            closeVisit();
+        }
+        return DartResult.SCORED;
+    }
+
+    @Override
+    protected void resetLeg() {
+        scores[PLAYER1] = startScore;
+        scores[PLAYER2] = startScore;
+        opened[PLAYER1] = !doubleIn;
+        opened[PLAYER2] = !doubleIn;
+    }
+
+    public int getStartScore() {
+        return startScore;
+    }
+
+    public boolean isDoubleIn() {
+        return doubleIn;
+    }
+
+    public boolean isDoubleOut() {
+        return doubleOut;
+    }
+
+    public boolean isOpened(int player) {
+        return opened[player];
+    }
+}
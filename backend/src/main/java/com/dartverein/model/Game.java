@@ -2,14 +2,29 @@ package com.dartverein.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        // Keyset pagination of the game history on (created_at, id), per filter
+        @Index(name = "idx_games_created", columnList = "created_at, id"),
+        @Index(name = "idx_games_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_games_type_created", columnList = "game_type, created_at, id"),
+        @Index(name = "idx_games_player1_created", columnList = "player1_id, created_at, id"),
+        @Index(name = "idx_games_player2_created", columnList = "player2_id, created_at, id")
+})
+// Only status, winner and finishedAt change, once, when the game finishes; finished games stay
+// valid in the cache until evicted
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "game")
 public class Game {
+    // Pooled sequence ids (IDENTITY would disable JDBC insert batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -47,6 +62,9 @@ public class Game {
     @Column(name = "double_out")
     private Boolean doubleOut = true;
 
+    @Column(name = "bot_level")
+    private Integer botLevel;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20)
     private GameStatus status = GameStatus.IN_PROGRESS;
@@ -61,9 +79,6 @@ public class Game {
     @Column(name = "finished_at")
     private LocalDateTime finishedAt;
 
-    @OneToOne(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private GameState gameState;
-
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Round> rounds;
 
@@ -73,6 +88,9 @@ public class Game {
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<GameStatistics> gameStatistics;
 
+    @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<GameStateSnapshot> snapshots;
+
     // Enums
     public enum GameType {
         X01, CRICKET, BOBS27
@@ -181,6 +199,14 @@ public class Game {
         this.doubleOut = doubleOut;
     }
 
+    public Integer getBotLevel() {
+        return botLevel;
+    }
+
+    public void setBotLevel(Integer botLevel) {
+        this.botLevel = botLevel;
+    }
+
     public GameStatus getStatus() {
         return status;
     }
@@ -216,14 +242,6 @@ public class Game {
         this.finishedAt = finishedAt;
     }
 
-    public GameState getGameState() {
-        return gameState;
-    }
-
-    public void setGameState(GameState gameState) {
-        this.gameState = gameState;
-    }
-
     public List<Round> getRounds() {
         return rounds;
     }
@@ -247,4 +265,12 @@ public class Game {
     public void setGameStatistics(List<GameStatistics> gameStatistics) {
         this.gameStatistics = gameStatistics;
     }
+
+    public List<GameStateSnapshot> getSnapshots() {
+        return snapshots;
+    }
+
+    public void setSnapshots(List<GameStateSnapshot> snapshots) {
+        this.snapshots = snapshots;
+    }
 }
\ No newline at end of file
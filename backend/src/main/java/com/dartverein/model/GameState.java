@@ -2,17 +2,24 @@ package com.dartverein.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "game_state")
 public class GameState {
+    // Pooled sequence ids (IDENTITY would disable JDBC insert batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_state_seq")
+    @SequenceGenerator(name = "game_state_seq", sequenceName = "game_state_seq", allocationSize = 50)
     private Long id;
 
+    // Not mapped back from Game: the inverse side of a one-to-one cannot be lazy, so every game
+    // load, even from the cache, would select its state. The database removes it with the game.
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     @NotNull
     private Game game;
 
@@ -53,6 +60,11 @@ public class GameState {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incremented with every stored change, also by ScoringService's bulk updates; part of the ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public enum CurrentPlayer {
         PLAYER1, PLAYER2
     }
@@ -185,6 +197,14 @@ public class GameState {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,101 @@
+package com.dartverein.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Engine state of a game after a number of visits. The game state is rebuilt from the
+ * latest snapshot plus the throws of the visits recorded after it.
+ */
+@Entity
+@Table(name = "game_state_snapshots",
+        indexes = @Index(name = "idx_snapshots_game_visits", columnList = "game_id, visit_count"))
+public class GameStateSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    @NotNull
+    private Game game;
+
+    // Number of visits (rounds) of the game included in the state
+    @Column(name = "visit_count", nullable = false)
+    @NotNull
+    private Integer visitCount;
+
+    // Engine snapshot as big-endian ints
+    @Column(name = "state", nullable = false, length = 1024)
+    @NotNull
+    private byte[] state;
+
+    // A manual correction: it replaces the state of the visits it includes, which can no longer be undone
+    @Column(name = "is_correction")
+    private Boolean isCorrection = false;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public GameStateSnapshot() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public GameStateSnapshot(Game game, Integer visitCount, byte[] state) {
+        this();
+        this.game = game;
+        this.visitCount = visitCount;
+        this.state = state;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    public Integer getVisitCount() {
+        return visitCount;
+    }
+
+    public void setVisitCount(Integer visitCount) {
+        this.visitCount = visitCount;
+    }
+
+    public byte[] getState() {
+        return state;
+    }
+
+    public void setState(byte[] state) {
+        this.state = state;
+    }
+
+    public Boolean getIsCorrection() {
+        return isCorrection;
+    }
+
+    public void setIsCorrection(Boolean isCorrection) {
+        this.isCorrection = isCorrection;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -3,11 +3,15 @@ package com.dartverein.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Email;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "players")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "player")
 public class Player {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +34,10 @@ public class Player {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // The shared opponent of VS_BOT games, see BotService
+    @Column(name = "is_bot")
+    private Boolean isBot = false;
+
     @OneToMany(mappedBy = "player1", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Game> gamesAsPlayer1;
 
@@ -103,6 +111,14 @@ public class Player {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public Boolean getIsBot() {
+        return isBot;
+    }
+
+    public void setIsBot(Boolean isBot) {
+        this.isBot = isBot;
+    }
+
     public List<Game> getGamesAsPlayer1() {
         return gamesAsPlayer1;
     }
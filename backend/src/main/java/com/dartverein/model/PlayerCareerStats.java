@@ -0,0 +1,185 @@
+package com.dartverein.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Career totals of a player over all finished games, one row per player. Added to when a game
+ * finishes and regenerated from game_statistics by a rebuild.
+ */
+@Entity
+@Table(name = "player_career_stats")
+public class PlayerCareerStats {
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(name = "games_played", nullable = false)
+    private Long gamesPlayed = 0L;
+
+    @Column(name = "games_won", nullable = false)
+    private Long gamesWon = 0L;
+
+    @Column(name = "total_darts_thrown", nullable = false)
+    private Long totalDartsThrown = 0L;
+
+    @Column(name = "total_score", nullable = false)
+    private Long totalScore = 0L;
+
+    // Sum of the per-game averages; the career average is their mean
+    @Column(name = "average_score_sum", precision = 12, scale = 2, nullable = false)
+    private BigDecimal averageScoreSum = BigDecimal.ZERO;
+
+    @Column(name = "highest_checkout", nullable = false)
+    private Integer highestCheckout = 0;
+
+    @Column(name = "count_180", nullable = false)
+    private Long count180 = 0L;
+
+    @Column(name = "count_140_plus", nullable = false)
+    private Long count140Plus = 0L;
+
+    @Column(name = "count_100_plus", nullable = false)
+    private Long count100Plus = 0L;
+
+    @Column(name = "count_60_plus", nullable = false)
+    private Long count60Plus = 0L;
+
+    @Column(name = "legs_won", nullable = false)
+    private Long legsWon = 0L;
+
+    @Column(name = "legs_lost", nullable = false)
+    private Long legsLost = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PlayerCareerStats() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public PlayerCareerStats(Long playerId) {
+        this();
+        this.playerId = playerId;
+    }
+
+    // Getters and Setters
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public Long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(Long gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public Long getGamesWon() {
+        return gamesWon;
+    }
+
+    public void setGamesWon(Long gamesWon) {
+        this.gamesWon = gamesWon;
+    }
+
+    public Long getTotalDartsThrown() {
+        return totalDartsThrown;
+    }
+
+    public void setTotalDartsThrown(Long totalDartsThrown) {
+        this.totalDartsThrown = totalDartsThrown;
+    }
+
+    public Long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(Long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public BigDecimal getAverageScoreSum() {
+        return averageScoreSum;
+    }
+
+    public void setAverageScoreSum(BigDecimal averageScoreSum) {
+        this.averageScoreSum = averageScoreSum;
+    }
+
+    public Integer getHighestCheckout() {
+        return highestCheckout;
+    }
+
+    public void setHighestCheckout(Integer highestCheckout) {
+        this.highestCheckout = highestCheckout;
+    }
+
+    public Long getCount180() {
+        return count180;
+    }
+
+    public void setCount180(Long count180) {
+        this.count180 = count180;
+    }
+
+    public Long getCount140Plus() {
+        return count140Plus;
+    }
+
+    public void setCount140Plus(Long count140Plus) {
+        this.count140Plus = count140Plus;
+    }
+
+    public Long getCount100Plus() {
+        return count100Plus;
+    }
+
+    public void setCount100Plus(Long count100Plus) {
+        this.count100Plus = count100Plus;
+    }
+
+    public Long getCount60Plus() {
+        return count60Plus;
+    }
+
+    public void setCount60Plus(Long count60Plus) {
+        this.count60Plus = count60Plus;
+    }
+
+    public Long getLegsWon() {
+        return legsWon;
+    }
+
+    public void setLegsWon(Long legsWon) {
+        this.legsWon = legsWon;
+    }
+
+    public Long getLegsLost() {
+        return legsLost;
+    }
+
+    public void setLegsLost(Long legsLost) {
+        this.legsLost = legsLost;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
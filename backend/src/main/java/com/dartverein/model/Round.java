@@ -6,10 +6,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "rounds")
+@Table(name = "rounds", uniqueConstraints = {
+        // A journaled visit is stored once, even when its flush is repeated after a crash
+        @UniqueConstraint(name = "uk_rounds_journal_sequence", columnNames = "journal_sequence")
+})
 public class Round {
+    // Pooled sequence ids (IDENTITY would disable JDBC insert batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "round_seq")
+    @SequenceGenerator(name = "round_seq", sequenceName = "round_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -49,6 +54,10 @@ public class Round {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Sequence of the visit's last record in the throw journal; null for rounds not written from the journal
+    @Column(name = "journal_sequence")
+    private Long journalSequence;
+
     @OneToMany(mappedBy = "round", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Throw> dartThrows;
 
@@ -155,6 +164,14 @@ public class Round {
         this.createdAt = createdAt;
     }
 
+    public Long getJournalSequence() {
+        return journalSequence;
+    }
+
+    public void setJournalSequence(Long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
     public List<Throw> getThrows() {
         return dartThrows;
     }
@@ -9,8 +9,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "throws")
 public class Throw {
+    // Pooled sequence ids (IDENTITY would disable JDBC insert batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "throw_seq")
+    @SequenceGenerator(name = "throw_seq", sequenceName = "throw_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,201 @@
+package com.dartverein.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * A knockout tournament: a seeded bracket of {@link TournamentMatch}es, each played as a {@link Game}
+ * with the tournament's settings on one of its boards.
+ */
+@Entity
+@Table(name = "tournaments")
+public class Tournament {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    @NotBlank
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "game_type", nullable = false, length = 50)
+    @NotNull
+    private Game.GameType gameType;
+
+    @Column(name = "start_score", nullable = false)
+    @NotNull
+    private Integer startScore;
+
+    @Column(name = "target_legs")
+    private Integer targetLegs = 0;
+
+    @Column(name = "target_sets")
+    private Integer targetSets = 0;
+
+    @Column(name = "double_in")
+    private Boolean doubleIn = false;
+
+    @Column(name = "double_out")
+    private Boolean doubleOut = true;
+
+    // Boards numbered 1..boards
+    @Column(nullable = false)
+    @NotNull
+    private Integer boards;
+
+    // Least time between a player's matches
+    @Column(name = "rest_seconds", nullable = false)
+    @NotNull
+    private Integer restSeconds = 0;
+
+    @Column(name = "player_count", nullable = false)
+    @NotNull
+    private Integer playerCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private TournamentStatus status = TournamentStatus.IN_PROGRESS;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    private Player winner;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum TournamentStatus {
+        IN_PROGRESS, FINISHED
+    }
+
+    // Constructors
+    public Tournament() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Game.GameType getGameType() {
+        return gameType;
+    }
+
+    public void setGameType(Game.GameType gameType) {
+        this.gameType = gameType;
+    }
+
+    public Integer getStartScore() {
+        return startScore;
+    }
+
+    public void setStartScore(Integer startScore) {
+        this.startScore = startScore;
+    }
+
+    public Integer getTargetLegs() {
+        return targetLegs;
+    }
+
+    public void setTargetLegs(Integer targetLegs) {
+        this.targetLegs = targetLegs;
+    }
+
+    public Integer getTargetSets() {
+        return targetSets;
+    }
+
+    public void setTargetSets(Integer targetSets) {
+        this.targetSets = targetSets;
+    }
+
+    public Boolean getDoubleIn() {
+        return doubleIn;
+    }
+
+    public void setDoubleIn(Boolean doubleIn) {
+        this.doubleIn = doubleIn;
+    }
+
+    public Boolean getDoubleOut() {
+        return doubleOut;
+    }
+
+    public void setDoubleOut(Boolean doubleOut) {
+        this.doubleOut = doubleOut;
+    }
+
+    public Integer getBoards() {
+        return boards;
+    }
+
+    public void setBoards(Integer boards) {
+        this.boards = boards;
+    }
+
+    public Integer getRestSeconds() {
+        return restSeconds;
+    }
+
+    public void setRestSeconds(Integer restSeconds) {
+        this.restSeconds = restSeconds;
+    }
+
+    public Integer getPlayerCount() {
+        return playerCount;
+    }
+
+    public void setPlayerCount(Integer playerCount) {
+        this.playerCount = playerCount;
+    }
+
+    public TournamentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TournamentStatus status) {
+        this.status = status;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+
+    public void setWinner(Player winner) {
+        this.winner = winner;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,182 @@
+package com.dartverein.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * A slot of a tournament bracket. Round 1 is the first round; the winner of the match at
+ * {@code position} moves on to position {@code position / 2} of the next round. The match is played
+ * as a game once both players are known, rested, and a board is free.
+ */
+@Entity
+@Table(name = "tournament_matches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tournament_matches_slot", columnNames = {"tournament_id", "round_number", "position"})
+}, indexes = {
+        @Index(name = "idx_tournament_matches_game", columnList = "game_id")
+})
+public class TournamentMatch {
+    // Pooled sequence ids (IDENTITY would disable JDBC insert batching)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tournament_match_seq")
+    @SequenceGenerator(name = "tournament_match_seq", sequenceName = "tournament_match_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    @NotNull
+    private Tournament tournament;
+
+    @Column(name = "round_number", nullable = false)
+    @NotNull
+    private Integer roundNumber;
+
+    @Column(nullable = false)
+    @NotNull
+    private Integer position;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player1_id")
+    private Player player1;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player2_id")
+    private Player player2;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    private Player winner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private MatchStatus status = MatchStatus.PENDING;
+
+    // Board the match is (or was) played on
+    private Integer board;
+
+    // Game the match is played as; a plain id, so that deleting games is not constrained by brackets
+    @Column(name = "game_id")
+    private Long gameId;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum MatchStatus {
+        // Waiting for the winners of the previous round
+        PENDING,
+        // Both players known, waiting for a board
+        READY,
+        PLAYING,
+        FINISHED
+    }
+
+    // Constructors
+    public TournamentMatch() {
+    }
+
+    public TournamentMatch(Tournament tournament, Integer roundNumber, Integer position) {
+        this.tournament = tournament;
+        this.roundNumber = roundNumber;
+        this.position = position;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Tournament getTournament() {
+        return tournament;
+    }
+
+    public void setTournament(Tournament tournament) {
+        this.tournament = tournament;
+    }
+
+    public Integer getRoundNumber() {
+        return roundNumber;
+    }
+
+    public void setRoundNumber(Integer roundNumber) {
+        this.roundNumber = roundNumber;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Player getPlayer1() {
+        return player1;
+    }
+
+    public void setPlayer1(Player player1) {
+        this.player1 = player1;
+    }
+
+    public Player getPlayer2() {
+        return player2;
+    }
+
+    public void setPlayer2(Player player2) {
+        this.player2 = player2;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+
+    public void setWinner(Player winner) {
+        this.winner = winner;
+    }
+
+    public MatchStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MatchStatus status) {
+        this.status = status;
+    }
+
+    public Integer getBoard() {
+        return board;
+    }
+
+    public void setBoard(Integer board) {
+        this.board = board;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
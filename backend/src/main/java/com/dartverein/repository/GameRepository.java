@@ -2,6 +2,7 @@ package com.dartverein.repository;
 
 import com.dartverein.model.Game;
 import com.dartverein.model.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,11 +15,26 @@ import java.util.Optional;
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
-    List<Game> findByPlayer1OrPlayer2OrderByCreatedAtDesc(Player player1, Player player2);
-    
-    List<Game> findByStatusOrderByCreatedAtDesc(Game.GameStatus status);
+    // The read queries below fetch the players with the game, so mapping a result to
+    // GameResponse runs no further statements
+    @Query("SELECT g FROM Game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 LEFT JOIN FETCH g.winner " +
+           "WHERE g.id = :id")
+    Optional<Game> findWithPlayersById(@Param("id") Long id);
+
+    @Query("SELECT g FROM Game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 LEFT JOIN FETCH g.winner " +
+           "ORDER BY g.createdAt DESC, g.id DESC")
+    List<Game> findAllWithPlayers(Pageable pageable);
+
+    @Query("SELECT g FROM Game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 LEFT JOIN FETCH g.winner " +
+           "WHERE g.player1.id = :playerId OR g.player2.id = :playerId ORDER BY g.createdAt DESC, g.id DESC")
+    List<Game> findAllWithPlayersByPlayer(@Param("playerId") Long playerId, Pageable pageable);
+
+    @Query("SELECT g FROM Game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 LEFT JOIN FETCH g.winner " +
+           "WHERE g.status = :status ORDER BY g.createdAt DESC")
+    List<Game> findByStatusOrderByCreatedAtDesc(@Param("status") Game.GameStatus status);
     
-    @Query("SELECT g FROM Game g WHERE g.status = 'IN_PROGRESS' AND (g.player1.id = :playerId OR g.player2.id = :playerId)")
+    @Query("SELECT g FROM Game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 LEFT JOIN FETCH g.winner " +
+           "WHERE g.status = 'IN_PROGRESS' AND (g.player1.id = :playerId OR g.player2.id = :playerId)")
     List<Game> findActiveGamesByPlayer(@Param("playerId") Long playerId);
     
     @Query("SELECT g FROM Game g WHERE g.createdAt BETWEEN :startDate AND :endDate ORDER BY g.createdAt DESC")
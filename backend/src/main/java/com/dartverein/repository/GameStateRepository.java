@@ -3,10 +3,12 @@ package com.dartverein.repository;
 import com.dartverein.model.GameState;
 import com.dartverein.model.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -18,8 +20,44 @@ public interface GameStateRepository extends JpaRepository<GameState, Long> {
     
     @Query("SELECT gs FROM GameState gs WHERE gs.game.id = :gameId")
     Optional<GameState> findGameStateByGameId(@Param("gameId") Long gameId);
+
+    // Fetches the game and its players with the state, for GameStateResponse
+    @Query("SELECT gs FROM GameState gs JOIN FETCH gs.game g JOIN FETCH g.player1 LEFT JOIN FETCH g.player2 " +
+           "LEFT JOIN FETCH g.winner WHERE g.id = :gameId")
+    Optional<GameState> findWithGameByGameId(@Param("gameId") Long gameId);
     
+    @Query("SELECT gs.version FROM GameState gs WHERE gs.game.id = :gameId")
+    Optional<Long> findVersionByGameId(@Param("gameId") Long gameId);
+
     void deleteByGame(Game game);
     
     void deleteByGameId(Long gameId);
+
+    // Writes the state at its in-memory version if the row is still at the version last written
+    @Modifying
+    @Query("UPDATE GameState gs SET gs.player1Score = :player1Score, gs.player2Score = :player2Score, " +
+           "gs.player1Legs = :player1Legs, gs.player2Legs = :player2Legs, " +
+           "gs.player1Sets = :player1Sets, gs.player2Sets = :player2Sets, " +
+           "gs.currentPlayer = :currentPlayer, gs.roundNumber = :roundNumber, " +
+           "gs.player1DartsThrown = :player1DartsThrown, gs.player2DartsThrown = :player2DartsThrown, " +
+           "gs.updatedAt = :updatedAt, gs.version = :version " +
+           "WHERE gs.game.id = :gameId AND gs.version = :writtenVersion")
+    int updateStateByGameId(@Param("gameId") Long gameId,
+                            @Param("player1Score") Integer player1Score,
+                            @Param("player2Score") Integer player2Score,
+                            @Param("player1Legs") Integer player1Legs,
+                            @Param("player2Legs") Integer player2Legs,
+                            @Param("player1Sets") Integer player1Sets,
+                            @Param("player2Sets") Integer player2Sets,
+                            @Param("currentPlayer") GameState.CurrentPlayer currentPlayer,
+                            @Param("roundNumber") Integer roundNumber,
+                            @Param("player1DartsThrown") Integer player1DartsThrown,
+                            @Param("player2DartsThrown") Integer player2DartsThrown,
+                            @Param("updatedAt") LocalDateTime updatedAt,
+                            @Param("version") Long version,
+                            @Param("writtenVersion") Long writtenVersion);
+
+    @Modifying
+    @Query("UPDATE GameState gs SET gs.version = gs.version + 1 WHERE gs.game.id = :gameId")
+    int incrementVersionByGameId(@Param("gameId") Long gameId);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.dartverein.repository;
+
+import com.dartverein.model.GameStateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GameStateSnapshotRepository extends JpaRepository<GameStateSnapshot, Long> {
+
+    Optional<GameStateSnapshot> findFirstByGameIdOrderByVisitCountDescIdDesc(Long gameId);
+
+    boolean existsByGameIdAndVisitCountAndIsCorrectionTrue(Long gameId, Integer visitCount);
+
+    @Modifying
+    @Query("DELETE FROM GameStateSnapshot s WHERE s.game.id = :gameId AND s.visitCount > :visitCount")
+    int deleteSnapshotsAfterVisit(@Param("gameId") Long gameId, @Param("visitCount") Integer visitCount);
+}
@@ -4,10 +4,14 @@ import com.dartverein.model.GameStatistics;
 import com.dartverein.model.Game;
 import com.dartverein.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,4 +54,61 @@ public interface GameStatisticsRepository extends JpaRepository<GameStatistics,
     
     @Query("SELECT COUNT(gs) FROM GameStatistics gs WHERE gs.player.id = :playerId")
     long countTotalGamesByPlayer(@Param("playerId") Long playerId);
-}
\ No newline at end of file
+
+    // Career rows: player id, games, wins, darts, score, sum of averages, highest checkout,
+    // 180s, 140+, 100+, 60+, legs won, legs lost
+    @Query("SELECT gs.player.id, 1L, CASE WHEN gs.isWinner = true THEN 1L ELSE 0L END, " +
+           "gs.totalDartsThrown, gs.totalScore, gs.averageScore, gs.highestCheckout, " +
+           "gs.count180, gs.count140Plus, gs.count100Plus, gs.count60Plus, gs.legsWon, gs.legsLost " +
+           "FROM GameStatistics gs WHERE gs.game.id = :gameId")
+    List<Object[]> getCareerRowsByGame(@Param("gameId") Long gameId);
+
+    @Query("SELECT gs.player.id, COUNT(gs), SUM(CASE WHEN gs.isWinner = true THEN 1L ELSE 0L END), " +
+           "SUM(gs.totalDartsThrown), SUM(gs.totalScore), SUM(gs.averageScore), MAX(gs.highestCheckout), " +
+           "SUM(gs.count180), SUM(gs.count140Plus), SUM(gs.count100Plus), SUM(gs.count60Plus), " +
+           "SUM(gs.legsWon), SUM(gs.legsLost) " +
+           "FROM GameStatistics gs WHERE gs.game.status = :status GROUP BY gs.player.id")
+    List<Object[]> getCareerRows(@Param("status") Game.GameStatus status);
+
+    @Query("SELECT gs.player.id, COUNT(gs), SUM(CASE WHEN gs.isWinner = true THEN 1L ELSE 0L END), " +
+           "SUM(gs.totalDartsThrown), SUM(gs.totalScore), SUM(gs.averageScore), MAX(gs.highestCheckout), " +
+           "SUM(gs.count180), SUM(gs.count140Plus), SUM(gs.count100Plus), SUM(gs.count60Plus), " +
+           "SUM(gs.legsWon), SUM(gs.legsLost) " +
+           "FROM GameStatistics gs WHERE gs.game.status = :status AND gs.player.id IN :playerIds GROUP BY gs.player.id")
+    List<Object[]> getCareerRowsByPlayers(@Param("status") Game.GameStatus status,
+                                          @Param("playerIds") Collection<Long> playerIds);
+
+    @Modifying
+    @Query("UPDATE GameStatistics gs SET gs.isWinner = CASE WHEN gs.player.id = :winnerId THEN true ELSE false END " +
+           "WHERE gs.game.id = :gameId")
+    int markWinner(@Param("gameId") Long gameId, @Param("winnerId") Long winnerId);
+
+    @Modifying
+    @Query("UPDATE GameStatistics gs SET gs.totalDartsThrown = :totalDartsThrown, gs.totalScore = :totalScore, " +
+           "gs.averageScore = :averageScore, gs.highestCheckout = :highestCheckout, " +
+           "gs.count180 = :count180, gs.count140Plus = :count140Plus, gs.count100Plus = :count100Plus, gs.count60Plus = :count60Plus, " +
+           "gs.countDoubles = :countDoubles, gs.countTriples = :countTriples, " +
+           "gs.countBullseyes = :countBullseyes, gs.countMisses = :countMisses, " +
+           "gs.legsWon = :legsWon, gs.legsLost = :legsLost, gs.setsWon = :setsWon, gs.setsLost = :setsLost, " +
+           "gs.isWinner = :isWinner, gs.updatedAt = :updatedAt WHERE gs.game.id = :gameId AND gs.player.id = :playerId")
+    int updateStatistics(@Param("gameId") Long gameId,
+                         @Param("playerId") Long playerId,
+                         @Param("totalDartsThrown") Integer totalDartsThrown,
+                         @Param("totalScore") Integer totalScore,
+                         @Param("averageScore") BigDecimal averageScore,
+                         @Param("highestCheckout") Integer highestCheckout,
+                         @Param("count180") Integer count180,
+                         @Param("count140Plus") Integer count140Plus,
+                         @Param("count100Plus") Integer count100Plus,
+                         @Param("count60Plus") Integer count60Plus,
+                         @Param("countDoubles") Integer countDoubles,
+                         @Param("countTriples") Integer countTriples,
+                         @Param("countBullseyes") Integer countBullseyes,
+                         @Param("countMisses") Integer countMisses,
+                         @Param("legsWon") Integer legsWon,
+                         @Param("legsLost") Integer legsLost,
+                         @Param("setsWon") Integer setsWon,
+                         @Param("setsLost") Integer setsLost,
+                         @Param("isWinner") Boolean isWinner,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,72 @@
+package com.dartverein.repository;
+
+import com.dartverein.model.PlayerCareerStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PlayerCareerStatsRepository extends JpaRepository<PlayerCareerStats, Long> {
+
+    // Summary rows: player id, name, games played, games won, sum of averages, highest checkout,
+    // 180s, 140+, 100+, legs won, legs lost (career columns are null without finished games)
+    @Query("SELECT p.id, p.name, c.gamesPlayed, c.gamesWon, c.averageScoreSum, c.highestCheckout, " +
+           "c.count180, c.count140Plus, c.count100Plus, c.legsWon, c.legsLost " +
+           "FROM Player p LEFT JOIN PlayerCareerStats c ON c.playerId = p.id WHERE p.id = :playerId")
+    List<Object[]> findSummaryRow(@Param("playerId") Long playerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p.id, p.name, c.gamesPlayed, c.gamesWon, c.averageScoreSum, c.highestCheckout, " +
+           "c.count180, c.count140Plus, c.count100Plus, c.legsWon, c.legsLost " +
+           "FROM Player p LEFT JOIN PlayerCareerStats c ON c.playerId = p.id WHERE p.id IN :playerIds ORDER BY p.name")
+    Stream<Object[]> streamSummaryRows(@Param("playerIds") Collection<Long> playerIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p.id, p.name, c.gamesPlayed, c.gamesWon, c.averageScoreSum, c.highestCheckout, " +
+           "c.count180, c.count140Plus, c.count100Plus, c.legsWon, c.legsLost " +
+           "FROM Player p LEFT JOIN PlayerCareerStats c ON c.playerId = p.id WHERE p.isActive = true ORDER BY p.name")
+    Stream<Object[]> streamActiveSummaryRows();
+
+    @Modifying
+    @Query("UPDATE PlayerCareerStats c SET c.gamesPlayed = c.gamesPlayed + :games, c.gamesWon = c.gamesWon + :wins, " +
+           "c.totalDartsThrown = c.totalDartsThrown + :darts, c.totalScore = c.totalScore + :score, " +
+           "c.averageScoreSum = c.averageScoreSum + :averageScore, " +
+           "c.highestCheckout = CASE WHEN c.highestCheckout < :checkout THEN :checkout ELSE c.highestCheckout END, " +
+           "c.count180 = c.count180 + :count180, c.count140Plus = c.count140Plus + :count140Plus, " +
+           "c.count100Plus = c.count100Plus + :count100Plus, c.count60Plus = c.count60Plus + :count60Plus, " +
+           "c.legsWon = c.legsWon + :legsWon, c.legsLost = c.legsLost + :legsLost, c.updatedAt = :updatedAt " +
+           "WHERE c.playerId = :playerId")
+    int addToCareer(@Param("playerId") Long playerId,
+                    @Param("games") Long games,
+                    @Param("wins") Long wins,
+                    @Param("darts") Long darts,
+                    @Param("score") Long score,
+                    @Param("averageScore") BigDecimal averageScore,
+                    @Param("checkout") Integer checkout,
+                    @Param("count180") Long count180,
+                    @Param("count140Plus") Long count140Plus,
+                    @Param("count100Plus") Long count100Plus,
+                    @Param("count60Plus") Long count60Plus,
+                    @Param("legsWon") Long legsWon,
+                    @Param("legsLost") Long legsLost,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM PlayerCareerStats c")
+    int deleteAllCareerStats();
+
+    @Modifying
+    @Query("DELETE FROM PlayerCareerStats c WHERE c.playerId IN :playerIds")
+    int deleteCareerStatsByPlayerIds(@Param("playerIds") Collection<Long> playerIds);
+}
@@ -1,8 +1,11 @@
 package com.dartverein.repository;
 
 import com.dartverein.model.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,10 +18,14 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     Optional<Player> findByName(String name);
     
     List<Player> findByIsActiveTrue();
+
+    Optional<Player> findFirstByIsBotTrueOrderByIdAsc();
     
     List<Player> findByNameContainingIgnoreCase(String name);
     
+    // Cached until a write to the players table; the players themselves come from the player region
     @Query("SELECT p FROM Player p WHERE p.isActive = true ORDER BY p.name ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Player> findAllActivePlayersOrderByName();
     
     @Query("SELECT COUNT(p) FROM Player p WHERE p.isActive = true")
@@ -3,11 +3,13 @@ package com.dartverein.repository;
 import com.dartverein.model.Round;
 import com.dartverein.model.Game;
 import com.dartverein.model.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +26,24 @@ public interface RoundRepository extends JpaRepository<Round, Long> {
     @Query("SELECT r FROM Round r WHERE r.game.id = :gameId AND r.player.id = :playerId ORDER BY r.roundNumber ASC")
     List<Round> findRoundsByGameIdAndPlayerId(@Param("gameId") Long gameId, @Param("playerId") Long playerId);
     
+    @Query("SELECT r.id FROM Round r WHERE r.game.id = :gameId ORDER BY r.id ASC")
+    List<Long> findRoundIdsByGameId(@Param("gameId") Long gameId, Pageable pageable);
+
+    @Query("SELECT r.id FROM Round r WHERE r.game.id = :gameId ORDER BY r.id DESC")
+    List<Long> findLatestRoundIdsByGameId(@Param("gameId") Long gameId, Pageable pageable);
+
     @Query("SELECT MAX(r.roundNumber) FROM Round r WHERE r.game.id = :gameId")
     Optional<Integer> findMaxRoundNumberByGameId(@Param("gameId") Long gameId);
     
     @Query("SELECT r FROM Round r WHERE r.game.id = :gameId AND r.player.id = :playerId AND r.roundNumber = :roundNumber")
     Optional<Round> findByGameIdPlayerIdAndRoundNumber(@Param("gameId") Long gameId, @Param("playerId") Long playerId, @Param("roundNumber") Integer roundNumber);
     
+    @Query("SELECT r.journalSequence FROM Round r WHERE r.journalSequence IN :sequences")
+    List<Long> findStoredJournalSequences(@Param("sequences") Collection<Long> sequences);
+
+    @Query("SELECT MAX(r.journalSequence) FROM Round r")
+    Optional<Long> findMaxJournalSequence();
+
     @Query("SELECT COUNT(r) FROM Round r WHERE r.player.id = :playerId AND r.isCheckout = true")
     long countCheckoutsByPlayer(@Param("playerId") Long playerId);
     
@@ -23,6 +23,16 @@ public interface ThrowRepository extends JpaRepository<Throw, Long> {
     @Query("SELECT t FROM Throw t WHERE t.game.id = :gameId ORDER BY t.round.roundNumber ASC, t.dartNumber ASC")
     List<Throw> findThrowsByGameId(@Param("gameId") Long gameId);
     
+    @Query("SELECT t FROM Throw t WHERE t.game.id = :gameId ORDER BY t.round.id ASC, t.dartNumber ASC")
+    List<Throw> findThrowsByGameIdInThrowOrder(@Param("gameId") Long gameId);
+
+    @Query("SELECT t FROM Throw t WHERE t.game.id = :gameId AND t.round.id > :roundId ORDER BY t.round.id ASC, t.dartNumber ASC")
+    List<Throw> findThrowsByGameIdAfterRound(@Param("gameId") Long gameId, @Param("roundId") Long roundId);
+
+    @Query("SELECT t.player.id, r.id, t.segment, t.multiplier, r.totalThrown, r.isCheckout FROM Throw t JOIN t.round r " +
+           "WHERE t.game.id = :gameId ORDER BY r.id ASC, t.dartNumber ASC")
+    List<Object[]> findDartsByGameId(@Param("gameId") Long gameId);
+    
     @Query("SELECT t FROM Throw t WHERE t.round.id = :roundId ORDER BY t.dartNumber ASC")
     List<Throw> findThrowsByRoundId(@Param("roundId") Long roundId);
     
@@ -43,4 +53,10 @@ public interface ThrowRepository extends JpaRepository<Throw, Long> {
     
     @Query("SELECT MAX(t.score) FROM Throw t WHERE t.player.id = :playerId")
     Integer getHighestScoreByPlayer(@Param("playerId") Long playerId);
+    
+    @Query("SELECT r.roundNumber, COUNT(t), " +
+           "SUM(CASE WHEN t.multiplier = 2 AND (t.segment = r.roundNumber OR (r.roundNumber = 21 AND t.segment = 25)) THEN 1 ELSE 0 END) " +
+           "FROM Throw t JOIN t.round r WHERE t.player.id = :playerId AND t.game.gameType = 'BOBS27' " +
+           "GROUP BY r.roundNumber")
+    List<Object[]> getBobs27AccuracyByPlayer(@Param("playerId") Long playerId);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.dartverein.repository;
+
+import com.dartverein.model.TournamentMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TournamentMatchRepository extends JpaRepository<TournamentMatch, Long> {
+
+    @Query("SELECT m FROM TournamentMatch m WHERE m.tournament.id = :tournamentId ORDER BY m.roundNumber, m.position")
+    List<TournamentMatch> findByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @Query("SELECT m FROM TournamentMatch m LEFT JOIN FETCH m.player1 LEFT JOIN FETCH m.player2 LEFT JOIN FETCH m.winner " +
+           "WHERE m.tournament.id = :tournamentId ORDER BY m.roundNumber, m.position")
+    List<TournamentMatch> findWithPlayersByTournamentId(@Param("tournamentId") Long tournamentId);
+}
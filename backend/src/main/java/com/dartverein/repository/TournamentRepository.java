@@ -0,0 +1,22 @@
+package com.dartverein.repository;
+
+import com.dartverein.model.Tournament;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+
+    @Query("SELECT t FROM Tournament t LEFT JOIN FETCH t.winner WHERE t.id = :id")
+    Optional<Tournament> findWithWinnerById(@Param("id") Long id);
+
+    @Query("SELECT t FROM Tournament t LEFT JOIN FETCH t.winner ORDER BY t.createdAt DESC, t.id DESC")
+    List<Tournament> findAllWithWinner();
+
+    List<Tournament> findByStatus(Tournament.TournamentStatus status);
+}
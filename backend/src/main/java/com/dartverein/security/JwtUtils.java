@@ -3,49 +3,121 @@ package com.dartverein.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies the JWTs. A token carries the user's id, email and roles, so a request is
+ * authenticated from the token alone, without reading the users table.
+ */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${dartverein.app.jwtSecret:dartvereinSecretKey}")
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLES = "roles";
+
+    @Value("${dartverein.app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${dartverein.app.jwtExpirationMs:86400000}")
     private int jwtExpirationMs;
 
+    // Verified tokens kept until they expire; 0 verifies every request
+    @Value("${dartverein.app.jwtCacheSize:10000}")
+    private int jwtCacheSize;
+
+    private Key key;
+    private JwtParser parser;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        try {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        } catch (WeakKeyException e) {
+            throw new IllegalStateException("dartverein.app.jwtSecret must be a base64 encoded key of at least 256 bits", e);
+        }
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
+    /**
+     * Verifies the token once and returns the user it was issued to; empty if the token is invalid,
+     * expired or was issued without the user claims.
+     */
+    public Optional<UserPrincipal> getPrincipal(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return Optional.of(cached.principal);
+            }
+            verifiedTokens.remove(token);
+        }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            logger.error("JWT token has no user id claim");
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (roles != null) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role.toString()));
+            }
+        }
+        UserPrincipal principal = new UserPrincipal(userId.longValue(), claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class), null, authorities);
+        if (claims.getExpiration() != null) {
+            cache(token, new VerifiedToken(principal, claims.getExpiration().getTime()), now);
+        }
+        return Optional.of(principal);
     }
 
-    public boolean validateJwtToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return parser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -54,8 +126,27 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    private void cache(String token, VerifiedToken verified, long now) {
+        if (jwtCacheSize <= 0) {
+            return;
         }
+        if (verifiedTokens.size() >= jwtCacheSize) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt <= now);
+            if (verifiedTokens.size() >= jwtCacheSize) {
+                // Full of live tokens; this one is verified again on its next request
+                return;
+            }
+        }
+        verifiedTokens.put(token, verified);
+    }
 
-        return false;
+    private record VerifiedToken(UserPrincipal principal, long expiresAt) {
     }
-}
\ No newline at end of file
+}
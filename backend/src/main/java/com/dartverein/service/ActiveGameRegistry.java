@@ -0,0 +1,227 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.PlayerResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The games in progress, sharded by game id. Every game in progress is listed with its
+ * {@link GameResponse}; the loaded value (engine and state) is only attached while the game is used.
+ * Loaded values are kept in access order per shard, so that the ones idle for longer than the time
+ * to live, and the least recently used beyond the capacity, can be handed back for unloading.
+ * <p>
+ * Each shard is guarded by its own monitor; nothing else is done while it is held.
+ */
+public final class ActiveGameRegistry<V> {
+
+    private static final Comparator<GameResponse> NEWEST_FIRST = Comparator
+            .comparing(GameResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(GameResponse::getId, Comparator.reverseOrder());
+
+    private final List<Shard<V>> shards;
+    private final int mask;
+    private final int maxLoadedPerShard;
+    private final long ttlNanos;
+
+    public ActiveGameRegistry(int shardCount, int maxLoaded, long ttlMillis) {
+        int size = Integer.highestOneBit(Math.max(shardCount, 1) * 2 - 1);
+        shards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shards.add(new Shard<>());
+        }
+        mask = size - 1;
+        maxLoadedPerShard = Math.max(maxLoaded / size, 1);
+        ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Lists a game as in progress, or replaces its listing.
+     */
+    public void add(GameResponse game) {
+        Shard<V> shard = shard(game.getId());
+        synchronized (shard) {
+            shard.games.put(game.getId(), game);
+        }
+    }
+
+    public boolean contains(Long gameId) {
+        Shard<V> shard = shard(gameId);
+        synchronized (shard) {
+            return shard.games.containsKey(gameId);
+        }
+    }
+
+    /**
+     * Removes the game and returns its loaded value, if any.
+     */
+    public V remove(Long gameId) {
+        Shard<V> shard = shard(gameId);
+        synchronized (shard) {
+            shard.games.remove(gameId);
+            Loaded<V> loaded = shard.loaded.remove(gameId);
+            return loaded != null ? loaded.value : null;
+        }
+    }
+
+    /**
+     * The loaded value of a game, counted as a use; null if it is not loaded.
+     */
+    public V get(Long gameId) {
+        Shard<V> shard = shard(gameId);
+        synchronized (shard) {
+            Loaded<V> loaded = shard.loaded.get(gameId);
+            if (loaded == null) {
+                return null;
+            }
+            loaded.lastUsed = System.nanoTime();
+            return loaded.value;
+        }
+    }
+
+    /**
+     * Attaches a loaded value to the game, which is listed with {@code game} if it was not.
+     *
+     * @return the least recently used game of the shard if it is now over capacity, to be unloaded; otherwise null
+     */
+    public Long load(GameResponse game, V value) {
+        Shard<V> shard = shard(game.getId());
+        synchronized (shard) {
+            shard.games.putIfAbsent(game.getId(), game);
+            shard.loaded.put(game.getId(), new Loaded<>(value, System.nanoTime()));
+            if (shard.loaded.size() <= maxLoadedPerShard) {
+                return null;
+            }
+            return shard.loaded.keySet().iterator().next();
+        }
+    }
+
+    /**
+     * Detaches the loaded value and returns it; the game stays listed.
+     */
+    public V unload(Long gameId) {
+        Shard<V> shard = shard(gameId);
+        synchronized (shard) {
+            Loaded<V> loaded = shard.loaded.remove(gameId);
+            return loaded != null ? loaded.value : null;
+        }
+    }
+
+    /**
+     * Whether the game is loaded and has not been used for the time to live.
+     */
+    public boolean isIdle(Long gameId) {
+        long cutoff = System.nanoTime() - ttlNanos;
+        Shard<V> shard = shard(gameId);
+        synchronized (shard) {
+            Loaded<V> loaded = shard.loaded.get(gameId);
+            return loaded != null && loaded.lastUsed - cutoff <= 0;
+        }
+    }
+
+    /**
+     * The loaded games not used for the time to live.
+     */
+    public List<Long> idle() {
+        long cutoff = System.nanoTime() - ttlNanos;
+        List<Long> idle = new ArrayList<>();
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                for (Map.Entry<Long, Loaded<V>> entry : shard.loaded.entrySet()) {
+                    if (entry.getValue().lastUsed - cutoff <= 0) {
+                        idle.add(entry.getKey());
+                    }
+                }
+            }
+        }
+        return idle;
+    }
+
+    public List<V> loaded() {
+        List<V> values = new ArrayList<>();
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                for (Loaded<V> loaded : shard.loaded.values()) {
+                    values.add(loaded.value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The games in progress, newest first.
+     */
+    public List<GameResponse> games() {
+        List<GameResponse> games = new ArrayList<>();
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                games.addAll(shard.games.values());
+            }
+        }
+        games.sort(NEWEST_FIRST);
+        return games;
+    }
+
+    public List<GameResponse> gamesOfPlayer(Long playerId) {
+        List<GameResponse> games = new ArrayList<>();
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                for (GameResponse game : shard.games.values()) {
+                    if (isPlayer(game.getPlayer1(), playerId) || isPlayer(game.getPlayer2(), playerId)) {
+                        games.add(game);
+                    }
+                }
+            }
+        }
+        games.sort(NEWEST_FIRST);
+        return games;
+    }
+
+    /**
+     * Replaces the listings of the games the player plays with copies showing the updated player.
+     * Listings are never changed in place, as readers hold on to them outside of the shard's monitor.
+     */
+    public void updatePlayer(PlayerResponse player) {
+        for (Shard<V> shard : shards) {
+            synchronized (shard) {
+                for (Map.Entry<Long, GameResponse> entry : shard.games.entrySet()) {
+                    GameResponse game = entry.getValue();
+                    if (isPlayer(game.getPlayer1(), player.getId()) || isPlayer(game.getPlayer2(), player.getId())) {
+                        entry.setValue(game.withPlayer(player));
+                    }
+                }
+            }
+        }
+    }
+
+    private Shard<V> shard(Long gameId) {
+        long h = gameId * 0x9E3779B97F4A7C15L;
+        return shards.get((int) (h ^ (h >>> 32)) & mask);
+    }
+
+    private static boolean isPlayer(PlayerResponse player, Long playerId) {
+        return player != null && player.getId().equals(playerId);
+    }
+
+    private static final class Shard<V> {
+        private final Map<Long, GameResponse> games = new HashMap<>();
+        // Access order: least recently used first
+        private final LinkedHashMap<Long, Loaded<V>> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class Loaded<V> {
+        private final V value;
+        private long lastUsed;
+
+        private Loaded(V value, long lastUsed) {
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
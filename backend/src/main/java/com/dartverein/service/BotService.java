@@ -0,0 +1,104 @@
+package com.dartverein.service;
+
+import com.dartverein.model.Player;
+import com.dartverein.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bot visits for VS_BOT games on a small shared scheduler instead of a thread per game.
+ */
+@Service
+public class BotService {
+    private static final Logger logger = LoggerFactory.getLogger(BotService.class);
+
+    public static final String BOT_PLAYER_NAME = "Dart Bot";
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Lazy
+    @Autowired
+    private ScoringService scoringService;
+
+    @Value("${dartverein.bot.turnDelayMs:800}")
+    private long turnDelayMs;
+
+    @Value("${dartverein.bot.threads:2}")
+    private int threads;
+
+    // Games with a visit waiting on the scheduler, so that a game never has two
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "bot-turn-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the shared (inactive, so it stays out of player lists) player row used as opponent in VS_BOT games,
+     * recognised by its is_bot flag rather than by its name, which a player could also choose.
+     */
+    public synchronized Player getBotPlayer() {
+        return playerRepository.findFirstByIsBotTrueOrderByIdAsc().orElseGet(() -> {
+            // Before the flag existed the bot was this inactive player without an email address
+            Player bot = playerRepository.findByName(BOT_PLAYER_NAME)
+                    .filter(player -> !Boolean.TRUE.equals(player.getIsActive()) && player.getEmail() == null)
+                    .orElseGet(() -> new Player(BOT_PLAYER_NAME, null));
+            bot.setIsActive(false);
+            bot.setIsBot(true);
+            return playerRepository.save(bot);
+        });
+    }
+
+    /**
+     * Schedules the bot's next visit unless the game already has one waiting.
+     */
+    public void scheduleTurn(Long gameId) {
+        if (scheduled.add(gameId)) {
+            scheduler.schedule(() -> playTurn(gameId), turnDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Called from the game's mailbox when the scheduled visit starts, so that it can schedule the next one.
+     */
+    void turnStarted(Long gameId) {
+        scheduled.remove(gameId);
+    }
+
+    private void playTurn(Long gameId) {
+        try {
+            scoringService.playBotTurn(gameId);
+        } catch (Exception e) {
+            // The visit may not have started; let the next load or dart schedule it again
+            scheduled.remove(gameId);
+            logger.error("Bot turn failed for game {}: {}", gameId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.dartverein.service;
+
+import com.dartverein.config.BoundedCacheRegionFactory;
+import com.dartverein.config.BoundedStorageAccess;
+import com.dartverein.dto.CacheRegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hit and miss counts of the second-level cache regions, for sizing them.
+ */
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (!(regionFactory instanceof BoundedCacheRegionFactory bounded)) {
+            return List.of();
+        }
+
+        List<CacheRegionStatistics> statistics = new ArrayList<>();
+        for (BoundedStorageAccess region : bounded.getRegions()) {
+            CacheRegionStatistics regionStatistics = new CacheRegionStatistics(region.getRegionName());
+            regionStatistics.setSize(region.size());
+            regionStatistics.setMaxEntries(region.getMaxEntries());
+            regionStatistics.setTtlSeconds(region.getTtlSeconds());
+            regionStatistics.setHits(region.getHits());
+            regionStatistics.setMisses(region.getMisses());
+            regionStatistics.setPuts(region.getPuts());
+            regionStatistics.setEvictions(region.getEvictions());
+            regionStatistics.setExpirations(region.getExpirations());
+            statistics.add(regionStatistics);
+        }
+        statistics.sort(Comparator.comparing(CacheRegionStatistics::getRegion));
+        return statistics;
+    }
+}
@@ -0,0 +1,127 @@
+package com.dartverein.service;
+
+import com.dartverein.model.Game;
+import com.dartverein.model.PlayerCareerStats;
+import com.dartverein.repository.GameStatisticsRepository;
+import com.dartverein.repository.PlayerCareerStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains player_career_stats. A finished game's game_statistics rows are added to the
+ * players' career rows in the transaction that finishes it; {@link #rebuild()} regenerates
+ * the table from every finished game.
+ */
+@Service
+public class CareerStatisticsService {
+    private static final Logger logger = LoggerFactory.getLogger(CareerStatisticsService.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private GameStatisticsRepository gameStatisticsRepository;
+
+    @Autowired
+    private PlayerCareerStatsRepository careerStatsRepository;
+
+    @Autowired
+    private PlayerStatisticsService playerStatisticsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds a game that has just finished. Must be called once per game, after its
+     * statistics rows have been written.
+     */
+    @Transactional
+    public void recordFinishedGame(Long gameId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : gameStatisticsRepository.getCareerRowsByGame(gameId)) {
+            Long playerId = (Long) row[0];
+            int updated = careerStatsRepository.addToCareer(playerId,
+                    longValue(row[1]), longValue(row[2]), longValue(row[3]), longValue(row[4]),
+                    decimalValue(row[5]), (int) longValue(row[6]),
+                    longValue(row[7]), longValue(row[8]), longValue(row[9]), longValue(row[10]),
+                    longValue(row[11]), longValue(row[12]), now);
+            if (updated == 0) {
+                careerStatsRepository.save(toCareerStats(row));
+            }
+            playerStatisticsService.evict(playerId);
+        }
+    }
+
+    /**
+     * Regenerates the whole table from the statistics of all finished games.
+     *
+     * @return the number of players with a career row
+     */
+    @Transactional
+    public int rebuild() {
+        careerStatsRepository.deleteAllCareerStats();
+        int count = insert(gameStatisticsRepository.getCareerRows(Game.GameStatus.FINISHED));
+        playerStatisticsService.evictAll();
+        logger.info("Rebuilt career statistics of {} players", count);
+        return count;
+    }
+
+    /**
+     * Regenerates the rows of some players, e.g. after one of their finished games was deleted.
+     */
+    @Transactional
+    public void rebuildPlayers(Collection<Long> playerIds) {
+        careerStatsRepository.deleteCareerStatsByPlayerIds(playerIds);
+        insert(gameStatisticsRepository.getCareerRowsByPlayers(Game.GameStatus.FINISHED, playerIds));
+        for (Long playerId : playerIds) {
+            playerStatisticsService.evict(playerId);
+        }
+    }
+
+    private int insert(List<Object[]> rows) {
+        int count = 0;
+        for (Object[] row : rows) {
+            entityManager.persist(toCareerStats(row));
+            if (++count % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return count;
+    }
+
+    // Column order of the GameStatisticsRepository career queries
+    private static PlayerCareerStats toCareerStats(Object[] row) {
+        PlayerCareerStats stats = new PlayerCareerStats((Long) row[0]);
+        stats.setGamesPlayed(longValue(row[1]));
+        stats.setGamesWon(longValue(row[2]));
+        stats.setTotalDartsThrown(longValue(row[3]));
+        stats.setTotalScore(longValue(row[4]));
+        stats.setAverageScoreSum(decimalValue(row[5]));
+        stats.setHighestCheckout((int) longValue(row[6]));
+        stats.setCount180(longValue(row[7]));
+        stats.setCount140Plus(longValue(row[8]));
+        stats.setCount100Plus(longValue(row[9]));
+        stats.setCount60Plus(longValue(row[10]));
+        stats.setLegsWon(longValue(row[11]));
+        stats.setLegsLost(longValue(row[12]));
+        return stats;
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal decimalValue(Object value) {
+        return value != null ? (BigDecimal) value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,100 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameBatchRequest;
+import com.dartverein.model.Game;
+import com.dartverein.model.GameState;
+import com.dartverein.model.GameStatistics;
+import com.dartverein.model.Player;
+import com.dartverein.repository.PlayerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk creation of games, e.g. for a club night. Games, states and statistics rows use pooled
+ * sequence ids, so their inserts are sent as JDBC batches (hibernate.jdbc.batch_size) within one
+ * transaction: either every game of a batch is created or none.
+ */
+@Service
+public class GameCreationService {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private BotService botService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates one game per pairing, in their order; the games' players are attached to the returned games.
+     *
+     * @throws IllegalArgumentException if a player does not exist
+     */
+    @Transactional
+    public List<Game> createGames(GameBatchRequest request) {
+        Set<Long> playerIds = new HashSet<>();
+        for (GameBatchRequest.Pairing pairing : request.getPairings()) {
+            playerIds.add(pairing.getPlayer1Id());
+            if (pairing.getPlayer2Id() != null) {
+                playerIds.add(pairing.getPlayer2Id());
+            }
+        }
+        Map<Long, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerIds)) {
+            players.put(player.getId(), player);
+        }
+
+        boolean vsBot = request.getGameMode() == Game.GameMode.VS_BOT;
+        Player bot = null;
+        List<Game> games = new ArrayList<>(request.getPairings().size());
+        for (GameBatchRequest.Pairing pairing : request.getPairings()) {
+            Player player1 = player(players, pairing.getPlayer1Id());
+            Player player2 = null;
+            if (pairing.getPlayer2Id() != null) {
+                player2 = player(players, pairing.getPlayer2Id());
+            } else if (vsBot) {
+                if (bot == null) {
+                    bot = botService.getBotPlayer();
+                }
+                player2 = bot;
+            }
+
+            Game game = new Game(player1, player2, request.getGameType(), request.getGameMode(), request.getStartScore());
+            game.setTargetLegs(request.getTargetLegs());
+            game.setTargetSets(request.getTargetSets());
+            game.setDoubleIn(request.getDoubleIn());
+            game.setDoubleOut(request.getDoubleOut());
+            if (vsBot) {
+                game.setBotLevel(request.getBotLevel());
+            }
+            entityManager.persist(game);
+            entityManager.persist(new GameState(game, request.getStartScore()));
+            entityManager.persist(new GameStatistics(game, player1));
+            if (player2 != null) {
+                entityManager.persist(new GameStatistics(game, player2));
+            }
+            games.add(game);
+        }
+        entityManager.flush();
+        return games;
+    }
+
+    private static Player player(Map<Long, Player> players, Long playerId) {
+        Player player = players.get(playerId);
+        if (player == null) {
+            throw new IllegalArgumentException("Player " + playerId + " does not exist");
+        }
+        return player;
+    }
+}
@@ -0,0 +1,490 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.GameStateResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends WebSocket clients of a game only the state fields that changed, as numbered deltas:
+ * {@code {"type":"delta","version":7,"score1":441,"darts1":1}}. A client starts from a
+ * {@code snapshot} with every field, the id of the game's delta stream and its version. After a
+ * reconnect it asks to resume from the stream and version it has; the deltas it missed are resent
+ * from a short history, otherwise it gets a new snapshot.
+ * <p>
+ * A game's stream exists while clients are connected and for {@code retainMs} after the last one
+ * left, so that a reconnect can resume it; games nobody watches cost nothing. Deltas are queued
+ * per client and written by a few shared threads; a client whose queue is full is disconnected.
+ * <p>
+ * Changes recorded in a transaction are collected with it and only become deltas when it
+ * commits; a rolled back transaction's changes are dropped, so no client nor the history sees them.
+ */
+@Service
+public class GameDeltaService {
+    private static final Logger logger = LoggerFactory.getLogger(GameDeltaService.class);
+
+    private static final String PEER = GameDeltaService.class.getName() + ".peer";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dartverein.ws.bufferSize:64}")
+    private int bufferSize;
+
+    @Value("${dartverein.ws.historySize:256}")
+    private int historySize;
+
+    @Value("${dartverein.ws.threads:2}")
+    private int threads;
+
+    @Value("${dartverein.ws.retainMs:60000}")
+    private long retainMs;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * The fields of a delta, in the order they are written.
+     */
+    private enum Field {
+        SCORE1("score1"), SCORE2("score2"),
+        LEGS1("legs1"), LEGS2("legs2"),
+        SETS1("sets1"), SETS2("sets2"),
+        DARTS1("darts1"), DARTS2("darts2"),
+        PLAYER("player"), ROUND("round"),
+        STATUS("status"), WINNER("winner");
+
+        private static final Field[] ALL = values();
+
+        private final String key;
+
+        Field(String key) {
+            this.key = key;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "game-delta-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMs = Math.max(retainMs, 1000);
+        executor.scheduleAtFixedRate(this::dropIdleChannels, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Connects a client to a game. {@code current} must be read in the game's mailbox with this
+     * call (see {@link ScoringService#withCurrentState}), so that no change falls between it and
+     * the first delta. The client resumes {@code stream} after {@code version} if it can.
+     */
+    public void join(Long gameId, Session session, GameStateResponse current, Long stream, Long version) {
+        Object[] values = values(current);
+        while (true) {
+            Channel channel = channels.computeIfAbsent(gameId, id -> new Channel(id, values));
+            synchronized (channel) {
+                if (channel.closed) {
+                    // Dropped as idle right after it was looked up
+                    continue;
+                }
+                // The current state is committed, so a difference is sent right away
+                if (change(channel, values)) {
+                    deliver(channel);
+                }
+                Peer peer = new Peer(channel, session);
+                session.getUserProperties().put(PEER, peer);
+                channel.peers.add(peer);
+                channel.idleSince = 0;
+                resume(channel, peer, stream, version);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Resends what a connected client missed after {@code version} of {@code stream}, or a snapshot.
+     */
+    public void resync(Session session, Long stream, Long version) {
+        Peer peer = peer(session);
+        if (peer == null) {
+            return;
+        }
+        synchronized (peer.channel) {
+            resume(peer.channel, peer, stream, version);
+        }
+    }
+
+    public void leave(Session session) {
+        Peer peer = (Peer) session.getUserProperties().remove(PEER);
+        if (peer != null) {
+            peer.leave();
+        }
+    }
+
+    /**
+     * Sends an error to one client, e.g. for a rejected dart.
+     */
+    public void error(Session session, int code, String message, Long requestId) {
+        Peer peer = peer(session);
+        if (peer == null) {
+            return;
+        }
+        ObjectNode error = objectMapper.createObjectNode()
+                .put("type", "error")
+                .put("code", code)
+                .put("message", message);
+        if (requestId != null) {
+            error.put("id", requestId);
+        }
+        try {
+            peer.offer(objectMapper.writeValueAsString(error));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize error", e);
+        }
+    }
+
+    /**
+     * Records a changed state; called in the game's mailbox, so that the versions follow the order
+     * of the changes. The delta is made and sent once the current transaction commits.
+     */
+    public void record(GameStateResponse state) {
+        Object[] values = values(state);
+        recordAfterCommit(state.getGame().getId(), current -> values);
+    }
+
+    public void recordFinished(GameResponse game) {
+        Object status = game.getStatus();
+        Object winner = game.getWinner() != null ? game.getWinner().getId() : null;
+        recordAfterCommit(game.getId(), current -> {
+            Object[] values = current.clone();
+            values[Field.STATUS.ordinal()] = status;
+            values[Field.WINNER.ordinal()] = winner;
+            return values;
+        });
+    }
+
+    /**
+     * Adds a change to the current transaction's, or applies it right away outside of one.
+     */
+    private void recordAfterCommit(Long gameId, UnaryOperator<Object[]> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(gameId, update);
+            return;
+        }
+        PendingChanges changes = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        changes.add(gameId, update);
+    }
+
+    private void apply(Long gameId, UnaryOperator<Object[]> update) {
+        Channel channel = channels.get(gameId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            if (change(channel, update.apply(channel.values))) {
+                deliver(channel);
+            }
+        }
+    }
+
+    /**
+     * Appends a delta of the fields that differ from the channel's values; false if none does.
+     */
+    private boolean change(Channel channel, Object[] values) {
+        if (channel.closed) {
+            return false;
+        }
+        StringBuilder json = null;
+        for (Field field : Field.ALL) {
+            int index = field.ordinal();
+            if (Objects.equals(channel.values[index], values[index])) {
+                continue;
+            }
+            if (json == null) {
+                json = new StringBuilder(64).append("{\"type\":\"delta\",\"version\":").append(channel.version + 1);
+            }
+            appendField(json, field, values[index]);
+        }
+        if (json == null) {
+            return false;
+        }
+        channel.version++;
+        channel.values = values;
+        Delta delta = new Delta(channel.version, json.append('}').toString());
+        channel.history.addLast(delta);
+        if (channel.history.size() > Math.max(historySize, 1)) {
+            channel.history.removeFirst();
+        }
+        channel.pending.add(delta);
+        return true;
+    }
+
+    /**
+     * Queues the pending deltas in version order. Called holding the channel's monitor.
+     */
+    private void deliver(Channel channel) {
+        synchronized (channel) {
+            for (Delta delta : channel.pending) {
+                for (Peer peer : channel.peers) {
+                    // A client that joined or resynced since has the change already
+                    if (delta.version > peer.version) {
+                        peer.version = delta.version;
+                        peer.offer(delta.json);
+                    }
+                }
+            }
+            channel.pending.clear();
+        }
+    }
+
+    /**
+     * Queues the deltas after {@code version} when the history still has them, otherwise a snapshot.
+     * Called holding the channel's monitor.
+     */
+    private void resume(Channel channel, Peer peer, Long stream, Long version) {
+        Delta oldest = channel.history.peekFirst();
+        boolean resumable = stream != null && version != null
+                && stream == channel.stream
+                && version <= channel.version
+                && (version == channel.version || (oldest != null && oldest.version <= version + 1));
+        if (resumable) {
+            for (Delta delta : channel.history) {
+                if (delta.version > version) {
+                    peer.offer(delta.json);
+                }
+            }
+        } else {
+            peer.offer(snapshot(channel));
+        }
+        peer.version = channel.version;
+    }
+
+    private static String snapshot(Channel channel) {
+        StringBuilder json = new StringBuilder(256)
+                .append("{\"type\":\"snapshot\",\"stream\":").append(channel.stream)
+                .append(",\"version\":").append(channel.version);
+        for (Field field : Field.ALL) {
+            appendField(json, field, channel.values[field.ordinal()]);
+        }
+        return json.append('}').toString();
+    }
+
+    // Values are numbers, enums and null, so they need no escaping
+    private static void appendField(StringBuilder json, Field field, Object value) {
+        json.append(",\"").append(field.key).append("\":");
+        if (value instanceof Enum<?> constant) {
+            json.append('"').append(constant.name()).append('"');
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static Object[] values(GameStateResponse state) {
+        Object[] values = new Object[Field.ALL.length];
+        values[Field.SCORE1.ordinal()] = state.getPlayer1Score();
+        values[Field.SCORE2.ordinal()] = state.getPlayer2Score();
+        values[Field.LEGS1.ordinal()] = state.getPlayer1Legs();
+        values[Field.LEGS2.ordinal()] = state.getPlayer2Legs();
+        values[Field.SETS1.ordinal()] = state.getPlayer1Sets();
+        values[Field.SETS2.ordinal()] = state.getPlayer2Sets();
+        values[Field.DARTS1.ordinal()] = state.getPlayer1DartsThrown();
+        values[Field.DARTS2.ordinal()] = state.getPlayer2DartsThrown();
+        values[Field.PLAYER.ordinal()] = state.getCurrentPlayer();
+        values[Field.ROUND.ordinal()] = state.getRoundNumber();
+        GameResponse game = state.getGame();
+        values[Field.STATUS.ordinal()] = game.getStatus();
+        values[Field.WINNER.ordinal()] = game.getWinner() != null ? game.getWinner().getId() : null;
+        return values;
+    }
+
+    private static Peer peer(Session session) {
+        return (Peer) session.getUserProperties().get(PEER);
+    }
+
+    private void dropIdleChannels() {
+        long now = System.currentTimeMillis();
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                if (channel.peers.isEmpty() && channel.idleSince != 0 && now - channel.idleSince >= retainMs) {
+                    channel.closed = true;
+                    channels.remove(channel.gameId, channel);
+                }
+            }
+        }
+    }
+
+    private record Delta(long version, String json) {
+    }
+
+    /**
+     * The changes recorded in one transaction, bound to it as a resource: applied in order after
+     * it commits, dropped when it rolls back.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<Long> gameIds = new ArrayList<>(2);
+        private final List<UnaryOperator<Object[]>> updates = new ArrayList<>(2);
+
+        private void add(Long gameId, UnaryOperator<Object[]> update) {
+            gameIds.add(gameId);
+            updates.add(update);
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < gameIds.size(); i++) {
+                apply(gameIds.get(i), updates.get(i));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GameDeltaService.this);
+            gameIds.clear();
+            updates.clear();
+        }
+    }
+
+    /**
+     * The delta stream of one game; guarded by its own monitor.
+     */
+    private static final class Channel {
+        private final Long gameId;
+        // Tells a reconnecting client whether its version belongs to this stream, e.g. not to one before
+        // a restart; at most 2^53, which JavaScript numbers hold exactly
+        private final long stream = ThreadLocalRandom.current().nextLong(1, 1L << 53);
+        private final ArrayDeque<Delta> history = new ArrayDeque<>();
+        // Made, waiting to be queued to the peers
+        private final List<Delta> pending = new ArrayList<>();
+        private final Set<Peer> peers = ConcurrentHashMap.newKeySet();
+        private Object[] values;
+        private long version;
+        private long idleSince;
+        private boolean closed;
+
+        private Channel(Long gameId, Object[] values) {
+            this.gameId = gameId;
+            this.values = values;
+        }
+    }
+
+    private final class Peer {
+        private final Channel channel;
+        private final Session session;
+        private final ArrayBlockingQueue<String> queue;
+        // Set while a drain task is queued or running, so that one thread writes at a time
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Last version queued to the client; guarded by the channel's monitor
+        private long version;
+
+        private Peer(Channel channel, Session session) {
+            this.channel = channel;
+            this.session = session;
+            this.queue = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+        }
+
+        private void offer(String json) {
+            if (!queue.offer(json)) {
+                logger.debug("Disconnecting slow game state socket of game {}", channel.gameId);
+                leave();
+                queue.clear();
+                // Closing writes a frame, so not on the caller's thread
+                execute(() -> close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too slow, resync")));
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                if (!execute(this::drain)) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                String json;
+                while ((json = queue.poll()) != null) {
+                    session.getBasicRemote().sendText(json);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Disconnected
+                leave();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A message offered after the last poll but before the flag was cleared
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                if (!execute(this::drain)) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void leave() {
+            synchronized (channel) {
+                if (channel.peers.remove(this) && channel.peers.isEmpty()) {
+                    channel.idleSince = System.currentTimeMillis();
+                }
+            }
+        }
+
+        private void close(CloseReason reason) {
+            try {
+                session.close(reason);
+            } catch (IOException e) {
+                logger.debug("Closing game state socket failed: {}", e.getMessage());
+            }
+        }
+
+        private boolean execute(Runnable task) {
+            try {
+                executor.execute(task);
+                return true;
+            } catch (RuntimeException e) {
+                // Shutting down
+                return false;
+            }
+        }
+    }
+}
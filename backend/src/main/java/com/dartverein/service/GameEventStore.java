@@ -0,0 +1,164 @@
+package com.dartverein.service;
+
+import com.dartverein.engine.DartEngine;
+import com.dartverein.model.GameStateSnapshot;
+import com.dartverein.model.Throw;
+import com.dartverein.repository.GameRepository;
+import com.dartverein.repository.GameStateSnapshotRepository;
+import com.dartverein.repository.RoundRepository;
+import com.dartverein.repository.ThrowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Event store behind the game state. The throws of a game, in round order, are its dart events;
+ * every {@code dartverein.snapshot.interval} visits the engine state is stored as a snapshot.
+ * An engine is rebuilt from the latest snapshot plus the visits recorded after it, and the
+ * game_state row is only a projection of the result.
+ */
+@Service
+public class GameEventStore {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private ThrowRepository throwRepository;
+
+    @Autowired
+    private GameStateSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ThrowJournalFlusher throwJournalFlusher;
+
+    @Value("${dartverein.snapshot.interval:10}")
+    private int snapshotInterval;
+
+    /**
+     * Restores the latest snapshot into a new engine and replays the visits after it.
+     *
+     * @return the number of visits the engine now contains
+     */
+    public int rebuild(DartEngine engine, Long gameId) {
+        // Closed visits may still be waiting in the journal
+        throwJournalFlusher.flush();
+
+        int visitCount = 0;
+        long afterRoundId = 0L;
+        Optional<GameStateSnapshot> snapshot = snapshotRepository.findFirstByGameIdOrderByVisitCountDescIdDesc(gameId);
+        if (snapshot.isPresent()) {
+            engine.restoreSnapshot(decode(snapshot.get().getState()));
+            visitCount = snapshot.get().getVisitCount();
+            if (visitCount > 0) {
+                List<Long> lastIncluded = roundRepository.findRoundIdsByGameId(gameId, PageRequest.of(visitCount - 1, 1));
+                afterRoundId = lastIncluded.isEmpty() ? Long.MAX_VALUE : lastIncluded.get(0);
+            }
+        }
+
+        Long currentRoundId = null;
+        for (Throw dartThrow : throwRepository.findThrowsByGameIdAfterRound(gameId, afterRoundId)) {
+            Long roundId = dartThrow.getRound().getId();
+            if (!roundId.equals(currentRoundId)) {
+                currentRoundId = roundId;
+                visitCount++;
+            }
+            int segment = dartThrow.getSegment() != null ? dartThrow.getSegment() : 0;
+            int multiplier = segment == 0 || dartThrow.getMultiplier() == null ? 0 : dartThrow.getMultiplier();
+            engine.throwDart(segment, multiplier);
+        }
+        return visitCount;
+    }
+
+    /**
+     * Recomputes the statistics accumulators, indexed like the engine's players, from every
+     * recorded dart of the game. The open visit is not included.
+     */
+    public void replayStatistics(Long gameId, Long player1Id, GameStatisticsAccumulator[] statistics) {
+        throwJournalFlusher.flush();
+        for (GameStatisticsAccumulator accumulator : statistics) {
+            accumulator.reset();
+        }
+
+        Long currentRoundId = null;
+        for (Object[] dart : throwRepository.findDartsByGameId(gameId)) {
+            int player = player1Id.equals(dart[0]) ? DartEngine.PLAYER1 : DartEngine.PLAYER2;
+            if (player >= statistics.length) {
+                continue;
+            }
+            Long roundId = (Long) dart[1];
+            if (!roundId.equals(currentRoundId)) {
+                currentRoundId = roundId;
+                boolean checkout = Boolean.TRUE.equals(dart[5]);
+                statistics[player].visit(dart[4] != null ? (Integer) dart[4] : 0, checkout);
+                if (checkout && statistics.length == 2) {
+                    statistics[1 - player].legLost();
+                }
+            }
+            int segment = dart[2] != null ? (Integer) dart[2] : 0;
+            int multiplier = segment == 0 || dart[3] == null ? 0 : (Integer) dart[3];
+            statistics[player].dart(segment, multiplier);
+        }
+    }
+
+    /**
+     * Stores a snapshot when the visit count reaches the next interval.
+     */
+    public void snapshotIfDue(Long gameId, DartEngine engine, int visitCount) {
+        if (visitCount > 0 && visitCount % snapshotInterval == 0 && engine.isVisitClosed()) {
+            snapshot(gameId, engine, visitCount);
+        }
+    }
+
+    public void snapshot(Long gameId, DartEngine engine, int visitCount) {
+        snapshotRepository.save(new GameStateSnapshot(
+                gameRepository.getReferenceById(gameId), visitCount, encode(engine.snapshot())));
+    }
+
+    /**
+     * Stores a manually corrected engine state; rebuilds start from it and undo stops at it.
+     */
+    public void correction(Long gameId, DartEngine engine, int visitCount) {
+        GameStateSnapshot snapshot = new GameStateSnapshot(
+                gameRepository.getReferenceById(gameId), visitCount, encode(engine.snapshot()));
+        snapshot.setIsCorrection(true);
+        snapshotRepository.save(snapshot);
+    }
+
+    /**
+     * Removes the most recent visit and every snapshot that includes it. A visit included in a
+     * correction cannot be removed, as that would drop the correction with it.
+     */
+    public void deleteLastVisit(Long gameId, int visitCount) {
+        if (snapshotRepository.existsByGameIdAndVisitCountAndIsCorrectionTrue(gameId, visitCount)) {
+            throw new IllegalStateException("Game " + gameId + " was corrected after its last visit");
+        }
+        throwJournalFlusher.flush();
+        List<Long> latest = roundRepository.findLatestRoundIdsByGameId(gameId, PageRequest.of(0, 1));
+        if (latest.isEmpty()) {
+            throw new IllegalStateException("Game " + gameId + " has no visits to undo");
+        }
+        roundRepository.deleteById(latest.get(0));
+        snapshotRepository.deleteSnapshotsAfterVisit(gameId, visitCount - 1);
+    }
+
+    private static byte[] encode(int[] state) {
+        ByteBuffer buffer = ByteBuffer.allocate(state.length * Integer.BYTES);
+        buffer.asIntBuffer().put(state);
+        return buffer.array();
+    }
+
+    private static int[] decode(byte[] bytes) {
+        int[] state = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(state);
+        return state;
+    }
+}
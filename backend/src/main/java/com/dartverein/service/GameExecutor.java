@@ -0,0 +1,256 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameExecutorStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single writer per game: the tasks of a game queue in its mailbox and run one after another,
+ * each in its own transaction, while the mailboxes of different games run in parallel on a
+ * shared pool. A game's engine is only touched from its mailbox, so it needs no lock, and a
+ * transaction commits (and its after-commit events go out) before the game's next task starts.
+ * A transaction takes a connection only once its task runs a statement (see
+ * {@link com.dartverein.config.DataSourceConfig}), so tasks served from memory cost no round trip.
+ * <p>
+ * A mailbox exists while it has tasks; the map's atomic per-key updates make sure a game never
+ * has two. Callers wait for their task, so the API stays synchronous.
+ */
+@Service
+public class GameExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(GameExecutor.class);
+
+    // A busy game hands its thread on after this many tasks, so that it cannot starve others
+    private static final int TASKS_PER_TURN = 32;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dartverein.games.threads:0}")
+    private int threads;
+
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    // The game whose mailbox the current thread runs, so that a task can call into its own game
+    private final ThreadLocal<Long> currentGame = new ThreadLocal<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    private int poolSize;
+    private ExecutorService pool;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void start() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+
+        // Tasks wait on the database as much as they compute
+        poolSize = threads > 0 ? threads : 2 * Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "game-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs {@code task} in a transaction in the game's mailbox and returns its result; exceptions are rethrown.
+     */
+    public <T> T execute(Long gameId, Supplier<T> task) {
+        return submit(gameId, writeTransaction, task);
+    }
+
+    public void run(Long gameId, Runnable task) {
+        submit(gameId, writeTransaction, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queues {@code task} in a transaction in the game's mailbox without waiting for it, so it may be
+     * called from any mailbox; failures are logged.
+     */
+    public void post(Long gameId, Runnable task) {
+        enqueue(gameId, new Task(() -> {
+            try {
+                writeTransaction.executeWithoutResult(status -> task.run());
+            } catch (RuntimeException e) {
+                logger.error("Task for game {} failed: {}", gameId, e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Like {@link #execute} in a read-only transaction, for reads that must not overlap a change.
+     */
+    public <T> T query(Long gameId, Supplier<T> task) {
+        return submit(gameId, readTransaction, task);
+    }
+
+    public GameExecutorStatistics getStatistics() {
+        GameExecutorStatistics statistics = new GameExecutorStatistics();
+        long tasks = completed.sum();
+        statistics.setThreads(poolSize);
+        statistics.setMailboxes(mailboxes.size());
+        statistics.setQueuedTasks(queued.get());
+        statistics.setMaxMailboxDepth(maxDepth.get());
+        statistics.setCompletedTasks(tasks);
+        statistics.setAverageWaitMillis(tasks > 0 ? millis(waitNanos.sum()) / tasks : 0.0);
+        statistics.setMaxWaitMillis(millis(maxWaitNanos.get()));
+        statistics.setAverageRunMillis(tasks > 0 ? millis(runNanos.sum()) / tasks : 0.0);
+        statistics.setMaxRunMillis(millis(maxRunNanos.get()));
+        return statistics;
+    }
+
+    private <T> T submit(Long gameId, TransactionTemplate transaction, Supplier<T> task) {
+        Long current = currentGame.get();
+        if (gameId.equals(current)) {
+            // Already in the game's mailbox and transaction
+            return task.get();
+        }
+        if (current != null) {
+            // Waiting for another mailbox from a pool thread could exhaust the pool
+            throw new IllegalStateException("A task of game " + current + " cannot wait for game " + gameId);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(gameId, new Task(() -> {
+            try {
+                result.complete(transaction.execute(status -> task.get()));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void enqueue(Long gameId, Task task) {
+        Mailbox[] idle = new Mailbox[1];
+        mailboxes.compute(gameId, (id, mailbox) -> {
+            Mailbox target = mailbox != null ? mailbox : new Mailbox(id);
+            target.tasks.add(task);
+            if (target.depth++ == 0) {
+                idle[0] = target;
+            }
+            maxDepth.accumulateAndGet(target.depth, Math::max);
+            return target;
+        });
+        queued.incrementAndGet();
+        if (idle[0] != null) {
+            pool.execute(idle[0]);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Task {
+        private final Runnable body;
+        private final long enqueuedAt = System.nanoTime();
+
+        private Task(Runnable body) {
+            this.body = body;
+        }
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Long gameId;
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        // Tasks queued or running; only changed inside the map's compute for this game
+        private int depth;
+
+        private Mailbox(Long gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void run() {
+            currentGame.set(gameId);
+            try {
+                for (int turn = 0; turn < TASKS_PER_TURN; turn++) {
+                    runTask(tasks.poll());
+                    if (!release()) {
+                        return;
+                    }
+                }
+            } finally {
+                currentGame.remove();
+            }
+            // More tasks are queued; let other games have the thread first
+            pool.execute(this);
+        }
+
+        private void runTask(Task task) {
+            queued.decrementAndGet();
+            long start = System.nanoTime();
+            long wait = start - task.enqueuedAt;
+            task.body.run();
+            long run = System.nanoTime() - start;
+            completed.increment();
+            waitNanos.add(wait);
+            runNanos.add(run);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            maxRunNanos.accumulateAndGet(run, Math::max);
+        }
+
+        /**
+         * Counts a task as done; removes the mailbox and returns false when it was the last one.
+         */
+        private boolean release() {
+            boolean[] more = new boolean[1];
+            mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+                mailbox.depth--;
+                more[0] = mailbox.depth > 0;
+                return more[0] ? mailbox : null;
+            });
+            return more[0];
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameHistoryItem;
+import com.dartverein.dto.GameHistoryPage;
+import com.dartverein.dto.GameResponse;
+import com.dartverein.model.Game;
+import com.dartverein.model.Player;
+import com.dartverein.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Game history, newest first, paged by a cursor on (createdAt, id) instead of an offset so that
+ * every page is an index range scan of the same cost. The filters match the composite indexes
+ * on games; a player filter is answered per seat (player1/player2) and the two ranges are merged.
+ */
+@Service
+public class GameHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    /**
+     * One game with its players. A game held in the second-level cache, which finished games stay
+     * in, is assembled from the game and player regions; otherwise one join query loads it and
+     * fills both.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GameResponse> findGame(Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(Game.class, id)) {
+            return gameRepository.findById(id).map(GameResponse::from);
+        }
+        return gameRepository.findWithPlayersById(id).map(GameResponse::from);
+    }
+
+    /**
+     * @param playerId   games the player took part in
+     * @param opponentId with {@code playerId}, only games between the two; alone, like {@code playerId}
+     * @param from       created at or after (inclusive)
+     * @param to         created before (exclusive)
+     * @param cursor     {@link GameHistoryPage#getNextCursor()} of the previous page
+     * @param limit      page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public GameHistoryPage findGames(Game.GameStatus status, Game.GameType gameType, Long playerId, Long opponentId,
+                                     LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Filter filter = new Filter(status, gameType, from, to);
+        if (cursor != null && !cursor.isBlank()) {
+            filter.after = Cursor.decode(cursor);
+        }
+
+        Long player = playerId != null ? playerId : opponentId;
+        Long opponent = playerId != null ? opponentId : null;
+        // One row more than the page tells whether there is a next page
+        List<GameHistoryItem> games;
+        if (player == null) {
+            games = query(filter, null, null, size + 1);
+        } else {
+            games = merge(query(filter, player, opponent, size + 1), query(filter, opponent, player, size + 1), size + 1);
+        }
+
+        String nextCursor = null;
+        if (games.size() > size) {
+            games = new ArrayList<>(games.subList(0, size));
+            GameHistoryItem last = games.get(size - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new GameHistoryPage(games, nextCursor);
+    }
+
+    private List<GameHistoryItem> query(Filter filter, Long player1Id, Long player2Id, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GameHistoryItem> query = cb.createQuery(GameHistoryItem.class);
+        Root<Game> game = query.from(Game.class);
+        Join<Game, Player> player1 = game.join("player1");
+        Join<Game, Player> player2 = game.join("player2", JoinType.LEFT);
+        Join<Game, Player> winner = game.join("winner", JoinType.LEFT);
+        Path<LocalDateTime> createdAt = game.get("createdAt");
+        Path<Long> id = game.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.status != null) {
+            predicates.add(cb.equal(game.get("status"), filter.status));
+        }
+        if (filter.gameType != null) {
+            predicates.add(cb.equal(game.get("gameType"), filter.gameType));
+        }
+        if (player1Id != null) {
+            predicates.add(cb.equal(game.get("player1").get("id"), player1Id));
+        }
+        if (player2Id != null) {
+            predicates.add(cb.equal(game.get("player2").get("id"), player2Id));
+        }
+        if (filter.from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.from));
+        }
+        if (filter.to != null) {
+            predicates.add(cb.lessThan(createdAt, filter.to));
+        }
+        if (filter.after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, filter.after.createdAt()),
+                    cb.and(cb.equal(createdAt, filter.after.createdAt()), cb.lessThan(id, filter.after.id()))));
+        }
+
+        query.select(cb.construct(GameHistoryItem.class,
+                        id, game.get("gameType"), game.get("gameMode"), game.get("status"), game.get("startScore"),
+                        player1.get("id"), player1.get("name"), player2.get("id"), player2.get("name"),
+                        winner.get("id"), createdAt, game.get("finishedAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+
+    /**
+     * Merges two lists in history order, dropping a game found in both (a player against themselves).
+     */
+    private static List<GameHistoryItem> merge(List<GameHistoryItem> first, List<GameHistoryItem> second, int maxResults) {
+        List<GameHistoryItem> merged = new ArrayList<>(Math.min(first.size() + second.size(), maxResults));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < maxResults && (i < first.size() || j < second.size())) {
+            GameHistoryItem next;
+            if (j == second.size() || (i < first.size() && compare(first.get(i), second.get(j)) <= 0)) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    // Newest first
+    private static int compare(GameHistoryItem a, GameHistoryItem b) {
+        int byCreatedAt = b.getCreatedAt().compareTo(a.getCreatedAt());
+        return byCreatedAt != 0 ? byCreatedAt : b.getId().compareTo(a.getId());
+    }
+
+    /**
+     * Key of the last game of a page; pages continue with the games after it in history order.
+     * Encoded as URL-safe Base64 of {@code createdAt_id}.
+     */
+    record Cursor(LocalDateTime createdAt, long id) {
+
+        String encode() {
+            String key = createdAt + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = key.lastIndexOf('_');
+                return new Cursor(LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    private static final class Filter {
+        private final Game.GameStatus status;
+        private final Game.GameType gameType;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private Cursor after;
+
+        private Filter(Game.GameStatus status, Game.GameType gameType, LocalDateTime from, LocalDateTime to) {
+            this.status = status;
+            this.gameType = gameType;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
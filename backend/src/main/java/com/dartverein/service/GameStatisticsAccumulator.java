@@ -0,0 +1,111 @@
+package com.dartverein.service;
+
+/**
+ * Running statistics of one player in one active game, kept in primitive counters so that
+ * a dart costs a few increments. {@link ScoringService} writes them to the game_statistics
+ * row when a leg or the game ends.
+ */
+public final class GameStatisticsAccumulator {
+
+    private static final int BULL = 25;
+
+    // Visit totals and checkouts are only tallied for X01
+    private final boolean x01;
+
+    private int dartsThrown;
+    private int totalScore;
+    private int highestCheckout;
+    private int count180;
+    private int count140Plus;
+    private int count100Plus;
+    private int count60Plus;
+    private int countDoubles;
+    private int countTriples;
+    private int countBullseyes;
+    private int countMisses;
+    private int legsWon;
+    private int legsLost;
+
+    public GameStatisticsAccumulator(boolean x01) {
+        this.x01 = x01;
+    }
+
+    public void dart(int segment, int multiplier) {
+        dartsThrown++;
+        if (segment == 0) {
+            countMisses++;
+            return;
+        }
+        if (multiplier == 2) {
+            countDoubles++;
+        } else if (multiplier == 3) {
+            countTriples++;
+        }
+        if (segment == BULL) {
+            countBullseyes++;
+        }
+    }
+
+    /**
+     * Adds a closed visit; {@code total} is 0 for a bust.
+     */
+    public void visit(int total, boolean checkout) {
+        totalScore += total;
+        if (checkout) {
+            legsWon++;
+        }
+        if (!x01) {
+            return;
+        }
+        // Each tally includes the higher ones, as in GameStatistics.incrementCount180()
+        if (total >= 60) {
+            count60Plus++;
+            if (total >= 100) {
+                count100Plus++;
+                if (total >= 140) {
+                    count140Plus++;
+                    if (total == 180) {
+                        count180++;
+                    }
+                }
+            }
+        }
+        if (checkout && total > highestCheckout) {
+            highestCheckout = total;
+        }
+    }
+
+    public void legLost() {
+        legsLost++;
+    }
+
+    public void reset() {
+        dartsThrown = 0;
+        totalScore = 0;
+        highestCheckout = 0;
+        count180 = 0;
+        count140Plus = 0;
+        count100Plus = 0;
+        count60Plus = 0;
+        countDoubles = 0;
+        countTriples = 0;
+        countBullseyes = 0;
+        countMisses = 0;
+        legsWon = 0;
+        legsLost = 0;
+    }
+
+    public int getDartsThrown() { return dartsThrown; }
+    public int getTotalScore() { return totalScore; }
+    public int getHighestCheckout() { return highestCheckout; }
+    public int getCount180() { return count180; }
+    public int getCount140Plus() { return count140Plus; }
+    public int getCount100Plus() { return count100Plus; }
+    public int getCount60Plus() { return count60Plus; }
+    public int getCountDoubles() { return countDoubles; }
+    public int getCountTriples() { return countTriples; }
+    public int getCountBullseyes() { return countBullseyes; }
+    public int getCountMisses() { return countMisses; }
+    public int getLegsWon() { return legsWon; }
+    public int getLegsLost() { return legsLost; }
+}
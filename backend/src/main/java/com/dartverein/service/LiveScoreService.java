@@ -0,0 +1,278 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.GameStateResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes game state changes to Server-Sent Events subscribers of one game or of all active games.
+ * A change is serialized once and queued to every subscriber; a few shared threads write the
+ * queues out. A subscriber whose queue is full is too slow and is disconnected, so a stalled
+ * client neither holds back the others nor grows memory. Its EventSource reconnects and starts
+ * again from the current state.
+ * <p>
+ * A subscriber is registered before the current state is read, so no change is missed, and is
+ * sent a game's state only if it is later than the last one it got, so the initial state never
+ * follows a change that overtook it.
+ */
+@Service
+public class LiveScoreService {
+    private static final Logger logger = LoggerFactory.getLogger(LiveScoreService.class);
+
+    public static final String EVENT_STATE = "state";
+    public static final String EVENT_FINISHED = "finished";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dartverein.sse.bufferSize:64}")
+    private int bufferSize;
+
+    @Value("${dartverein.sse.threads:2}")
+    private int threads;
+
+    @Value("${dartverein.sse.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${dartverein.sse.heartbeatMs:15000}")
+    private long heartbeatMs;
+
+    private final Map<Long, Set<Subscriber>> gameSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allGamesSubscribers = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "live-score-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Writes to a closed connection fail, which is how dead subscribers are found
+        executor.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        gameSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        allGamesSubscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Subscribes to one game; the state {@code current} returns is sent first. Empty, without a
+     * subscription, if there is no state.
+     */
+    public Optional<SseEmitter> subscribe(Long gameId, Supplier<Optional<GameStateResponse>> current) {
+        Subscriber subscriber = new Subscriber(gameId);
+        gameSubscribers.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        Optional<GameStateResponse> state = current.get();
+        if (state.isEmpty()) {
+            remove(subscriber);
+            return Optional.empty();
+        }
+        subscriber.offerState(gameId, state.get().getETag(), message(EVENT_STATE, state.get()));
+        return Optional.of(subscriber.emitter);
+    }
+
+    /**
+     * Subscribes to all games; the states {@code current} returns (the games being played) are sent first.
+     */
+    public SseEmitter subscribeAll(Supplier<Collection<GameStateResponse>> current) {
+        Subscriber subscriber = new Subscriber(null);
+        allGamesSubscribers.add(subscriber);
+        for (GameStateResponse state : current.get()) {
+            subscriber.offerState(state.getGame().getId(), state.getETag(), message(EVENT_STATE, state));
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publishes a state once the current transaction commits, so that subscribers never see a
+     * change that is rolled back.
+     */
+    public void publishState(GameStateResponse state) {
+        publishAfterCommit(state.getGame().getId(), state.getETag(), EVENT_STATE, state);
+    }
+
+    public void publishFinished(GameResponse game) {
+        publishAfterCommit(game.getId(), null, EVENT_FINISHED, game);
+    }
+
+    private void publishAfterCommit(Long gameId, String eTag, String event, Object data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(gameId, eTag, event, data);
+                }
+            });
+        } else {
+            publish(gameId, eTag, event, data);
+        }
+    }
+
+    /**
+     * Sends a state ({@code eTag} set) only to subscribers that have not had a later one; other
+     * events go to all.
+     */
+    private void publish(Long gameId, String eTag, String event, Object data) {
+        Set<Subscriber> subscribers = gameSubscribers.getOrDefault(gameId, Set.of());
+        if (subscribers.isEmpty() && allGamesSubscribers.isEmpty()) {
+            return;
+        }
+        Message message = message(event, data);
+        if (eTag == null) {
+            subscribers.forEach(subscriber -> subscriber.offerFinished(gameId, message));
+            allGamesSubscribers.forEach(subscriber -> subscriber.offerFinished(gameId, message));
+        } else {
+            subscribers.forEach(subscriber -> subscriber.offerState(gameId, eTag, message));
+            allGamesSubscribers.forEach(subscriber -> subscriber.offerState(gameId, eTag, message));
+        }
+    }
+
+    private Message message(String event, Object data) {
+        try {
+            return new Message(event, objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event + " event", e);
+        }
+    }
+
+    private void heartbeat() {
+        gameSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(Message.HEARTBEAT)));
+        allGamesSubscribers.forEach(subscriber -> subscriber.offer(Message.HEARTBEAT));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.gameId == null) {
+            allGamesSubscribers.remove(subscriber);
+            return;
+        }
+        gameSubscribers.computeIfPresent(subscriber.gameId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private record Message(String event, String json) {
+        // Sent as an SSE comment, which EventSource ignores
+        static final Message HEARTBEAT = new Message(null, null);
+    }
+
+    private final class Subscriber {
+        private final Long gameId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> queue;
+        // Set while a drain task is queued or running, so that one thread writes at a time
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Entity tag of the last state offered per game; guarded by the subscriber's monitor
+        private final Map<Long, String> offeredETags = new HashMap<>();
+
+        private Subscriber(Long gameId) {
+            this.gameId = gameId;
+            this.emitter = new SseEmitter(timeoutMs);
+            this.queue = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+            emitter.onCompletion(() -> remove(this));
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> remove(this));
+        }
+
+        /**
+         * Offers a game's state unless a later one was offered already. Checked and queued under
+         * the monitor, so that two states cannot pass the check and be queued out of order.
+         */
+        private synchronized void offerState(Long stateGameId, String eTag, Message message) {
+            String offered = offeredETags.get(stateGameId);
+            if (offered != null && GameStateResponse.compareETags(eTag, offered) <= 0) {
+                return;
+            }
+            offeredETags.put(stateGameId, eTag);
+            offer(message);
+        }
+
+        private synchronized void offerFinished(Long finishedGameId, Message message) {
+            // No state follows, so the game's tag is not needed any more
+            offeredETags.remove(finishedGameId);
+            offer(message);
+        }
+
+        private void offer(Message message) {
+            if (!queue.offer(message)) {
+                logger.debug("Disconnecting slow live score subscriber of game {}", gameId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    if (message.event == null) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        emitter.send(SseEmitter.event().name(message.event).data(message.json, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Disconnected or already completed
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A message offered after the last poll but before the flag was cleared
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
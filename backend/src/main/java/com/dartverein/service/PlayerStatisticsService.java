@@ -0,0 +1,115 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.PlayerStatisticsSummary;
+import com.dartverein.repository.PlayerCareerStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Career summaries per player, read from player_career_stats with one lookup and cached
+ * until a game of the player finishes or their career row is rebuilt.
+ */
+@Service
+public class PlayerStatisticsService {
+
+    @Autowired
+    private PlayerCareerStatsRepository careerStatsRepository;
+
+    private final Map<Long, PlayerStatisticsSummary> summaries = new ConcurrentHashMap<>();
+
+    public Optional<PlayerStatisticsSummary> getSummary(Long playerId) {
+        PlayerStatisticsSummary summary = summaries.get(playerId);
+        if (summary != null) {
+            return Optional.of(summary);
+        }
+
+        List<Object[]> rows = careerStatsRepository.findSummaryRow(playerId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        summary = toSummary(rows.get(0));
+        summaries.put(playerId, summary);
+        return Optional.of(summary);
+    }
+
+    /**
+     * Reads the summaries of the given players, or of all active players if {@code playerIds} is null,
+     * with one query and hands them to {@code consumer} while the rows are read. Unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public void streamSummaries(Collection<Long> playerIds, Consumer<PlayerStatisticsSummary> consumer) {
+        if (playerIds != null && playerIds.isEmpty()) {
+            return;
+        }
+        try (Stream<Object[]> rows = playerIds == null
+                ? careerStatsRepository.streamActiveSummaryRows()
+                : careerStatsRepository.streamSummaryRows(playerIds)) {
+            rows.forEach(row -> consumer.accept(toSummary(row)));
+        }
+    }
+
+    /**
+     * Drops the cached summary. Inside a transaction it is dropped again after commit, so a
+     * summary read from the not yet committed rows does not stay cached.
+     */
+    public void evict(Long playerId) {
+        if (playerId == null) {
+            return;
+        }
+        summaries.remove(playerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    summaries.remove(playerId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        summaries.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    summaries.clear();
+                }
+            });
+        }
+    }
+
+    // Column order of the PlayerCareerStatsRepository summary queries
+    private static PlayerStatisticsSummary toSummary(Object[] row) {
+        PlayerStatisticsSummary summary = new PlayerStatisticsSummary((Long) row[0], (String) row[1]);
+        long gamesPlayed = longValue(row[2]);
+        if (gamesPlayed > 0) {
+            summary.setTotalGames(gamesPlayed);
+            summary.setGamesWon(longValue(row[3]));
+            summary.setOverallAverage(((BigDecimal) row[4]).doubleValue() / gamesPlayed);
+            summary.setHighestCheckout((int) longValue(row[5]));
+            summary.setTotal180s(longValue(row[6]));
+            summary.setTotal140Plus(longValue(row[7]));
+            summary.setTotal100Plus(longValue(row[8]));
+            summary.setTotalLegsWon(longValue(row[9]));
+            summary.setTotalLegsLost(longValue(row[10]));
+        }
+        return summary;
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.DoubleAccuracyResponse;
+import com.dartverein.engine.Bobs27Engine;
+import com.dartverein.repository.ThrowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live per-player practice aggregates. Counters are seeded once per player from the
+ * persisted Bob's 27 throws and then updated in memory for every dart.
+ */
+@Service
+public class PracticeStatisticsService {
+
+    @Autowired
+    private ThrowRepository throwRepository;
+
+    private final Map<Long, DoubleAccuracy> doubleAccuracy = new ConcurrentHashMap<>();
+
+    public void recordDouble(Long playerId, int target, boolean hit) {
+        DoubleAccuracy accuracy = getOrLoad(playerId);
+        accuracy.attempts.incrementAndGet(target);
+        if (hit) {
+            accuracy.hits.incrementAndGet(target);
+        }
+    }
+
+    /**
+     * Reverses {@link #recordDouble} for a dart that was taken back. Counters that are not loaded
+     * yet are left alone; they are seeded from the throws, which no longer hold the dart.
+     */
+    public void forgetDouble(Long playerId, int target, boolean hit) {
+        DoubleAccuracy accuracy = doubleAccuracy.get(playerId);
+        if (accuracy == null) {
+            return;
+        }
+        accuracy.attempts.decrementAndGet(target);
+        if (hit) {
+            accuracy.hits.decrementAndGet(target);
+        }
+    }
+
+    /**
+     * Drops a player's counters, e.g. after darts were stored outside of play; they are seeded
+     * again from the throws on the next use.
+     */
+    public void evict(Long playerId) {
+        doubleAccuracy.remove(playerId);
+    }
+
+    public DoubleAccuracyResponse getDoubleAccuracy(Long playerId) {
+        DoubleAccuracy accuracy = getOrLoad(playerId);
+        long[] attempts = new long[Bobs27Engine.TARGETS];
+        long[] hits = new long[Bobs27Engine.TARGETS];
+        for (int i = 0; i < Bobs27Engine.TARGETS; i++) {
+            attempts[i] = accuracy.attempts.get(i);
+            hits[i] = accuracy.hits.get(i);
+        }
+        return new DoubleAccuracyResponse(playerId, attempts, hits);
+    }
+
+    private DoubleAccuracy getOrLoad(Long playerId) {
+        DoubleAccuracy accuracy = doubleAccuracy.get(playerId);
+        if (accuracy != null) {
+            return accuracy;
+        }
+
+        DoubleAccuracy loaded = new DoubleAccuracy();
+        for (Object[] row : throwRepository.getBobs27AccuracyByPlayer(playerId)) {
+            int target = ((Number) row[0]).intValue() - 1;
+            if (target >= 0 && target < Bobs27Engine.TARGETS) {
+                loaded.attempts.set(target, ((Number) row[1]).longValue());
+                loaded.hits.set(target, row[2] != null ? ((Number) row[2]).longValue() : 0L);
+            }
+        }
+        DoubleAccuracy existing = doubleAccuracy.putIfAbsent(playerId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static final class DoubleAccuracy {
+        private final AtomicLongArray attempts = new AtomicLongArray(Bobs27Engine.TARGETS);
+        private final AtomicLongArray hits = new AtomicLongArray(Bobs27Engine.TARGETS);
+    }
+}
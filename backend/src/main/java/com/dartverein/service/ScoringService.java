@@ -0,0 +1,1144 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.DoubleAccuracyResponse;
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.GameStateResponse;
+import com.dartverein.dto.PlayerResponse;
+import com.dartverein.dto.WinProbabilityResponse;
+import com.dartverein.engine.Bobs27Engine;
+import com.dartverein.engine.CheckoutTable;
+import com.dartverein.engine.CricketEngine;
+import com.dartverein.engine.DartBot;
+import com.dartverein.engine.DartEngine;
+import com.dartverein.engine.DartResult;
+import com.dartverein.engine.WinProbabilityTable;
+import com.dartverein.engine.X01Engine;
+import com.dartverein.model.*;
+import com.dartverein.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Server-side authoritative scoring. Keeps one {@link DartEngine} per active game in the
+ * {@link ActiveGameRegistry}, which lists every game in progress and unloads the engines of idle
+ * games; they are loaded again on their next use.
+ * Each dart is appended to the {@link ThrowJournal}, which is drained into rounds/throws
+ * in the background. Engines are rebuilt from those events through the {@link GameEventStore};
+ * the game_state row is a projection, written behind: the changes of a game are coalesced and
+ * written every flush interval, and right away when a leg ends, the game is unloaded or finished,
+ * and on shutdown. Readers never see the row of a loaded game. Per-player statistics are
+ * accumulated in memory and written to game_statistics when a leg or the game ends.
+ * <p>
+ * Everything that reads or changes an engine runs in the game's mailbox on the {@link GameExecutor},
+ * so the engines need no locks; the live state is read without the mailbox from the last published copy.
+ */
+@Service
+public class ScoringService {
+    private static final Logger logger = LoggerFactory.getLogger(ScoringService.class);
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameStateRepository gameStateRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ThrowJournal throwJournal;
+
+    @Autowired
+    private GameEventStore gameEventStore;
+
+    @Autowired
+    private PracticeStatisticsService practiceStatisticsService;
+
+    @Autowired
+    private CareerStatisticsService careerStatisticsService;
+
+    @Autowired
+    private BotService botService;
+
+    @Autowired
+    private GameStatisticsRepository gameStatisticsRepository;
+
+    @Autowired
+    private CheckoutTable checkoutTable;
+
+    @Autowired
+    private WinProbabilityTable winProbabilityTable;
+
+    @Autowired
+    private LiveScoreService liveScoreService;
+
+    @Autowired
+    private GameDeltaService gameDeltaService;
+
+    @Autowired
+    private GameExecutor gameExecutor;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${dartverein.registry.shards:16}")
+    private int registryShards;
+
+    @Value("${dartverein.registry.maxLoaded:1000}")
+    private int maxLoadedGames;
+
+    @Value("${dartverein.registry.ttlMs:900000}")
+    private long loadedGameTtlMs;
+
+    @Value("${dartverein.state.flushIntervalMs:5000}")
+    private long stateFlushIntervalMs;
+
+    private static final int DEFAULT_SKILL_LEVEL = 5;
+
+    private ActiveGameRegistry<ActiveGame> activeGames;
+    // Loaded games whose state has changes not yet written
+    private final Set<ActiveGame> unwrittenStates = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        activeGames = new ActiveGameRegistry<>(registryShards, maxLoadedGames, loadedGameTtlMs);
+        // Listed once; from then on games are listed and removed as they start and end
+        for (Game game : gameRepository.findByStatusOrderByCreatedAtDesc(Game.GameStatus.IN_PROGRESS)) {
+            activeGames.add(GameResponse.from(game));
+        }
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(loadedGameTtlMs / 4, 1000);
+        sweeper.scheduleAtFixedRate(this::unloadIdleGames, interval, interval, TimeUnit.MILLISECONDS);
+        sweeper.scheduleAtFixedRate(this::writeStates, stateFlushIntervalMs, stateFlushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the unwritten states, each in its game's mailbox, before the executor goes down.
+     */
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+        for (ActiveGame active : unwrittenStates) {
+            try {
+                gameExecutor.run(active.gameId, () -> writeState(active));
+            } catch (RuntimeException e) {
+                logger.error("Could not write the state of game {}: {}", active.gameId, e.getMessage());
+            }
+        }
+    }
+
+    public Optional<GameStateResponse> throwDart(Long gameId, int segment, int multiplier) {
+        if (!DartEngine.isValidDart(segment, multiplier)) {
+            throw new IllegalArgumentException("Invalid dart: segment " + segment + ", multiplier " + multiplier);
+        }
+
+        return gameExecutor.execute(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (isBotTurn(active)) {
+                throw new IllegalStateException("It is the bot's turn in game " + gameId);
+            }
+            applyDart(active, segment, multiplier);
+            if (isBotTurn(active)) {
+                botService.scheduleTurn(gameId);
+            }
+            return Optional.of(publish(active));
+        });
+    }
+
+    /**
+     * Throws the darts of a visit together, as one task and one change. Darts after the one
+     * that closes the visit (a bust or checkout) are not thrown.
+     */
+    public Optional<GameStateResponse> throwVisit(Long gameId, int[] segments, int[] multipliers) {
+        if (segments.length == 0 || segments.length > DartEngine.DARTS_PER_VISIT || multipliers.length != segments.length) {
+            throw new IllegalArgumentException("A visit has 1 to " + DartEngine.DARTS_PER_VISIT + " darts");
+        }
+        for (int dart = 0; dart < segments.length; dart++) {
+            if (!DartEngine.isValidDart(segments[dart], multipliers[dart])) {
+                throw new IllegalArgumentException("Invalid dart: segment " + segments[dart] + ", multiplier " + multipliers[dart]);
+            }
+        }
+
+        return gameExecutor.execute(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (isBotTurn(active)) {
+                throw new IllegalStateException("It is the bot's turn in game " + gameId);
+            }
+            int thrown = active.engine.isVisitClosed() ? 0 : active.engine.getVisitDarts();
+            if (thrown + segments.length > DartEngine.DARTS_PER_VISIT) {
+                throw new IllegalArgumentException("The open visit of game " + gameId + " takes "
+                        + (DartEngine.DARTS_PER_VISIT - thrown) + " more darts");
+            }
+            for (int dart = 0; dart < segments.length; dart++) {
+                applyDart(active, segments[dart], multipliers[dart]);
+                if (active.engine.isVisitClosed()) {
+                    break;
+                }
+            }
+            if (isBotTurn(active)) {
+                botService.scheduleTurn(gameId);
+            }
+            return Optional.of(publish(active));
+        });
+    }
+
+    /**
+     * Plays one visit for the bot of a VS_BOT game, through the same flow as a human's darts.
+     */
+    public void playBotTurn(Long gameId) {
+        gameExecutor.run(gameId, () -> {
+            botService.turnStarted(gameId);
+            ActiveGame active = activeGames.get(gameId);
+            if (active == null || !isBotTurn(active)) {
+                // Unloaded, or the turn was played or undone meanwhile: nothing changed
+                return;
+            }
+            DartEngine engine = active.engine;
+            while (isBotTurn(active)) {
+                int dart = active.bot.throwDart(engine);
+                applyDart(active, CheckoutTable.segment(dart), CheckoutTable.multiplier(dart));
+                if (engine.isVisitClosed()) {
+                    break;
+                }
+            }
+            publish(active);
+            if (isBotTurn(active)) {
+                botService.scheduleTurn(gameId);
+            }
+        });
+    }
+
+    private void applyDart(ActiveGame active, int segment, int multiplier) {
+        applyDart(active, segment, multiplier, true);
+    }
+
+    /**
+     * @param record whether the dart counts towards the practice statistics; false for darts
+     *               that are applied again after an undo and were counted when first thrown
+     */
+    private void applyDart(ActiveGame active, int segment, int multiplier, boolean record) {
+        DartEngine engine = active.engine;
+        int player = engine.getCurrentPlayer();
+        DartResult result = engine.throwDart(segment, multiplier);
+        GameStatisticsAccumulator statistics = active.statistics[player];
+        statistics.dart(segment, multiplier);
+
+        discardOnRollback(active);
+        if (record && engine instanceof Bobs27Engine bobs27) {
+            Long playerId = active.playerId(player);
+            int target = bobs27.getLastTarget();
+            boolean hit = bobs27.isLastHit();
+            afterCommit(() -> practiceStatisticsService.recordDouble(playerId, target, hit));
+        }
+
+        journal(active);
+        copyToState(engine, active.gameState);
+        if (engine.isVisitClosed()) {
+            statistics.visit(engine.getVisitTotal(), engine.isVisitCheckout());
+            if (engine.isVisitCheckout() && engine.getPlayerCount() == 2) {
+                active.statistics[1 - player].legLost();
+            }
+            active.visitCount++;
+            stateChanged(active);
+            gameEventStore.snapshotIfDue(active.gameId, engine, active.visitCount);
+            if (engine.isVisitCheckout() || result == DartResult.GAME_WON) {
+                writeState(active);
+                saveStatistics(active);
+            }
+        }
+
+        if (result == DartResult.GAME_WON) {
+            finish(active);
+        }
+    }
+
+    private static boolean isBotTurn(ActiveGame active) {
+        return active.bot != null
+                && !active.engine.isFinished()
+                && active.engine.getCurrentPlayer() == DartEngine.PLAYER2;
+    }
+
+    public Optional<int[][]> getCricketMarks(Long gameId) {
+        return gameExecutor.query(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (!(active.engine instanceof CricketEngine cricket)) {
+                throw new IllegalStateException("Game " + gameId + " is not a Cricket game");
+            }
+            int[][] marks = new int[2][CricketEngine.TARGETS];
+            for (int target = 0; target < CricketEngine.TARGETS; target++) {
+                marks[DartEngine.PLAYER1][target] = cricket.getMarks(DartEngine.PLAYER1, target);
+                marks[DartEngine.PLAYER2][target] = cricket.getMarks(DartEngine.PLAYER2, target);
+            }
+            return Optional.of(marks);
+        });
+    }
+
+    public Optional<List<DoubleAccuracyResponse>> getBobs27Accuracy(Long gameId) {
+        return gameExecutor.query(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (!(active.engine instanceof Bobs27Engine bobs27)) {
+                throw new IllegalStateException("Game " + gameId + " is not a Bob's 27 game");
+            }
+            List<DoubleAccuracyResponse> result = new ArrayList<>(bobs27.getPlayerCount());
+            for (int player = 0; player < bobs27.getPlayerCount(); player++) {
+                long[] attempts = new long[Bobs27Engine.TARGETS];
+                long[] hits = new long[Bobs27Engine.TARGETS];
+                for (int target = 0; target < Bobs27Engine.TARGETS; target++) {
+                    attempts[target] = bobs27.getAttempts(player, target);
+                    hits[target] = bobs27.getHits(player, target);
+                }
+                result.add(new DoubleAccuracyResponse(active.playerId(player), attempts, hits));
+            }
+            return Optional.of(result);
+        });
+    }
+
+    /**
+     * Estimates each player's chance of winning the current X01 leg from the precomputed tables.
+     * Skill levels are resolved once when the game is loaded, so this reads no rows for a cached game.
+     */
+    public Optional<WinProbabilityResponse> getWinProbability(Long gameId) {
+        return gameExecutor.query(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (!(active.engine instanceof X01Engine x01)) {
+                throw new IllegalStateException("Game " + gameId + " is not an X01 game");
+            }
+            if (x01.getPlayerCount() != 2) {
+                throw new IllegalStateException("Game " + gameId + " has no opponent");
+            }
+            int current = x01.getCurrentPlayer();
+            int opponent = 1 - current;
+            boolean doubleOut = x01.isDoubleOut();
+            int[] levels = active.skillLevels;
+
+            // Mid-visit the current score is treated like the start of a visit
+            double currentWins = winProbabilityTable.winProbability(
+                    levels[current], x01.getScore(current), levels[opponent], x01.getScore(opponent), doubleOut);
+            double[] winProbability = new double[2];
+            winProbability[current] = currentWins;
+            winProbability[opponent] = 1.0 - currentWins;
+
+            double[] expectedDarts = new double[2];
+            expectedDarts[current] = winProbabilityTable.expectedDarts(
+                    levels[current], x01.getScore(current), x01.getDartsLeftInVisit(), doubleOut);
+            expectedDarts[opponent] = winProbabilityTable.expectedDarts(
+                    levels[opponent], x01.getScore(opponent), DartEngine.DARTS_PER_VISIT, doubleOut);
+
+            WinProbabilityResponse response = new WinProbabilityResponse(gameId);
+            response.setCurrentPlayer(active.gameState.getCurrentPlayer().name());
+            response.setPlayer1Score(x01.getScore(DartEngine.PLAYER1));
+            response.setPlayer2Score(x01.getScore(DartEngine.PLAYER2));
+            response.setPlayer1Level(levels[DartEngine.PLAYER1]);
+            response.setPlayer2Level(levels[DartEngine.PLAYER2]);
+            response.setPlayer1WinProbability(winProbability[DartEngine.PLAYER1]);
+            response.setPlayer2WinProbability(winProbability[DartEngine.PLAYER2]);
+            response.setPlayer1ExpectedDarts(expectedDarts[DartEngine.PLAYER1]);
+            response.setPlayer2ExpectedDarts(expectedDarts[DartEngine.PLAYER2]);
+            return Optional.of(response);
+        });
+    }
+
+    /**
+     * The states of all games held in memory, as last published by their mailboxes.
+     */
+    public List<GameStateResponse> getLiveStates() {
+        List<GameStateResponse> states = new ArrayList<>();
+        for (ActiveGame active : activeGames.loaded()) {
+            states.add(active.published);
+        }
+        return states;
+    }
+
+    /**
+     * The state of a game: from memory while it is in progress, loading it in its mailbox if it was
+     * unloaded, otherwise from the database.
+     */
+    public Optional<GameStateResponse> getState(Long gameId) {
+        ActiveGame active = activeGames.get(gameId);
+        if (active != null) {
+            return Optional.of(active.published);
+        }
+        if (activeGames.contains(gameId)) {
+            try {
+                return gameExecutor.query(gameId, () -> getActiveGame(gameId).map(loaded -> loaded.published));
+            } catch (IllegalStateException e) {
+                // Finished meanwhile
+            }
+        }
+        return gameStateRepository.findWithGameByGameId(gameId).map(GameStateResponse::from);
+    }
+
+    /**
+     * The games in progress, newest first, without touching the database.
+     */
+    public List<GameResponse> getActiveGames() {
+        return activeGames.games();
+    }
+
+    public List<GameResponse> getActiveGamesByPlayer(Long playerId) {
+        return activeGames.gamesOfPlayer(playerId);
+    }
+
+    /**
+     * Lists a game that was just created as in progress.
+     */
+    public void register(GameResponse game) {
+        activeGames.add(game);
+    }
+
+    /**
+     * Updates a player's name and details in the listed games.
+     */
+    public void updatePlayer(PlayerResponse player) {
+        activeGames.updatePlayer(player);
+    }
+
+    /**
+     * The entity tag of a game's state without loading it: from memory while the game is loaded,
+     * otherwise from the version column once it is no longer in progress. Empty for an unloaded game
+     * in progress, whose row may hold part of an open visit that its version does not tell apart.
+     */
+    public Optional<String> getETag(Long gameId) {
+        ActiveGame active = activeGames.get(gameId);
+        if (active != null) {
+            return Optional.of(active.published.getETag());
+        }
+        if (activeGames.contains(gameId)) {
+            return Optional.empty();
+        }
+        return gameStateRepository.findVersionByGameId(gameId).map(version -> GameStateResponse.eTag(version, 0));
+    }
+
+    /**
+     * Runs {@code action} with the current state of a game in the game's mailbox, so that no change
+     * is published while it runs; a game that is not in progress is read from the database.
+     * Returns false if there is no such game.
+     */
+    public boolean withCurrentState(Long gameId, Consumer<GameStateResponse> action) {
+        return gameExecutor.query(gameId, () -> {
+            Optional<ActiveGame> optionalActive;
+            try {
+                optionalActive = getActiveGame(gameId);
+            } catch (IllegalStateException e) {
+                // Not in progress, so it no longer changes through play
+                Optional<GameState> gameState = gameStateRepository.findWithGameByGameId(gameId);
+                gameState.ifPresent(state -> action.accept(GameStateResponse.from(state)));
+                return gameState.isPresent();
+            }
+            if (optionalActive.isEmpty()) {
+                return false;
+            }
+            ActiveGame active = optionalActive.get();
+            action.accept(toResponse(active));
+            return true;
+        });
+    }
+
+    /**
+     * Takes back the last dart of the open visit, or the last visit if none is open,
+     * by rebuilding the engine from the event stream.
+     */
+    public Optional<GameStateResponse> undo(Long gameId) {
+        return gameExecutor.execute(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            discardOnRollback(active);
+            DartEngine engine = active.engine;
+            int kept = 0;
+            int[] segments = new int[DartEngine.DARTS_PER_VISIT];
+            int[] multipliers = new int[DartEngine.DARTS_PER_VISIT];
+            if (!engine.isVisitClosed()) {
+                kept = engine.getVisitDarts() - 1;
+                forgetDoubles(active, kept);
+                for (int dart = 0; dart < kept; dart++) {
+                    segments[dart] = engine.getVisitSegment(dart);
+                    multipliers[dart] = engine.getVisitMultiplier(dart);
+                }
+                discardOpenVisit(active);
+            } else if (active.visitCount > 0) {
+                forgetDoubles(active, 0);
+                gameEventStore.deleteLastVisit(gameId, active.visitCount);
+            } else {
+                throw new IllegalStateException("Game " + gameId + " has nothing to undo");
+            }
+
+            rebuild(active);
+            gameEventStore.replayStatistics(gameId, active.player1Id, active.statistics);
+            for (int dart = 0; dart < kept; dart++) {
+                applyDart(active, segments[dart], multipliers[dart], false);
+            }
+            stateChanged(active);
+            if (isBotTurn(active)) {
+                botService.scheduleTurn(gameId);
+            }
+            return Optional.of(publish(active));
+        });
+    }
+
+    /**
+     * Takes the darts of the last visit from {@code from} on out of the Bob's 27 counters once
+     * the undo commits.
+     */
+    private void forgetDoubles(ActiveGame active, int from) {
+        if (!(active.engine instanceof Bobs27Engine)) {
+            return;
+        }
+        DartEngine engine = active.engine;
+        Long playerId = active.playerId(engine.getVisitPlayer());
+        int target = engine.getVisitRound() - 1;
+        int targetSegment = Bobs27Engine.targetSegment(target);
+        for (int dart = from; dart < engine.getVisitDarts(); dart++) {
+            boolean hit = engine.getVisitSegment(dart) == targetSegment && engine.getVisitMultiplier(dart) == 2;
+            afterCommit(() -> practiceStatisticsService.forgetDouble(playerId, target, hit));
+        }
+    }
+
+    /**
+     * Applies a manual correction to the game state if {@code precondition} accepts the entity tag
+     * of the current state, otherwise throws an {@link OptimisticLockingFailureException}. The
+     * corrected engine state is stored as a snapshot, so later rebuilds start from it, and undo no
+     * longer reaches the visits before it; an open visit is dropped. Only X01 games can be corrected.
+     */
+    public Optional<GameStateResponse> updateState(Long gameId, Predicate<String> precondition, Consumer<GameState> update) {
+        return gameExecutor.execute(gameId, () -> {
+            Optional<ActiveGame> optionalActive = getActiveGame(gameId);
+            if (optionalActive.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ActiveGame active = optionalActive.get();
+            if (!(active.engine instanceof X01Engine)) {
+                // game_state holds scores only; Cricket marks and the Bob's 27 target would be lost
+                throw new IllegalStateException("Game " + gameId + " is not an X01 game");
+            }
+            if (!precondition.test(eTag(active))) {
+                throw new OptimisticLockingFailureException("Game state " + gameId + " has changed");
+            }
+            discardOnRollback(active);
+            if (!active.engine.isVisitClosed()) {
+                discardOpenVisit(active);
+            }
+            update.accept(active.gameState);
+            restore(active.engine, active.gameState);
+            copyToState(active.engine, active.gameState);
+            // Drops the darts of the discarded visit
+            gameEventStore.replayStatistics(gameId, active.player1Id, active.statistics);
+            gameEventStore.correction(gameId, active.engine, active.visitCount);
+            stateChanged(active);
+            if (isBotTurn(active)) {
+                botService.scheduleTurn(gameId);
+            }
+            return Optional.of(publish(active));
+        });
+    }
+
+    /**
+     * Finishes a game from outside of play, e.g. when it is abandoned. Statistics gathered so far
+     * are written and, the first time the game finishes, added to the players' careers.
+     */
+    public Optional<GameResponse> finishGame(Long gameId, Long winnerId) {
+        return gameExecutor.execute(gameId, () -> {
+            Optional<Game> optionalGame = gameRepository.findWithPlayersById(gameId);
+            if (optionalGame.isEmpty()) {
+                return Optional.empty();
+            }
+
+            unload(gameId);
+            afterCommit(() -> activeGames.remove(gameId));
+            Game game = optionalGame.get();
+            boolean firstFinish = game.getStatus() != Game.GameStatus.FINISHED;
+            game.setStatus(Game.GameStatus.FINISHED);
+            if (winnerId != null) {
+                // Found in the persistence context when the winner is one of the players
+                playerRepository.findById(winnerId).ifPresent(game::setWinner);
+            }
+            Game savedGame = gameRepository.save(game);
+            // The state's representation includes the game's status and winner
+            gameStateRepository.incrementVersionByGameId(gameId);
+
+            if (firstFinish) {
+                if (savedGame.getWinner() != null) {
+                    gameStatisticsRepository.markWinner(gameId, savedGame.getWinner().getId());
+                }
+                careerStatisticsService.recordFinishedGame(gameId);
+            }
+            tournamentService.gameEnded(gameId, savedGame.getWinner() != null ? savedGame.getWinner().getId() : null);
+            GameResponse response = GameResponse.from(savedGame);
+            // Sent after commit by the service itself; a synchronization registered from afterCommit would never run
+            liveScoreService.publishFinished(response);
+            gameDeltaService.recordFinished(response);
+            return Optional.of(response);
+        });
+    }
+
+    /**
+     * Drops the cached engine, e.g. after the game was finished or changed outside of play.
+     * The statistics gathered so far are written first.
+     */
+    public void evict(Long gameId) {
+        gameExecutor.run(gameId, () -> unload(gameId));
+    }
+
+    /**
+     * Loads the game again after visits were added to its events outside of play, and publishes the
+     * result. The loaded engine is dropped without writing it, as it misses those visits.
+     */
+    public void reload(Long gameId) {
+        gameExecutor.run(gameId, () -> {
+            ActiveGame active = activeGames.get(gameId);
+            if (active == null) {
+                return;
+            }
+            active.unwritten = false;
+            unwrittenStates.remove(active);
+            activeGames.unload(gameId);
+            publishStored(gameId, active.gameState.getVersion());
+        });
+    }
+
+    /**
+     * Drops a deleted game from memory, without writing its state or statistics.
+     */
+    public void discard(Long gameId) {
+        gameExecutor.run(gameId, () -> {
+            ActiveGame active = activeGames.remove(gameId);
+            if (active != null) {
+                unwrittenStates.remove(active);
+            }
+            // Frees the board of a deleted tournament game
+            tournamentService.gameEnded(gameId, null);
+        });
+    }
+
+    /**
+     * Writes the game's state and statistics and unloads it. Readers keep using the loaded game
+     * until the written row is visible, and then load it again from there.
+     */
+    private void unload(Long gameId) {
+        ActiveGame active = activeGames.get(gameId);
+        if (active == null) {
+            return;
+        }
+        writeState(active);
+        saveStatistics(active);
+        afterCommit(() -> activeGames.unload(gameId));
+    }
+
+    /**
+     * Unloads the games that have not been used for the time to live, each in its mailbox, where it
+     * is checked again, as a task may have used the game meanwhile.
+     */
+    private void unloadIdleGames() {
+        for (Long gameId : activeGames.idle()) {
+            gameExecutor.post(gameId, () -> {
+                if (activeGames.isIdle(gameId)) {
+                    unload(gameId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the coalesced changes of every game, each in its mailbox.
+     */
+    private void writeStates() {
+        for (ActiveGame active : unwrittenStates) {
+            gameExecutor.post(active.gameId, () -> writeState(active));
+        }
+    }
+
+    /**
+     * The game's engine, loaded if needed; only called in the game's mailbox, so a game is loaded once.
+     * Loading one game beyond the registry's capacity unloads the least recently used of its shard.
+     */
+    private Optional<ActiveGame> getActiveGame(Long gameId) {
+        ActiveGame active = activeGames.get(gameId);
+        if (active != null) {
+            return Optional.of(active);
+        }
+        Optional<ActiveGame> loaded = load(gameId);
+        if (loaded.isEmpty()) {
+            return Optional.empty();
+        }
+        // Published before the game becomes visible to readers
+        loaded.get().published = toResponse(loaded.get());
+        Long overflow = activeGames.load(GameResponse.from(loaded.get().gameState.getGame()), loaded.get());
+        if (overflow != null) {
+            gameExecutor.post(overflow, () -> unload(overflow));
+        }
+        if (isBotTurn(loaded.get())) {
+            botService.scheduleTurn(gameId);
+        }
+        return loaded;
+    }
+
+    private Optional<ActiveGame> load(Long gameId) {
+        // The game and its players stay attached to the state for GameStateResponse
+        Optional<GameState> optionalState = gameStateRepository.findWithGameByGameId(gameId);
+        if (optionalState.isEmpty()) {
+            return Optional.empty();
+        }
+
+        GameState gameState = optionalState.get();
+        Game game = gameState.getGame();
+        // The state is written through updateStateByGameId, never by dirty checking
+        entityManager.detach(gameState);
+        if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            activeGames.remove(gameId);
+            throw new IllegalStateException("Game " + gameId + " is not in progress");
+        }
+
+        Long player1Id = game.getPlayer1().getId();
+        Long player2Id = game.getPlayer2() != null ? game.getPlayer2().getId() : null;
+        boolean twoPlayers = player2Id != null;
+
+        DartEngine engine = createEngine(game, twoPlayers);
+        int visitCount = gameEventStore.rebuild(engine, gameId);
+        replayOpenVisit(engine, gameId, player1Id, player2Id);
+        // The row misses changes that were not written, e.g. before a crash
+        boolean rowBehind = !matches(engine, gameState);
+        // Unchanged unless an open visit was replayed, which the entity tag tells apart
+        LocalDateTime updatedAt = gameState.getUpdatedAt();
+        copyToState(engine, gameState);
+        gameState.setUpdatedAt(updatedAt);
+
+        GameStatisticsAccumulator[] statistics = new GameStatisticsAccumulator[engine.getPlayerCount()];
+        for (int player = 0; player < statistics.length; player++) {
+            statistics[player] = new GameStatisticsAccumulator(engine instanceof X01Engine);
+        }
+        gameEventStore.replayStatistics(gameId, player1Id, statistics);
+        if (!engine.isVisitClosed()) {
+            for (int dart = 0; dart < engine.getVisitDarts(); dart++) {
+                statistics[engine.getVisitPlayer()].dart(engine.getVisitSegment(dart), engine.getVisitMultiplier(dart));
+            }
+        }
+
+        int[] skillLevels = null;
+        if (engine instanceof X01Engine && twoPlayers) {
+            skillLevels = new int[] {skillLevel(game, player1Id, false), skillLevel(game, player2Id, true)};
+        }
+
+        DartBot bot = null;
+        if (game.getGameMode() == Game.GameMode.VS_BOT && twoPlayers) {
+            int level = game.getBotLevel() != null ? game.getBotLevel() : DEFAULT_SKILL_LEVEL;
+            bot = new DartBot(level, checkoutTable, System.nanoTime() ^ gameId);
+        }
+
+        ActiveGame active = new ActiveGame(gameId, player1Id, player2Id, engine, bot, gameState, skillLevels, statistics, visitCount);
+        if (rowBehind) {
+            // A new version, so that the row's entity tag does not stand for two states
+            stateChanged(active);
+        }
+        return Optional.of(active);
+    }
+
+    static DartEngine createEngine(Game game, boolean twoPlayers) {
+        return switch (game.getGameType()) {
+            case X01 -> new X01Engine(
+                    game.getStartScore(),
+                    Boolean.TRUE.equals(game.getDoubleIn()),
+                    !Boolean.FALSE.equals(game.getDoubleOut()),
+                    intValue(game.getTargetLegs()),
+                    intValue(game.getTargetSets()),
+                    twoPlayers);
+            case CRICKET -> new CricketEngine(intValue(game.getTargetLegs()), intValue(game.getTargetSets()), twoPlayers);
+            case BOBS27 -> new Bobs27Engine(twoPlayers);
+        };
+    }
+
+    private void rebuild(ActiveGame active) {
+        discardOnRollback(active);
+        DartEngine engine = createEngine(active.gameState.getGame(), active.player2Id != null);
+        active.visitCount = gameEventStore.rebuild(engine, active.gameId);
+        active.engine = engine;
+        copyToState(engine, active.gameState);
+    }
+
+    /**
+     * Maps a player to a win-probability skill level: the bot's configured level,
+     * otherwise the level closest to the player's historical three-dart average.
+     */
+    private int skillLevel(Game game, Long playerId, boolean secondPlayer) {
+        if (secondPlayer && game.getGameMode() == Game.GameMode.VS_BOT) {
+            return game.getBotLevel() != null ? game.getBotLevel() : DEFAULT_SKILL_LEVEL;
+        }
+        Double averagePerDart = gameStatisticsRepository.getOverallAverageScoreByPlayer(playerId);
+        if (averagePerDart == null || averagePerDart <= 0.0) {
+            return DEFAULT_SKILL_LEVEL;
+        }
+        return winProbabilityTable.levelForAverage(averagePerDart * DartEngine.DARTS_PER_VISIT);
+    }
+
+    private static void restore(DartEngine engine, GameState gameState) {
+        engine.restore(
+                intValue(gameState.getPlayer1Score()), intValue(gameState.getPlayer2Score()),
+                intValue(gameState.getPlayer1Legs()), intValue(gameState.getPlayer2Legs()),
+                intValue(gameState.getPlayer1Sets()), intValue(gameState.getPlayer2Sets()),
+                intValue(gameState.getPlayer1DartsThrown()), intValue(gameState.getPlayer2DartsThrown()),
+                gameState.getCurrentPlayer() == GameState.CurrentPlayer.PLAYER2 ? DartEngine.PLAYER2 : DartEngine.PLAYER1,
+                intValue(gameState.getRoundNumber()));
+    }
+
+    private void journal(ActiveGame active) {
+        DartEngine engine = active.engine;
+        int dart = engine.getVisitDarts() - 1;
+        int flags = 0;
+        int scoreAfter = 0;
+        int visitTotal = 0;
+        if (engine.isVisitClosed()) {
+            flags = ThrowJournal.FLAG_VISIT_END
+                    | (engine.isVisitBust() ? ThrowJournal.FLAG_BUST : 0)
+                    | (engine.isVisitCheckout() ? ThrowJournal.FLAG_CHECKOUT : 0);
+            scoreAfter = engine.getVisitScoreAfter();
+            visitTotal = engine.getVisitTotal();
+        }
+        long gameId = active.gameId;
+        long playerId = active.playerId(engine.getVisitPlayer());
+        int roundNumber = engine.getVisitRound();
+        int segment = engine.getVisitSegment(dart);
+        int multiplier = engine.getVisitMultiplier(dart);
+        int scoreBefore = engine.getVisitScoreBefore();
+        int journalFlags = flags;
+        int journalScoreAfter = scoreAfter;
+        int journalVisitTotal = visitTotal;
+        // Only darts whose task committed are journaled, so a rolled back dart is not replayed
+        afterCommit(() -> throwJournal.append(gameId, playerId, roundNumber, dart + 1, segment, multiplier,
+                journalFlags, scoreBefore, journalScoreAfter, journalVisitTotal));
+    }
+
+    /**
+     * Re-applies the darts of a visit that was in progress when the engine was dropped
+     * (e.g. on restart). They are only in the journal, which already holds them.
+     */
+    private void replayOpenVisit(DartEngine engine, Long gameId, Long player1Id, Long player2Id) {
+        List<ThrowJournal.Entry> darts = throwJournal.openVisit(gameId);
+        if (darts.isEmpty() || engine.isFinished()) {
+            return;
+        }
+        Long currentId = engine.getCurrentPlayer() == DartEngine.PLAYER1 ? player1Id : player2Id;
+        if (currentId == null || currentId != darts.get(0).getPlayerId()) {
+            return;
+        }
+        for (ThrowJournal.Entry dart : darts) {
+            engine.throwDart(dart.getSegment(), dart.getMultiplier());
+        }
+    }
+
+    /**
+     * Ends the open visit in the journal without recording it.
+     */
+    private void discardOpenVisit(ActiveGame active) {
+        DartEngine engine = active.engine;
+        long gameId = active.gameId;
+        long playerId = active.playerId(engine.getVisitPlayer());
+        int roundNumber = engine.getVisitRound();
+        int scoreBefore = engine.getVisitScoreBefore();
+        afterCommit(() -> throwJournal.append(gameId, playerId, roundNumber,
+                0, 0, 0, ThrowJournal.FLAG_VISIT_END | ThrowJournal.FLAG_DISCARD, scoreBefore, 0, 0));
+    }
+
+    /**
+     * Counts a change of the game's state, which readers see from memory; the row is written later.
+     */
+    private void stateChanged(ActiveGame active) {
+        discardOnRollback(active);
+        active.gameState.setVersion(active.gameState.getVersion() + 1);
+        if (!active.unwritten) {
+            active.unwritten = true;
+            unwrittenStates.add(active);
+        }
+    }
+
+    /**
+     * Writes the state if it has unwritten changes and the row still has the version last written.
+     * Otherwise the row was written elsewhere: the task fails, and the rollback replaces the diverged
+     * game in memory with the stored one.
+     */
+    private void writeState(ActiveGame active) {
+        if (!active.unwritten) {
+            return;
+        }
+        discardOnRollback(active);
+        GameState state = active.gameState;
+        active.unwritten = false;
+        unwrittenStates.remove(active);
+        int updated = gameStateRepository.updateStateByGameId(active.gameId,
+                state.getPlayer1Score(), state.getPlayer2Score(),
+                state.getPlayer1Legs(), state.getPlayer2Legs(),
+                state.getPlayer1Sets(), state.getPlayer2Sets(),
+                state.getCurrentPlayer(), state.getRoundNumber(),
+                state.getPlayer1DartsThrown(), state.getPlayer2DartsThrown(),
+                state.getUpdatedAt(), state.getVersion(), active.writtenVersion);
+        if (updated == 0) {
+            throw new IllegalStateException("Game state " + active.gameId + " was changed concurrently");
+        }
+        active.writtenVersion = state.getVersion();
+    }
+
+    /**
+     * Drops the game from memory if the current task's transaction rolls back, as its engine, statistics
+     * and state then run ahead of what was stored; it is loaded again from the database and the journal.
+     * Registered once per task, when the task first changes the game.
+     */
+    private void discardOnRollback(ActiveGame active) {
+        if (active.changing || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        active.changing = true;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                active.changing = false;
+                if (status != STATUS_COMMITTED) {
+                    rolledBack(active);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the game in memory with the stored one, and publishes that to readers and subscribers, who
+     * may have seen changes of the dropped game that were never written (e.g. when its coalesced write
+     * conflicted). The stored state gets a version past the dropped one, so their entity tags differ.
+     */
+    private void rolledBack(ActiveGame active) {
+        logger.warn("Changes to game {} were rolled back, loading it again", active.gameId);
+        active.unwritten = false;
+        unwrittenStates.remove(active);
+        activeGames.unload(active.gameId);
+        long droppedVersion = active.gameState.getVersion();
+        gameExecutor.post(active.gameId, () -> publishStored(active.gameId, droppedVersion));
+    }
+
+    /**
+     * Loads the stored game in place of a dropped one and publishes it, with a version past the
+     * dropped one's, so that the entity tags of the two differ.
+     */
+    private void publishStored(Long gameId, long droppedVersion) {
+        Optional<ActiveGame> reloaded;
+        try {
+            reloaded = getActiveGame(gameId);
+        } catch (IllegalStateException e) {
+            // No longer in progress
+            return;
+        }
+        reloaded.ifPresent(stored -> {
+            if (stored.gameState.getVersion() <= droppedVersion) {
+                stored.gameState.setVersion(droppedVersion);
+                stateChanged(stored);
+            }
+            publish(stored);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void saveStatistics(ActiveGame active) {
+        DartEngine engine = active.engine;
+        LocalDateTime now = LocalDateTime.now();
+        for (int player = 0; player < active.statistics.length; player++) {
+            GameStatisticsAccumulator statistics = active.statistics[player];
+            BigDecimal average = statistics.getDartsThrown() > 0
+                    ? BigDecimal.valueOf(statistics.getTotalScore())
+                            .divide(BigDecimal.valueOf(statistics.getDartsThrown()), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            int opponentSets = active.statistics.length == 2 ? engine.getSets(1 - player) : 0;
+            gameStatisticsRepository.updateStatistics(active.gameId, active.playerId(player),
+                    statistics.getDartsThrown(), statistics.getTotalScore(), average, statistics.getHighestCheckout(),
+                    statistics.getCount180(), statistics.getCount140Plus(),
+                    statistics.getCount100Plus(), statistics.getCount60Plus(),
+                    statistics.getCountDoubles(), statistics.getCountTriples(),
+                    statistics.getCountBullseyes(), statistics.getCountMisses(),
+                    statistics.getLegsWon(), statistics.getLegsLost(),
+                    engine.getSets(player), opponentSets, engine.getWinner() == player, now);
+        }
+    }
+
+    private void finish(ActiveGame active) {
+        writeState(active);
+        Optional<Game> optionalGame = gameRepository.findById(active.gameId);
+        if (optionalGame.isPresent()) {
+            Game game = optionalGame.get();
+            game.setStatus(Game.GameStatus.FINISHED);
+            game.setWinner(playerRepository.getReferenceById(active.playerId(active.engine.getWinner())));
+            gameRepository.save(game);
+            careerStatisticsService.recordFinishedGame(active.gameId);
+            tournamentService.gameEnded(active.gameId, active.playerId(active.engine.getWinner()));
+        }
+        // The last response is mapped from the cached game, which may be a detached copy
+        Game cached = active.gameState.getGame();
+        cached.setStatus(Game.GameStatus.FINISHED);
+        cached.setWinner(active.engine.getWinner() == DartEngine.PLAYER1 ? cached.getPlayer1() : cached.getPlayer2());
+        afterCommit(() -> activeGames.remove(active.gameId));
+    }
+
+    /**
+     * Maps the state for the caller, the live score subscribers, the delta streams and readers outside
+     * of the game's mailbox.
+     */
+    private GameStateResponse publish(ActiveGame active) {
+        GameStateResponse response = toResponse(active);
+        gameDeltaService.record(response);
+        // Readers only see committed changes; the subscribers are sent the state after commit as well,
+        // after it is published here
+        afterCommit(() -> active.published = response);
+        liveScoreService.publishState(response);
+        return response;
+    }
+
+    private static GameStateResponse toResponse(ActiveGame active) {
+        GameStateResponse response = GameStateResponse.from(active.gameState);
+        response.setETag(eTag(active));
+        return response;
+    }
+
+    private static String eTag(ActiveGame active) {
+        DartEngine engine = active.engine;
+        return GameStateResponse.eTag(active.gameState.getVersion(), engine.isVisitClosed() ? 0 : engine.getVisitDarts());
+    }
+
+    private static boolean matches(DartEngine engine, GameState state) {
+        return intValue(state.getPlayer1Score()) == engine.getScore(DartEngine.PLAYER1)
+                && intValue(state.getPlayer2Score()) == engine.getScore(DartEngine.PLAYER2)
+                && intValue(state.getPlayer1Legs()) == engine.getLegs(DartEngine.PLAYER1)
+                && intValue(state.getPlayer2Legs()) == engine.getLegs(DartEngine.PLAYER2)
+                && intValue(state.getPlayer1Sets()) == engine.getSets(DartEngine.PLAYER1)
+                && intValue(state.getPlayer2Sets()) == engine.getSets(DartEngine.PLAYER2)
+                && (state.getCurrentPlayer() == GameState.CurrentPlayer.PLAYER2) == (engine.getCurrentPlayer() == DartEngine.PLAYER2)
+                && intValue(state.getRoundNumber()) == engine.getRoundNumber()
+                && intValue(state.getPlayer1DartsThrown()) == engine.getDartsThrown(DartEngine.PLAYER1)
+                && intValue(state.getPlayer2DartsThrown()) == engine.getDartsThrown(DartEngine.PLAYER2);
+    }
+
+    private static void copyToState(DartEngine engine, GameState state) {
+        state.setPlayer1Score(engine.getScore(DartEngine.PLAYER1));
+        state.setPlayer2Score(engine.getScore(DartEngine.PLAYER2));
+        state.setPlayer1Legs(engine.getLegs(DartEngine.PLAYER1));
+        state.setPlayer2Legs(engine.getLegs(DartEngine.PLAYER2));
+        state.setPlayer1Sets(engine.getSets(DartEngine.PLAYER1));
+        state.setPlayer2Sets(engine.getSets(DartEngine.PLAYER2));
+        state.setCurrentPlayer(engine.getCurrentPlayer() == DartEngine.PLAYER2
+                ? GameState.CurrentPlayer.PLAYER2 : GameState.CurrentPlayer.PLAYER1);
+        state.setRoundNumber(engine.getRoundNumber());
+        state.setPlayer1DartsThrown(engine.getDartsThrown(DartEngine.PLAYER1));
+        state.setPlayer2DartsThrown(engine.getDartsThrown(DartEngine.PLAYER2));
+    }
+
+    private static int intValue(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static final class ActiveGame {
+        private final Long gameId;
+        private final Long player1Id;
+        private final Long player2Id;
+        private final DartBot bot;
+        private final GameState gameState;
+        // Win-probability skill level per player, X01 two-player games only
+        private final int[] skillLevels;
+        // Indexed like the engine's players; rebuilt together with the engine
+        private final GameStatisticsAccumulator[] statistics;
+        // Replaced on undo; like the rest of the state only used in the game's mailbox
+        private DartEngine engine;
+        private int visitCount;
+        // The version of the row; the state's own version runs ahead while changes are unwritten
+        private long writtenVersion;
+        private boolean unwritten;
+        // Whether the running task changed the game, so that a rollback drops it
+        private boolean changing;
+        // The last state mapped in the mailbox, for readers outside of it; never modified
+        private volatile GameStateResponse published;
+
+        private ActiveGame(Long gameId, Long player1Id, Long player2Id, DartEngine engine, DartBot bot,
+                           GameState gameState, int[] skillLevels, GameStatisticsAccumulator[] statistics,
+                           int visitCount) {
+            this.gameId = gameId;
+            this.player1Id = player1Id;
+            this.player2Id = player2Id;
+            this.engine = engine;
+            this.bot = bot;
+            this.gameState = gameState;
+            this.skillLevels = skillLevels;
+            this.statistics = statistics;
+            this.visitCount = visitCount;
+            this.writtenVersion = gameState.getVersion();
+        }
+
+        private Long playerId(int player) {
+            return player == DartEngine.PLAYER1 ? player1Id : player2Id;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.dartverein.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Append-only write-ahead journal of scored darts in a memory-mapped file.
+ * <p>
+ * Every dart is one fixed-width record of {@link #RECORD_SIZE} bytes. The status byte is written
+ * last, so a record is either complete or ignored. {@link ThrowJournalFlusher} drains complete
+ * visits into the rounds/throws tables and marks their records as flushed; {@link #compact()}
+ * then moves the remaining records to the front of the file. Each record carries a sequence
+ * number, so copies left behind by an interrupted compaction are dropped on recovery.
+ * Records reach the OS page cache on append, which survives a process crash; {@link #force()}
+ * writes them to disk.
+ */
+@Service
+public class ThrowJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ThrowJournal.class);
+
+    public static final int RECORD_SIZE = 64;
+
+    public static final int FLAG_VISIT_END = 1;
+    public static final int FLAG_BUST = 2;
+    public static final int FLAG_CHECKOUT = 4;
+    // Ends the open visit without recording it (undo, manual state override)
+    public static final int FLAG_DISCARD = 8;
+
+    private static final byte FREE = 0;
+    private static final byte WRITTEN = 1;
+    private static final byte FLUSHED = 2;
+
+    // Record layout
+    private static final int STATUS = 0;
+    private static final int FLAGS = 1;
+    private static final int SEGMENT = 2;
+    private static final int MULTIPLIER = 3;
+    private static final int DART_NUMBER = 4;
+    private static final int SEQUENCE = 8;
+    private static final int GAME_ID = 16;
+    private static final int PLAYER_ID = 24;
+    private static final int ROUND_NUMBER = 32;
+    private static final int SCORE_BEFORE = 36;
+    private static final int SCORE_AFTER = 40;
+    private static final int VISIT_TOTAL = 44;
+    private static final int TIMESTAMP = 48;
+
+    @Value("${dartverein.journal.path:data/throws.journal}")
+    private String path;
+
+    @Value("${dartverein.journal.capacity:65536}")
+    private int capacity;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final byte[] copy = new byte[RECORD_SIZE];
+
+    // Records in [0, writeIndex) are WRITTEN or FLUSHED, in sequence order
+    private int writeIndex;
+    private long nextSequence = 1;
+
+    @PostConstruct
+    void open() throws IOException {
+        Path file = Paths.get(path).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        recover();
+        logger.info("Throw journal {} opened with {} pending darts", file, writeIndex);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Appends one dart. Visit fields (score after, total, bust/checkout flags) are only
+     * meaningful on the record flagged {@link #FLAG_VISIT_END}.
+     */
+    public synchronized void append(long gameId, long playerId, int roundNumber, int dartNumber,
+                                    int segment, int multiplier, int flags,
+                                    int scoreBefore, int scoreAfter, int visitTotal) {
+        if (writeIndex == capacity) {
+            compact();
+            if (writeIndex == capacity) {
+                throw new IllegalStateException("Throw journal is full");
+            }
+        }
+        int base = writeIndex * RECORD_SIZE;
+        buffer.put(base + FLAGS, (byte) flags);
+        buffer.put(base + SEGMENT, (byte) segment);
+        buffer.put(base + MULTIPLIER, (byte) multiplier);
+        buffer.putInt(base + DART_NUMBER, dartNumber);
+        buffer.putLong(base + SEQUENCE, nextSequence++);
+        buffer.putLong(base + GAME_ID, gameId);
+        buffer.putLong(base + PLAYER_ID, playerId);
+        buffer.putInt(base + ROUND_NUMBER, roundNumber);
+        buffer.putInt(base + SCORE_BEFORE, scoreBefore);
+        buffer.putInt(base + SCORE_AFTER, scoreAfter);
+        buffer.putInt(base + VISIT_TOTAL, visitTotal);
+        buffer.putLong(base + TIMESTAMP, System.currentTimeMillis());
+        buffer.put(base + STATUS, WRITTEN);
+        writeIndex++;
+    }
+
+    /**
+     * Returns up to {@code max} unflushed records of closed visits in append order. Darts of visits
+     * that are still open are skipped, so they cannot crowd the closed visits behind them out of a batch.
+     */
+    public synchronized List<Entry> pending(int max) {
+        // Walking backwards, a game's records are closed once a record ending one of its visits was seen
+        boolean[] closed = new boolean[writeIndex];
+        Set<Long> closedGames = new HashSet<>();
+        for (int index = writeIndex - 1; index >= 0; index--) {
+            int base = index * RECORD_SIZE;
+            if (buffer.get(base + STATUS) != WRITTEN) {
+                continue;
+            }
+            long gameId = buffer.getLong(base + GAME_ID);
+            if ((buffer.get(base + FLAGS) & FLAG_VISIT_END) != 0) {
+                closedGames.add(gameId);
+            }
+            closed[index] = closedGames.contains(gameId);
+        }
+
+        List<Entry> entries = new ArrayList<>(Math.min(max, writeIndex));
+        for (int index = 0; index < writeIndex && entries.size() < max; index++) {
+            if (closed[index]) {
+                entries.add(read(index));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the darts of the game's visit that has not been closed yet, in throw order.
+     */
+    public synchronized List<Entry> openVisit(long gameId) {
+        List<Entry> entries = new ArrayList<>(3);
+        for (int index = 0; index < writeIndex; index++) {
+            int base = index * RECORD_SIZE;
+            if (buffer.get(base + STATUS) != WRITTEN || buffer.getLong(base + GAME_ID) != gameId) {
+                continue;
+            }
+            if ((buffer.get(base + FLAGS) & FLAG_VISIT_END) != 0) {
+                entries.clear();
+            } else {
+                entries.add(read(index));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Marks the records with the given sequence numbers as written to the database.
+     */
+    public synchronized void markFlushed(long[] sequences) {
+        long[] sorted = sequences.clone();
+        Arrays.sort(sorted);
+        for (int index = 0; index < writeIndex; index++) {
+            int base = index * RECORD_SIZE;
+            if (buffer.get(base + STATUS) == WRITTEN && Arrays.binarySearch(sorted, buffer.getLong(base + SEQUENCE)) >= 0) {
+                buffer.put(base + STATUS, FLUSHED);
+            }
+        }
+    }
+
+    /**
+     * Drops flushed records by moving the unflushed ones, in order, to the front of the file.
+     */
+    public synchronized void compact() {
+        int target = 0;
+        for (int index = 0; index < writeIndex; index++) {
+            int base = index * RECORD_SIZE;
+            if (buffer.get(base + STATUS) != WRITTEN) {
+                continue;
+            }
+            if (index != target) {
+                move(index, target);
+            }
+            target++;
+        }
+        for (int index = target; index < writeIndex; index++) {
+            buffer.put(index * RECORD_SIZE + STATUS, FREE);
+        }
+        writeIndex = target;
+    }
+
+    /**
+     * Continues the sequence numbers after {@code sequence}, e.g. the last one already stored in the database.
+     */
+    public synchronized void advanceSequence(long sequence) {
+        nextSequence = Math.max(nextSequence, sequence + 1);
+    }
+
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    public synchronized int size() {
+        return writeIndex;
+    }
+
+    private void move(int from, int to) {
+        int source = from * RECORD_SIZE;
+        int destination = to * RECORD_SIZE;
+        buffer.get(source, copy);
+        // Invalidate the destination first so a torn copy is never read as a record
+        buffer.put(destination + STATUS, FREE);
+        buffer.put(destination + 1, copy, 1, RECORD_SIZE - 1);
+        buffer.put(destination + STATUS, WRITTEN);
+        buffer.put(source + STATUS, FREE);
+    }
+
+    /**
+     * Rebuilds the write position after a restart: keeps every unflushed record once,
+     * ordered by sequence, at the front of the file.
+     */
+    private void recover() {
+        long maxSequence = 0;
+        int count = 0;
+        long[] keys = new long[capacity];
+        for (int index = 0; index < capacity; index++) {
+            int base = index * RECORD_SIZE;
+            byte status = buffer.get(base + STATUS);
+            if (status == FREE) {
+                continue;
+            }
+            long sequence = buffer.getLong(base + SEQUENCE);
+            maxSequence = Math.max(maxSequence, sequence);
+            if (status == WRITTEN) {
+                // Sequence in the high bits, slot in the low 32 bits
+                keys[count++] = (sequence << 32) | index;
+            }
+        }
+        nextSequence = maxSequence + 1;
+
+        Arrays.sort(keys, 0, count);
+        byte[][] records = new byte[count][RECORD_SIZE];
+        int unique = 0;
+        long lastSequence = -1;
+        for (int i = 0; i < count; i++) {
+            long sequence = keys[i] >>> 32;
+            if (sequence == lastSequence) {
+                continue;
+            }
+            lastSequence = sequence;
+            buffer.get((int) keys[i] * RECORD_SIZE, records[unique++]);
+        }
+
+        for (int index = 0; index < capacity; index++) {
+            buffer.put(index * RECORD_SIZE + STATUS, FREE);
+        }
+        for (int index = 0; index < unique; index++) {
+            int base = index * RECORD_SIZE;
+            buffer.put(base + 1, records[index], 1, RECORD_SIZE - 1);
+            buffer.put(base + STATUS, WRITTEN);
+        }
+        writeIndex = unique;
+        buffer.force();
+    }
+
+    private Entry read(int index) {
+        int base = index * RECORD_SIZE;
+        return new Entry(
+                buffer.getLong(base + SEQUENCE),
+                buffer.getLong(base + GAME_ID),
+                buffer.getLong(base + PLAYER_ID),
+                buffer.getInt(base + ROUND_NUMBER),
+                buffer.getInt(base + DART_NUMBER),
+                buffer.get(base + SEGMENT),
+                buffer.get(base + MULTIPLIER),
+                buffer.get(base + FLAGS),
+                buffer.getInt(base + SCORE_BEFORE),
+                buffer.getInt(base + SCORE_AFTER),
+                buffer.getInt(base + VISIT_TOTAL),
+                buffer.getLong(base + TIMESTAMP));
+    }
+
+    /**
+     * Copy of one journal record.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final long gameId;
+        private final long playerId;
+        private final int roundNumber;
+        private final int dartNumber;
+        private final int segment;
+        private final int multiplier;
+        private final int flags;
+        private final int scoreBefore;
+        private final int scoreAfter;
+        private final int visitTotal;
+        private final long timestamp;
+
+        private Entry(long sequence, long gameId, long playerId, int roundNumber, int dartNumber,
+                      int segment, int multiplier, int flags, int scoreBefore, int scoreAfter,
+                      int visitTotal, long timestamp) {
+            this.sequence = sequence;
+            this.gameId = gameId;
+            this.playerId = playerId;
+            this.roundNumber = roundNumber;
+            this.dartNumber = dartNumber;
+            this.segment = segment;
+            this.multiplier = multiplier;
+            this.flags = flags;
+            this.scoreBefore = scoreBefore;
+            this.scoreAfter = scoreAfter;
+            this.visitTotal = visitTotal;
+            this.timestamp = timestamp;
+        }
+
+        public long getSequence() { return sequence; }
+        public long getGameId() { return gameId; }
+        public long getPlayerId() { return playerId; }
+        public int getRoundNumber() { return roundNumber; }
+        public int getDartNumber() { return dartNumber; }
+        public int getSegment() { return segment; }
+        public int getMultiplier() { return multiplier; }
+        public int getScoreBefore() { return scoreBefore; }
+        public int getScoreAfter() { return scoreAfter; }
+        public int getVisitTotal() { return visitTotal; }
+        public long getTimestamp() { return timestamp; }
+
+        public boolean isVisitEnd() { return (flags & FLAG_VISIT_END) != 0; }
+        public boolean isBust() { return (flags & FLAG_BUST) != 0; }
+        public boolean isCheckout() { return (flags & FLAG_CHECKOUT) != 0; }
+        public boolean isDiscard() { return (flags & FLAG_DISCARD) != 0; }
+    }
+}
@@ -0,0 +1,198 @@
+package com.dartverein.service;
+
+import com.dartverein.model.Game;
+import com.dartverein.model.Player;
+import com.dartverein.model.Round;
+import com.dartverein.model.Throw;
+import com.dartverein.repository.GameRepository;
+import com.dartverein.repository.PlayerRepository;
+import com.dartverein.repository.RoundRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains complete visits from the {@link ThrowJournal} into the rounds/throws tables in batches,
+ * on a background thread and on demand. Delivery is at-least-once: records are marked as flushed
+ * after the transaction commits.
+ */
+@Service
+public class ThrowJournalFlusher {
+    private static final Logger logger = LoggerFactory.getLogger(ThrowJournalFlusher.class);
+
+    @Autowired
+    private ThrowJournal journal;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dartverein.journal.flushIntervalMs:200}")
+    private long flushIntervalMs;
+
+    @Value("${dartverein.journal.batchSize:1000}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Callers may be inside a (read-only) transaction of their own
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // A new or replaced journal file must not reuse the sequences of visits already stored
+        journal.advanceSequence(roundRepository.findMaxJournalSequence().orElse(0L));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "throw-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        flushQuietly();
+        journal.force();
+    }
+
+    /**
+     * Writes every complete visit in the journal to the database. Darts of visits that are
+     * still open stay in the journal.
+     */
+    public synchronized void flush() {
+        while (true) {
+            List<ThrowJournal.Entry> pending = journal.pending(batchSize);
+            List<List<ThrowJournal.Entry>> visits = completeVisits(pending);
+            if (visits.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> persist(visits));
+
+            int count = 0;
+            for (List<ThrowJournal.Entry> visit : visits) {
+                count += visit.size();
+            }
+            long[] sequences = new long[count];
+            int n = 0;
+            for (List<ThrowJournal.Entry> visit : visits) {
+                for (ThrowJournal.Entry entry : visit) {
+                    sequences[n++] = entry.getSequence();
+                }
+            }
+            journal.markFlushed(sequences);
+            if (pending.size() < batchSize) {
+                break;
+            }
+        }
+        journal.compact();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Flushing the throw journal failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Groups records into visits; a visit is complete once its record flagged as visit end is present.
+     */
+    private static List<List<ThrowJournal.Entry>> completeVisits(List<ThrowJournal.Entry> entries) {
+        Map<Long, List<ThrowJournal.Entry>> open = new HashMap<>();
+        List<List<ThrowJournal.Entry>> complete = new ArrayList<>();
+        for (ThrowJournal.Entry entry : entries) {
+            List<ThrowJournal.Entry> visit = open.computeIfAbsent(entry.getGameId(), id -> new ArrayList<>(3));
+            visit.add(entry);
+            if (entry.isVisitEnd()) {
+                complete.add(visit);
+                open.remove(entry.getGameId());
+            }
+        }
+        return complete;
+    }
+
+    private void persist(List<List<ThrowJournal.Entry>> visits) {
+        Set<Long> gameIds = new HashSet<>();
+        for (List<ThrowJournal.Entry> visit : visits) {
+            gameIds.add(visit.get(0).getGameId());
+        }
+        Set<Long> existing = new HashSet<>();
+        for (Game game : gameRepository.findAllById(gameIds)) {
+            existing.add(game.getId());
+        }
+
+        // Visits stored by a flush whose records were not marked before a crash
+        List<Long> sequences = new ArrayList<>(visits.size());
+        for (List<ThrowJournal.Entry> visit : visits) {
+            sequences.add(visit.get(visit.size() - 1).getSequence());
+        }
+        Set<Long> stored = new HashSet<>(roundRepository.findStoredJournalSequences(sequences));
+
+        List<Round> rounds = new ArrayList<>(visits.size());
+        for (List<ThrowJournal.Entry> visit : visits) {
+            ThrowJournal.Entry last = visit.get(visit.size() - 1);
+            if (last.isDiscard() || stored.contains(last.getSequence())) {
+                continue;
+            }
+            if (!existing.contains(last.getGameId())) {
+                // Game deleted before its darts were flushed
+                logger.warn("Dropping journaled visit of deleted game {}", last.getGameId());
+                continue;
+            }
+            Game game = gameRepository.getReferenceById(last.getGameId());
+            Player player = playerRepository.getReferenceById(last.getPlayerId());
+
+            Round round = new Round(game, player, last.getRoundNumber(), last.getScoreBefore());
+            round.setScoreAfter(last.getScoreAfter());
+            round.setTotalThrown(last.getVisitTotal());
+            round.setDartsThrown(visit.size());
+            round.setIsBust(last.isBust());
+            round.setIsCheckout(last.isCheckout());
+            round.setJournalSequence(last.getSequence());
+
+            List<Throw> dartThrows = new ArrayList<>(visit.size());
+            for (ThrowJournal.Entry entry : visit) {
+                Throw dartThrow = new Throw(game, round, player, entry.getDartNumber(),
+                        entry.getSegment() * entry.getMultiplier());
+                dartThrow.setSegment(entry.getSegment());
+                dartThrow.setMultiplier(Math.max(entry.getMultiplier(), 1));
+                dartThrows.add(dartThrow);
+            }
+            round.setThrows(dartThrows);
+            rounds.add(round);
+        }
+        roundRepository.saveAll(rounds);
+    }
+}
@@ -0,0 +1,653 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameBatchRequest;
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.TournamentMatchResponse;
+import com.dartverein.dto.TournamentRequest;
+import com.dartverein.dto.TournamentResponse;
+import com.dartverein.model.Game;
+import com.dartverein.model.Player;
+import com.dartverein.model.Tournament;
+import com.dartverein.model.TournamentMatch;
+import com.dartverein.repository.GameRepository;
+import com.dartverein.repository.PlayerRepository;
+import com.dartverein.repository.TournamentMatchRepository;
+import com.dartverein.repository.TournamentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Knockout tournaments: seeded brackets whose matches are played as games on the tournament's boards.
+ * <p>
+ * Progression is driven by events: when a tournament game finishes, its board is freed and the winner
+ * moves on, after the game's transaction commits. A match whose players are both known waits in a
+ * priority queue ordered by the time both players have had their rest, then by round and position;
+ * free boards wait in a priority queue ordered by how long they have been free. Every assignment takes
+ * the head of both queues, O(log n) each. When the next match is still waiting for its players' rest,
+ * a single timer is set for that moment instead of polling.
+ * <p>
+ * The brackets in progress are kept in memory and only touched by the tournament thread, one event at
+ * a time, each in one transaction. They are loaded from the database on startup; a bracket whose
+ * update fails is loaded again.
+ */
+@Service
+public class TournamentService {
+    private static final Logger logger = LoggerFactory.getLogger(TournamentService.class);
+
+    private static final Comparator<Slot> MATCH_ORDER = Comparator
+            .comparingLong((Slot slot) -> slot.readyAt)
+            .thenComparingInt(slot -> slot.round)
+            .thenComparingInt(slot -> slot.position);
+
+    private static final Comparator<Board> BOARD_ORDER = Comparator
+            .comparingLong(Board::freeSince)
+            .thenComparingInt(Board::number);
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentMatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameCreationService gameCreationService;
+
+    @Lazy
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tournament thread only
+    private final Map<Long, Bracket> brackets = new HashMap<>();
+    // Games of matches in progress, by game id; checked by the games' mailboxes when they finish
+    private final Map<Long, Long> tournamentsByGame = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tournament");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the tournaments in progress once the application (and the games registry) is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadTournaments() {
+        scheduler.execute(() -> {
+            List<Long> tournamentIds = transactionTemplate.execute(status -> {
+                List<Long> ids = new ArrayList<>();
+                for (Tournament tournament : tournamentRepository.findByStatus(Tournament.TournamentStatus.IN_PROGRESS)) {
+                    ids.add(tournament.getId());
+                }
+                return ids;
+            });
+            for (Long tournamentId : tournamentIds) {
+                reload(tournamentId);
+                // Starts the matches waiting for the boards freed while the application was down
+                update(tournamentId, (bracket, changed) -> { });
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Creates the tournament's bracket and starts its first matches.
+     *
+     * @return the tournament's id
+     * @throws IllegalArgumentException if a player does not exist or is seeded twice
+     */
+    public Long createTournament(TournamentRequest request) {
+        return call(() -> transactionTemplate.execute(status -> create(request)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TournamentResponse> getTournaments() {
+        List<TournamentResponse> tournaments = new ArrayList<>();
+        for (Tournament tournament : tournamentRepository.findAllWithWinner()) {
+            tournaments.add(TournamentResponse.from(tournament, null));
+        }
+        return tournaments;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TournamentResponse> getTournament(Long tournamentId) {
+        return tournamentRepository.findWithWinnerById(tournamentId).map(tournament -> {
+            List<TournamentMatchResponse> matches = new ArrayList<>();
+            for (TournamentMatch match : matchRepository.findWithPlayersByTournamentId(tournamentId)) {
+                matches.add(TournamentMatchResponse.from(match));
+            }
+            return TournamentResponse.from(tournament, matches);
+        });
+    }
+
+    /**
+     * Called when a game ends, in its transaction: frees the board of the game's match and, with a winner,
+     * moves them on once the transaction commits. A no-op for games outside tournaments. Without a winner
+     * (an abandoned or deleted game) the match waits until one is set.
+     */
+    public void gameEnded(Long gameId, Long winnerId) {
+        if (!tournamentsByGame.containsKey(gameId)) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                scheduler.execute(() -> onGameEnded(gameId, winnerId));
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the finished game is picked up when the bracket is loaded again
+                logger.warn("Tournament update for game {} deferred to the next startup", gameId);
+            }
+        });
+    }
+
+    private void onGameEnded(Long gameId, Long winnerId) {
+        Long tournamentId = tournamentsByGame.get(gameId);
+        if (tournamentId == null) {
+            return;
+        }
+        update(tournamentId, (bracket, changed) -> {
+            Slot match = bracket.byGame.get(gameId);
+            if (match == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (match.holdsBoard) {
+                match.holdsBoard = false;
+                bracket.freeBoards.add(new Board(match.board, now));
+            }
+            if (match.status == TournamentMatch.MatchStatus.FINISHED) {
+                return;
+            }
+            if (winnerId == null || !(winnerId.equals(match.player1Id) || winnerId.equals(match.player2Id))) {
+                logger.warn("Game {} of tournament {} ended without a winner from its match", gameId, tournamentId);
+                return;
+            }
+            bracket.byGame.remove(gameId);
+            tournamentsByGame.remove(gameId);
+            bracket.restUntil.put(match.player1Id, now + bracket.restMillis);
+            bracket.restUntil.put(match.player2Id, now + bracket.restMillis);
+            decide(bracket, match, winnerId, now, changed);
+        });
+    }
+
+    private Long create(TournamentRequest request) {
+        List<Long> playerIds = request.getPlayerIds();
+        if (new HashSet<>(playerIds).size() != playerIds.size()) {
+            throw new IllegalArgumentException("A player is seeded twice");
+        }
+        Map<Long, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerIds)) {
+            players.put(player.getId(), player);
+        }
+        for (Long playerId : playerIds) {
+            if (!players.containsKey(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " does not exist");
+            }
+        }
+
+        Tournament tournament = new Tournament();
+        tournament.setName(request.getName());
+        tournament.setGameType(request.getGameType());
+        tournament.setStartScore(request.getStartScore() != null ? request.getStartScore() : 501);
+        tournament.setTargetLegs(request.getTargetLegs());
+        tournament.setTargetSets(request.getTargetSets());
+        tournament.setDoubleIn(request.getDoubleIn());
+        tournament.setDoubleOut(request.getDoubleOut());
+        tournament.setBoards(request.getBoards());
+        tournament.setRestSeconds(request.getRestSeconds());
+        tournament.setPlayerCount(playerIds.size());
+        entityManager.persist(tournament);
+
+        // The smallest power of two that holds every player; the missing opponents are byes of the top seeds
+        int size = Integer.highestOneBit(playerIds.size() * 2 - 1);
+        int[] seeds = seedOrder(size);
+        List<TournamentMatch> matches = new ArrayList<>(size - 1);
+        for (int round = 1, count = size / 2; count >= 1; round++, count /= 2) {
+            for (int position = 0; position < count; position++) {
+                TournamentMatch match = new TournamentMatch(tournament, round, position);
+                if (round == 1) {
+                    match.setPlayer1(seeded(players, playerIds, seeds[2 * position]));
+                    match.setPlayer2(seeded(players, playerIds, seeds[2 * position + 1]));
+                }
+                entityManager.persist(match);
+                matches.add(match);
+            }
+        }
+
+        Bracket bracket = new Bracket(tournament, matches);
+        Set<Slot> changed = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+        for (Slot match : bracket.rounds[0]) {
+            if (match.player1Id != null && match.player2Id != null) {
+                ready(bracket, match, now, changed);
+            } else {
+                decide(bracket, match, match.player1Id != null ? match.player1Id : match.player2Id, now, changed);
+            }
+        }
+        for (int board = 1; board <= bracket.boards; board++) {
+            bracket.freeBoards.add(new Board(board, now));
+        }
+        dispatch(bracket, changed);
+        write(bracket, changed);
+        afterCommit(() -> brackets.put(bracket.tournamentId, bracket));
+        return tournament.getId();
+    }
+
+    /**
+     * Runs a change of the bracket and the assignments it allows in one transaction, on the tournament thread.
+     */
+    private void update(Long tournamentId, BiConsumer<Bracket, Set<Slot>> change) {
+        Bracket bracket = brackets.get(tournamentId);
+        if (bracket == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Slot> changed = new LinkedHashSet<>();
+                change.accept(bracket, changed);
+                if (!bracket.finished) {
+                    dispatch(bracket, changed);
+                }
+                write(bracket, changed);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not update tournament {}, loading it again", tournamentId, e);
+            reload(tournamentId);
+        }
+    }
+
+    /**
+     * Records the match's winner and moves them on to the next round, or ends the tournament after the final.
+     */
+    private void decide(Bracket bracket, Slot match, Long winnerId, long now, Set<Slot> changed) {
+        match.winnerId = winnerId;
+        match.status = TournamentMatch.MatchStatus.FINISHED;
+        match.finishedAt = LocalDateTime.now();
+        changed.add(match);
+
+        if (match.round == bracket.rounds.length) {
+            bracket.finished = true;
+            bracket.winnerId = winnerId;
+            if (bracket.wakeup != null) {
+                bracket.wakeup.cancel(false);
+            }
+            brackets.remove(bracket.tournamentId);
+            return;
+        }
+        Slot next = bracket.rounds[match.round][match.position / 2];
+        if (match.position % 2 == 0) {
+            next.player1Id = winnerId;
+        } else {
+            next.player2Id = winnerId;
+        }
+        changed.add(next);
+        if (next.player1Id != null && next.player2Id != null) {
+            ready(bracket, next, now, changed);
+        }
+    }
+
+    private void ready(Bracket bracket, Slot match, long now, Set<Slot> changed) {
+        match.status = TournamentMatch.MatchStatus.READY;
+        match.readyAt = Math.max(now, Math.max(bracket.restUntil(match.player1Id), bracket.restUntil(match.player2Id)));
+        bracket.waiting.add(match);
+        changed.add(match);
+    }
+
+    /**
+     * Assigns rested matches to free boards, creates their games in one batch, and sets the timer for the
+     * next match still resting while a board is free.
+     */
+    private void dispatch(Bracket bracket, Set<Slot> changed) {
+        long now = System.currentTimeMillis();
+        List<Slot> starting = new ArrayList<>();
+        while (!bracket.freeBoards.isEmpty() && !bracket.waiting.isEmpty() && bracket.waiting.peek().readyAt <= now) {
+            Slot match = bracket.waiting.poll();
+            match.board = bracket.freeBoards.poll().number();
+            match.holdsBoard = true;
+            match.status = TournamentMatch.MatchStatus.PLAYING;
+            match.startedAt = LocalDateTime.now();
+            starting.add(match);
+        }
+
+        if (!starting.isEmpty()) {
+            GameBatchRequest request = new GameBatchRequest();
+            request.setGameType(bracket.gameType);
+            request.setGameMode(Game.GameMode.WITH_ENEMY);
+            request.setStartScore(bracket.startScore);
+            request.setTargetLegs(bracket.targetLegs);
+            request.setTargetSets(bracket.targetSets);
+            request.setDoubleIn(bracket.doubleIn);
+            request.setDoubleOut(bracket.doubleOut);
+            List<GameBatchRequest.Pairing> pairings = new ArrayList<>(starting.size());
+            for (Slot match : starting) {
+                GameBatchRequest.Pairing pairing = new GameBatchRequest.Pairing();
+                pairing.setPlayer1Id(match.player1Id);
+                pairing.setPlayer2Id(match.player2Id);
+                pairings.add(pairing);
+            }
+            request.setPairings(pairings);
+
+            List<Game> games = gameCreationService.createGames(request);
+            List<GameResponse> listings = new ArrayList<>(games.size());
+            for (int i = 0; i < games.size(); i++) {
+                Slot match = starting.get(i);
+                match.gameId = games.get(i).getId();
+                bracket.byGame.put(match.gameId, match);
+                tournamentsByGame.put(match.gameId, bracket.tournamentId);
+                listings.add(GameResponse.from(games.get(i)));
+                changed.add(match);
+            }
+            afterCommit(() -> listings.forEach(scoringService::register));
+        }
+
+        if (!bracket.freeBoards.isEmpty() && !bracket.waiting.isEmpty()) {
+            wakeUpAt(bracket, bracket.waiting.peek().readyAt);
+        }
+    }
+
+    private void wakeUpAt(Bracket bracket, long readyAt) {
+        if (bracket.wakeup != null && !bracket.wakeup.isDone()) {
+            if (bracket.wakeupAt <= readyAt) {
+                return;
+            }
+            bracket.wakeup.cancel(false);
+        }
+        Long tournamentId = bracket.tournamentId;
+        bracket.wakeupAt = readyAt;
+        bracket.wakeup = scheduler.schedule(() -> update(tournamentId, (current, changed) -> current.wakeup = null),
+                Math.max(readyAt - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    private void write(Bracket bracket, Set<Slot> changed) {
+        for (Slot slot : changed) {
+            TournamentMatch match = entityManager.find(TournamentMatch.class, slot.id);
+            match.setPlayer1(player(slot.player1Id));
+            match.setPlayer2(player(slot.player2Id));
+            match.setWinner(player(slot.winnerId));
+            match.setStatus(slot.status);
+            match.setBoard(slot.board);
+            match.setGameId(slot.gameId);
+            match.setStartedAt(slot.startedAt);
+            match.setFinishedAt(slot.finishedAt);
+        }
+        if (bracket.finished) {
+            Tournament tournament = entityManager.find(Tournament.class, bracket.tournamentId);
+            tournament.setStatus(Tournament.TournamentStatus.FINISHED);
+            tournament.setWinner(player(bracket.winnerId));
+            tournament.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Loads the bracket from the database. Games that ended while their event was not processed
+     * (e.g. on shutdown) are processed again.
+     */
+    private void reload(Long tournamentId) {
+        Bracket old = brackets.remove(tournamentId);
+        if (old != null) {
+            if (old.wakeup != null) {
+                old.wakeup.cancel(false);
+            }
+            old.byGame.keySet().forEach(tournamentsByGame::remove);
+        }
+
+        Map<Long, Long> endedGames = new HashMap<>();
+        Bracket bracket = transactionTemplate.execute(status -> {
+            Optional<Tournament> tournament = tournamentRepository.findById(tournamentId);
+            if (tournament.isEmpty() || tournament.get().getStatus() != Tournament.TournamentStatus.IN_PROGRESS) {
+                return null;
+            }
+            Bracket loaded = new Bracket(tournament.get(), matchRepository.findByTournamentId(tournamentId));
+            long now = System.currentTimeMillis();
+
+            Set<Long> gameIds = new HashSet<>();
+            for (Slot[] round : loaded.rounds) {
+                for (Slot match : round) {
+                    if (match.status == TournamentMatch.MatchStatus.PLAYING && match.gameId != null) {
+                        gameIds.add(match.gameId);
+                    }
+                    // Rest after played matches; byes have no game
+                    if (match.status == TournamentMatch.MatchStatus.FINISHED && match.gameId != null && match.finishedAt != null) {
+                        long restUntil = match.finishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + loaded.restMillis;
+                        loaded.restUntil.merge(match.player1Id, restUntil, Math::max);
+                        loaded.restUntil.merge(match.player2Id, restUntil, Math::max);
+                    }
+                }
+            }
+            Map<Long, Game> games = new HashMap<>();
+            for (Game game : gameRepository.findAllById(gameIds)) {
+                games.put(game.getId(), game);
+            }
+
+            Set<Integer> busyBoards = new HashSet<>();
+            for (Slot[] round : loaded.rounds) {
+                for (Slot match : round) {
+                    if (match.status == TournamentMatch.MatchStatus.READY) {
+                        match.readyAt = Math.max(now, Math.max(loaded.restUntil(match.player1Id), loaded.restUntil(match.player2Id)));
+                        loaded.waiting.add(match);
+                    } else if (match.status == TournamentMatch.MatchStatus.PLAYING && match.gameId != null) {
+                        loaded.byGame.put(match.gameId, match);
+                        Game game = games.get(match.gameId);
+                        if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                            match.holdsBoard = true;
+                            busyBoards.add(match.board);
+                        } else {
+                            endedGames.put(match.gameId, game != null && game.getWinner() != null ? game.getWinner().getId() : null);
+                        }
+                    }
+                }
+            }
+            for (int board = 1; board <= loaded.boards; board++) {
+                if (!busyBoards.contains(board)) {
+                    loaded.freeBoards.add(new Board(board, now));
+                }
+            }
+            return loaded;
+        });
+        if (bracket == null) {
+            return;
+        }
+
+        brackets.put(tournamentId, bracket);
+        for (Long gameId : bracket.byGame.keySet()) {
+            tournamentsByGame.put(gameId, tournamentId);
+        }
+        endedGames.forEach((gameId, winnerId) -> scheduler.execute(() -> onGameEnded(gameId, winnerId)));
+    }
+
+    private <T> T call(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, scheduler).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Player player(Long playerId) {
+        return playerId != null ? entityManager.getReference(Player.class, playerId) : null;
+    }
+
+    private static Player seeded(Map<Long, Player> players, List<Long> playerIds, int seed) {
+        return seed <= playerIds.size() ? players.get(playerIds.get(seed - 1)) : null;
+    }
+
+    /**
+     * Seeds in bracket order, e.g. 1, 8, 4, 5, 2, 7, 3, 6 for eight: adjacent seeds meet in the first round,
+     * and the top seeds cannot meet before the later rounds.
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A bracket in progress: its matches by round and position, and the scheduler's queues.
+     */
+    private static final class Bracket {
+        private final Long tournamentId;
+        private final Game.GameType gameType;
+        private final Integer startScore;
+        private final Integer targetLegs;
+        private final Integer targetSets;
+        private final Boolean doubleIn;
+        private final Boolean doubleOut;
+        private final int boards;
+        private final long restMillis;
+        // rounds[round - 1][position]
+        private final Slot[][] rounds;
+        private final Map<Long, Slot> byGame = new HashMap<>();
+        // Player id -> end of their rest, in epoch milliseconds
+        private final Map<Long, Long> restUntil = new HashMap<>();
+        private final PriorityQueue<Board> freeBoards = new PriorityQueue<>(BOARD_ORDER);
+        // Matches with both players, waiting for a board
+        private final PriorityQueue<Slot> waiting = new PriorityQueue<>(MATCH_ORDER);
+        private ScheduledFuture<?> wakeup;
+        private long wakeupAt;
+        private boolean finished;
+        private Long winnerId;
+
+        private Bracket(Tournament tournament, List<TournamentMatch> matches) {
+            tournamentId = tournament.getId();
+            gameType = tournament.getGameType();
+            startScore = tournament.getStartScore();
+            targetLegs = tournament.getTargetLegs();
+            targetSets = tournament.getTargetSets();
+            doubleIn = tournament.getDoubleIn();
+            doubleOut = tournament.getDoubleOut();
+            boards = tournament.getBoards();
+            restMillis = tournament.getRestSeconds() * 1000L;
+
+            int roundCount = Integer.numberOfTrailingZeros(matches.size() + 1);
+            rounds = new Slot[roundCount][];
+            for (int round = 1; round <= roundCount; round++) {
+                rounds[round - 1] = new Slot[(matches.size() + 1) >> round];
+            }
+            for (TournamentMatch match : matches) {
+                rounds[match.getRoundNumber() - 1][match.getPosition()] = new Slot(match);
+            }
+        }
+
+        private long restUntil(Long playerId) {
+            return restUntil.getOrDefault(playerId, 0L);
+        }
+    }
+
+    private static final class Slot {
+        private final Long id;
+        private final int round;
+        private final int position;
+        private Long player1Id;
+        private Long player2Id;
+        private Long winnerId;
+        private TournamentMatch.MatchStatus status;
+        private Integer board;
+        // Whether the match still occupies its board
+        private boolean holdsBoard;
+        private Long gameId;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        // When both players have rested, in epoch milliseconds
+        private long readyAt;
+
+        private Slot(TournamentMatch match) {
+            id = match.getId();
+            round = match.getRoundNumber();
+            position = match.getPosition();
+            player1Id = match.getPlayer1() != null ? match.getPlayer1().getId() : null;
+            player2Id = match.getPlayer2() != null ? match.getPlayer2().getId() : null;
+            winnerId = match.getWinner() != null ? match.getWinner().getId() : null;
+            status = match.getStatus();
+            board = match.getBoard();
+            gameId = match.getGameId();
+            startedAt = match.getStartedAt();
+            finishedAt = match.getFinishedAt();
+        }
+    }
+
+    private record Board(int number, long freeSince) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.VisitBatchResponse;
+import com.dartverein.dto.VisitRequest;
+import com.dartverein.engine.DartEngine;
+import com.dartverein.model.Game;
+import com.dartverein.model.Player;
+import com.dartverein.model.Round;
+import com.dartverein.model.Throw;
+import com.dartverein.repository.GameRepository;
+import com.dartverein.repository.GameStateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of recorded visits. Rounds and throws use pooled sequence ids, so the inserts
+ * are sent as JDBC batches of {@link #BATCH_SIZE} (hibernate.jdbc.batch_size) within one transaction.
+ */
+@Service
+public class VisitIngestionService {
+
+    // Keep in line with hibernate.jdbc.batch_size and the id allocationSize of Round and Throw
+    static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameStateRepository gameStateRepository;
+
+    @Autowired
+    private GameEventStore gameEventStore;
+
+    @Autowired
+    private ThrowJournal throwJournal;
+
+    @Autowired
+    private ThrowJournalFlusher throwJournalFlusher;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private PracticeStatisticsService practiceStatisticsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes the visits after the ones the games have, in order. Each game's visits are played on
+     * an engine rebuilt from its stored events, so a visit out of turn, with the wrong number of
+     * darts or with scores that do not follow from its darts is rejected with the whole batch.
+     *
+     * @throws IllegalArgumentException if a visit does not fit its game
+     * @throws IllegalStateException if a game is not in progress or has a visit in progress
+     */
+    @Transactional
+    public VisitBatchResponse ingest(List<VisitRequest> visits) {
+        // Before the first read, so that the visits it writes are part of this transaction's snapshot
+        throwJournalFlusher.flush();
+
+        Set<Long> gameIds = new LinkedHashSet<>();
+        for (VisitRequest visit : visits) {
+            gameIds.add(visit.getGameId());
+        }
+        Map<Long, Game> games = new HashMap<>();
+        for (Game game : gameRepository.findAllById(gameIds)) {
+            games.put(game.getId(), game);
+        }
+        Map<Long, DartEngine> engines = new HashMap<>();
+        int[] totals = new int[visits.size()];
+        for (int index = 0; index < visits.size(); index++) {
+            VisitRequest visit = visits.get(index);
+            Game game = games.get(visit.getGameId());
+            validate(visit, game);
+            totals[index] = play(visit, game, engines.computeIfAbsent(game.getId(), id -> rebuild(game)));
+        }
+
+        int darts = 0;
+        int pending = 0;
+        for (int index = 0; index < visits.size(); index++) {
+            VisitRequest visit = visits.get(index);
+            Game game = entityManager.getReference(Game.class, visit.getGameId());
+            Player player = entityManager.getReference(Player.class, visit.getPlayerId());
+
+            Round round = new Round(game, player, visit.getRoundNumber(), visit.getScoreBefore());
+            round.setScoreAfter(visit.getScoreAfter());
+            round.setTotalThrown(totals[index]);
+            round.setDartsThrown(visit.getDarts().size());
+            round.setIsBust(Boolean.TRUE.equals(visit.getIsBust()));
+            round.setIsCheckout(Boolean.TRUE.equals(visit.getIsCheckout()));
+
+            List<Throw> dartThrows = new ArrayList<>(visit.getDarts().size());
+            for (int i = 0; i < visit.getDarts().size(); i++) {
+                VisitRequest.Dart dart = visit.getDarts().get(i);
+                Throw dartThrow = new Throw(game, round, player, i + 1, dart.getSegment() * dart.getMultiplier());
+                dartThrow.setSegment(dart.getSegment());
+                dartThrow.setMultiplier(Math.max(dart.getMultiplier(), 1));
+                dartThrows.add(dartThrow);
+            }
+            round.setThrows(dartThrows);
+            entityManager.persist(round);
+
+            darts += dartThrows.size();
+            pending += 1 + dartThrows.size();
+            if (pending >= BATCH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+
+        Set<Long> practicePlayerIds = new LinkedHashSet<>();
+        for (Long gameId : gameIds) {
+            // A loaded game writing its state from before the import now fails and is loaded again
+            gameStateRepository.incrementVersionByGameId(gameId);
+            if (games.get(gameId).getGameType() == Game.GameType.BOBS27) {
+                for (VisitRequest visit : visits) {
+                    if (visit.getGameId().equals(gameId)) {
+                        practicePlayerIds.add(visit.getPlayerId());
+                    }
+                }
+            }
+        }
+        // Engines replay throws on load, so loaded ones would miss the imported visits; dropped once
+        // they are committed, as a task before that would load the game without them again
+        afterCommit(() -> {
+            for (Long gameId : gameIds) {
+                scoringService.reload(gameId);
+            }
+            // Seeded again from the throws, which now include the imported darts
+            practicePlayerIds.forEach(practiceStatisticsService::evict);
+        });
+        return new VisitBatchResponse(visits.size(), darts, new ArrayList<>(gameIds));
+    }
+
+    /**
+     * The game's engine with every stored visit. Visits are only imported behind closed visits of a
+     * game that is still being played.
+     */
+    private DartEngine rebuild(Game game) {
+        if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Game " + game.getId() + " is not in progress");
+        }
+        if (!throwJournal.openVisit(game.getId()).isEmpty()) {
+            throw new IllegalStateException("Game " + game.getId() + " has a visit in progress");
+        }
+        DartEngine engine = ScoringService.createEngine(game, game.getPlayer2() != null);
+        gameEventStore.rebuild(engine, game.getId());
+        return engine;
+    }
+
+    /**
+     * Plays the visit's darts and checks the visit against the result.
+     *
+     * @return the visit's total as the engine scored it
+     */
+    private static int play(VisitRequest visit, Game game, DartEngine engine) {
+        Long gameId = game.getId();
+        Player current = engine.getCurrentPlayer() == DartEngine.PLAYER1 ? game.getPlayer1() : game.getPlayer2();
+        if (!current.getId().equals(visit.getPlayerId())) {
+            throw new IllegalArgumentException("It is not player " + visit.getPlayerId() + "'s turn in game " + gameId);
+        }
+        List<VisitRequest.Dart> darts = visit.getDarts();
+        for (int i = 0; i < darts.size(); i++) {
+            if (engine.isVisitClosed() && i > 0) {
+                throw new IllegalArgumentException("A visit in game " + gameId + " has darts after the one that ends it");
+            }
+            engine.throwDart(darts.get(i).getSegment(), darts.get(i).getMultiplier());
+        }
+        if (!engine.isVisitClosed()) {
+            throw new IllegalArgumentException("A visit in game " + gameId + " ends before its last dart");
+        }
+        if (engine.isFinished()) {
+            // Finishing writes the statistics and careers, which only play and PUT /finish do
+            throw new IllegalArgumentException("Imported visits cannot finish game " + gameId);
+        }
+        if (visit.getRoundNumber() != engine.getVisitRound()
+                || visit.getScoreBefore() != engine.getVisitScoreBefore()
+                || visit.getScoreAfter() != engine.getVisitScoreAfter()
+                || Boolean.TRUE.equals(visit.getIsBust()) != engine.isVisitBust()
+                || Boolean.TRUE.equals(visit.getIsCheckout()) != engine.isVisitCheckout()) {
+            throw new IllegalArgumentException("A visit in game " + gameId + " does not match its darts: round "
+                    + engine.getVisitRound() + ", score " + engine.getVisitScoreBefore() + " to " + engine.getVisitScoreAfter()
+                    + (engine.isVisitBust() ? ", bust" : "") + (engine.isVisitCheckout() ? ", checkout" : ""));
+        }
+        return engine.getVisitTotal();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static void validate(VisitRequest visit, Game game) {
+        if (game == null) {
+            throw new IllegalArgumentException("Game " + visit.getGameId() + " does not exist");
+        }
+        Long playerId = visit.getPlayerId();
+        boolean isPlayer1 = playerId.equals(game.getPlayer1().getId());
+        boolean isPlayer2 = game.getPlayer2() != null && playerId.equals(game.getPlayer2().getId());
+        if (!isPlayer1 && !isPlayer2) {
+            throw new IllegalArgumentException("Player " + playerId + " does not play in game " + game.getId());
+        }
+        for (VisitRequest.Dart dart : visit.getDarts()) {
+            if (!DartEngine.isValidDart(dart.getSegment(), dart.getMultiplier())) {
+                throw new IllegalArgumentException("Invalid dart: segment " + dart.getSegment()
+                        + ", multiplier " + dart.getMultiplier());
+            }
+        }
+    }
+}
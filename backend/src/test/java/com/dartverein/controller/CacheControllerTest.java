@@ -0,0 +1,79 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The test properties leave the second-level cache off, so this context turns it on with the
+ * settings of the application.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=com.dartverein.config.BoundedCacheRegionFactory",
+        "spring.jpa.properties.hibernate.cache.bounded.max_entries=1000",
+        "spring.jpa.properties.hibernate.cache.bounded.ttl_seconds=600"
+})
+@AutoConfigureMockMvc
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser
+    void statisticsCountTheHitsOfARegion() throws Exception {
+        long before = playerRegion().get("hits").asLong();
+        long playerId = createPlayer("Cache One " + System.nanoTime());
+        // The first read may miss and fill the region, the second is served from it
+        mockMvc.perform(get("/api/players/{id}", playerId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/players/{id}", playerId)).andExpect(status().isOk());
+
+        JsonNode region = playerRegion();
+        assertThat(region.get("hits").asLong()).isGreaterThan(before);
+        assertThat(region.get("puts").asLong()).isPositive();
+        assertThat(region.get("size").asInt()).isPositive();
+        assertThat(region.get("maxEntries").asInt()).isEqualTo(1000);
+        assertThat(region.get("ttlSeconds").asLong()).isEqualTo(600);
+    }
+
+    @Test
+    void statisticsNeedAnAuthenticatedUser() throws Exception {
+        mockMvc.perform(get("/api/cache/statistics")).andExpect(status().isUnauthorized());
+    }
+
+    private JsonNode playerRegion() throws Exception {
+        String response = mockMvc.perform(get("/api/cache/statistics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        for (JsonNode region : objectMapper.readTree(response)) {
+            if (region.get("region").asText().endsWith("player")) {
+                return region;
+            }
+        }
+        throw new AssertionError("No player region in " + response);
+    }
+
+    private long createPlayer(String name) throws Exception {
+        String response = mockMvc.perform(post("/api/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,40 @@
+package com.dartverein.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CheckoutControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void returnsTheFinishForAScore() throws Exception {
+        mockMvc.perform(get("/api/checkout").param("score", "170"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dartsLeft").value(3))
+                .andExpect(jsonPath("$.darts[0]").value("T20"))
+                .andExpect(jsonPath("$.darts[1]").value("T20"))
+                .andExpect(jsonPath("$.darts[2]").value("BULL"));
+    }
+
+    @Test
+    void scoreWithoutAFinishIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/checkout").param("score", "169")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/checkout").param("score", "100").param("darts", "1")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void dartsOutsideOneToThreeAreRejected() throws Exception {
+        mockMvc.perform(get("/api/checkout").param("score", "40").param("darts", "4")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,238 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void historyPagesThroughAPlayersGamesInBothSeats() throws Exception {
+        long player = createPlayer("History One " + System.nanoTime());
+        long opponent = createPlayer("History Two " + System.nanoTime());
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(i % 2 == 0 ? createGame(player, opponent) : createGame(opponent, player));
+        }
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = getJson("/api/games/history?playerId=" + player + "&limit=2" + (cursor != null ? "&cursor=" + cursor : ""));
+            page.get("games").forEach(game -> listed.add(game.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        Collections.reverse(created);
+        assertThat(listed).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void historyFiltersByOpponent() throws Exception {
+        long player = createPlayer("Filter One " + System.nanoTime());
+        long opponent = createPlayer("Filter Two " + System.nanoTime());
+        long other = createPlayer("Filter Three " + System.nanoTime());
+        long between = createGame(opponent, player);
+        createGame(player, other);
+
+        JsonNode page = getJson("/api/games/history?playerId=" + player + "&opponentId=" + opponent);
+
+        assertThat(page.get("games")).extracting(game -> game.get("id").asLong()).containsExactly(between);
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void historyRejectsAMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/games/history").param("cursor", "bm90LWEtY3Vyc29y")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listingsReturnTheLatestGames() throws Exception {
+        long player = createPlayer("List One " + System.nanoTime());
+        long opponent = createPlayer("List Two " + System.nanoTime());
+        long first = createGame(player, opponent);
+        long second = createGame(opponent, player);
+
+        assertThat(getJson("/api/games/player/" + player)).extracting(game -> game.get("id").asLong()).containsExactly(second, first);
+        assertThat(getJson("/api/games")).extracting(game -> game.get("id").asLong()).contains(first, second);
+    }
+
+    @Test
+    void visitsAreImportedIntoTheirGames() throws Exception {
+        long player = createPlayer("Visit One " + System.nanoTime());
+        long opponent = createPlayer("Visit Two " + System.nanoTime());
+        long gameId = createGame(player, opponent);
+
+        JsonNode imported = postJson("/api/games/visits", "{\"visits\":["
+                + visit(gameId, player, 1, 501, 321, "{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":3}") + ","
+                + visit(gameId, opponent, 1, 501, 456, "{\"segment\":20,\"multiplier\":1},{\"segment\":5,\"multiplier\":1},{\"segment\":20,\"multiplier\":1}") + "]}");
+
+        assertThat(imported.get("rounds").asInt()).isEqualTo(2);
+        assertThat(imported.get("darts").asInt()).isEqualTo(6);
+        assertThat(imported.get("gameIds")).extracting(JsonNode::asLong).containsExactly(gameId);
+        JsonNode state = getJson("/api/gamestate/game/" + gameId);
+        assertThat(state.get("player1Score").asInt()).isEqualTo(321);
+        assertThat(state.get("player2Score").asInt()).isEqualTo(456);
+    }
+
+    @Test
+    void visitsOfAPlayerOutsideTheGameAreRejected() throws Exception {
+        long player = createPlayer("Reject One " + System.nanoTime());
+        long opponent = createPlayer("Reject Two " + System.nanoTime());
+        long gameId = createGame(player, opponent);
+        long stranger = createPlayer("Reject Three " + System.nanoTime());
+
+        mockMvc.perform(post("/api/games/visits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"visits\":[" + visit(gameId, stranger, 1, 501, 441, "{\"segment\":20,\"multiplier\":3}") + "]}"))
+                .andExpect(status().isBadRequest());
+        assertThat(getJson("/api/gamestate/game/" + gameId).get("player1Score").asInt()).isEqualTo(501);
+    }
+
+    @Test
+    void bulkCreatesTheGamesOfAllPairings() throws Exception {
+        long first = createPlayer("Bulk One " + System.nanoTime());
+        long second = createPlayer("Bulk Two " + System.nanoTime());
+        long third = createPlayer("Bulk Three " + System.nanoTime());
+
+        JsonNode created = postJson("/api/games/bulk", "{\"gameType\":\"X01\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":301,"
+                + "\"pairings\":[{\"player1Id\":" + first + ",\"player2Id\":" + second + "},"
+                + "{\"player1Id\":" + third + ",\"player2Id\":" + first + "}]}");
+
+        assertThat(created.get("games").asInt()).isEqualTo(2);
+        long gameId = created.get("gameIds").get(1).asLong();
+        JsonNode game = getJson("/api/games/" + gameId);
+        assertThat(game.get("player1").get("id").asLong()).isEqualTo(third);
+        assertThat(game.get("player2").get("id").asLong()).isEqualTo(first);
+        assertThat(getJson("/api/gamestate/game/" + gameId).get("player1Score").asInt()).isEqualTo(301);
+        assertThat(getJson("/api/games/player/" + first)).hasSize(2);
+    }
+
+    @Test
+    void bulkWithAnUnknownPlayerCreatesNoGame() throws Exception {
+        long player = createPlayer("Bulk Four " + System.nanoTime());
+        long opponent = createPlayer("Bulk Five " + System.nanoTime());
+
+        mockMvc.perform(post("/api/games/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"gameType\":\"X01\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":501,"
+                                + "\"pairings\":[{\"player1Id\":" + player + ",\"player2Id\":" + opponent + "},"
+                                + "{\"player1Id\":" + player + ",\"player2Id\":" + Long.MAX_VALUE + "}]}"))
+                .andExpect(status().isBadRequest());
+        assertThat(getJson("/api/games/player/" + player)).isEmpty();
+    }
+
+    @Test
+    void visitsContinueAGameInProgress() throws Exception {
+        long player = createPlayer("Continue One " + System.nanoTime());
+        long opponent = createPlayer("Continue Two " + System.nanoTime());
+        long gameId = createGame(player, opponent);
+        for (int dart = 0; dart < 3; dart++) {
+            throwDart(gameId, 20, 3);
+        }
+
+        postJson("/api/games/visits", "{\"visits\":["
+                + visit(gameId, opponent, 1, 501, 361, "{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":1}") + ","
+                + visit(gameId, player, 2, 321, 261, "{\"segment\":20,\"multiplier\":1},{\"segment\":20,\"multiplier\":1},{\"segment\":20,\"multiplier\":1}") + "]}");
+
+        JsonNode state = getJson("/api/gamestate/game/" + gameId);
+        assertThat(state.get("player1Score").asInt()).isEqualTo(261);
+        assertThat(state.get("player2Score").asInt()).isEqualTo(361);
+        assertThat(state.get("currentPlayer").asText()).isEqualTo("PLAYER2");
+        // Play goes on from the imported visits
+        throwDart(gameId, 20, 1);
+        assertThat(getJson("/api/gamestate/game/" + gameId).get("player2Score").asInt()).isEqualTo(341);
+    }
+
+    @Test
+    void visitsThatDoNotFitTheGameAreRejected() throws Exception {
+        long player = createPlayer("Misfit One " + System.nanoTime());
+        long opponent = createPlayer("Misfit Two " + System.nanoTime());
+        long gameId = createGame(player, opponent);
+
+        // Out of turn, scores that do not follow from the darts, and a visit that is not closed
+        postVisits(visit(gameId, opponent, 1, 501, 441, "{\"segment\":20,\"multiplier\":3}"), 400);
+        postVisits(visit(gameId, player, 1, 501, 400, "{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":3},{\"segment\":20,\"multiplier\":3}"), 400);
+        postVisits(visit(gameId, player, 1, 501, 441, "{\"segment\":20,\"multiplier\":3}"), 400);
+
+        // Not behind a visit in progress, nor into a finished game
+        throwDart(gameId, 20, 1);
+        postVisits(visit(gameId, player, 1, 501, 441, "{\"segment\":20,\"multiplier\":3},{\"segment\":0,\"multiplier\":0},{\"segment\":0,\"multiplier\":0}"), 409);
+        mockMvc.perform(put("/api/games/{id}/finish", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"winnerId\":null}"))
+                .andExpect(status().isOk());
+        postVisits(visit(gameId, opponent, 1, 501, 441, "{\"segment\":20,\"multiplier\":3},{\"segment\":0,\"multiplier\":0},{\"segment\":0,\"multiplier\":0}"), 409);
+    }
+
+    private void postVisits(String visit, int status) throws Exception {
+        mockMvc.perform(post("/api/games/visits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"visits\":[" + visit + "]}"))
+                .andExpect(status().is(status));
+    }
+
+    private void throwDart(long gameId, int segment, int multiplier) throws Exception {
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":" + segment + ",\"multiplier\":" + multiplier + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private static String visit(long gameId, long playerId, int roundNumber, int scoreBefore, int scoreAfter, String darts) {
+        return "{\"gameId\":" + gameId + ",\"playerId\":" + playerId + ",\"roundNumber\":" + roundNumber
+                + ",\"scoreBefore\":" + scoreBefore + ",\"scoreAfter\":" + scoreAfter + ",\"darts\":[" + darts + "]}";
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String response = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private long createGame(long player1Id, long player2Id) throws Exception {
+        return postJson("/api/games", "{\"player1Id\":" + player1Id + ",\"player2Id\":" + player2Id
+                + ",\"gameType\":\"X01\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":501}").get("id").asLong();
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,75 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameExecutorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser
+    void statisticsCountTheTasksOfTheMailboxes() throws Exception {
+        long before = getStatistics().get("completedTasks").asLong();
+        long player1Id = createPlayer("Executor One " + System.nanoTime());
+        long player2Id = createPlayer("Executor Two " + System.nanoTime());
+        long gameId = postJson("/api/games", "{\"player1Id\":" + player1Id + ",\"player2Id\":" + player2Id
+                + ",\"gameType\":\"X01\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":501}").get("id").asLong();
+        postJson("/api/gamestate/game/" + gameId + "/throw", "{\"segment\":20,\"multiplier\":3}");
+
+        // A task is counted once it has run, which can be just after its caller got the result
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode statistics = getStatistics();
+        while (statistics.get("completedTasks").asLong() <= before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            statistics = getStatistics();
+        }
+        assertThat(statistics.get("threads").asInt()).isPositive();
+        assertThat(statistics.get("completedTasks").asLong()).isGreaterThan(before);
+        assertThat(statistics.get("maxRunMillis").asDouble()).isGreaterThanOrEqualTo(statistics.get("averageRunMillis").asDouble());
+    }
+
+    @Test
+    void statisticsNeedAnAuthenticatedUser() throws Exception {
+        mockMvc.perform(get("/api/executor/statistics")).andExpect(status().isUnauthorized());
+    }
+
+    private JsonNode getStatistics() throws Exception {
+        String response = mockMvc.perform(get("/api/executor/statistics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
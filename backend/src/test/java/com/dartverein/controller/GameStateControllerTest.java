@@ -0,0 +1,300 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameStateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void throwScoresOneDartOfTheVisit() throws Exception {
+        long gameId = createGame("X01", 501);
+
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":20,\"multiplier\":3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player1Score").value(441))
+                .andExpect(jsonPath("$.currentPlayer").value("PLAYER1"));
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":25,\"multiplier\":3}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":20,\"multiplier\":1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cricketReturnsTheMarksPerTarget() throws Exception {
+        long gameId = createGame("CRICKET", 0);
+        throwDart(gameId, 20, 3);
+        throwDart(gameId, 25, 2);
+
+        mockMvc.perform(get("/api/gamestate/game/{id}/cricket", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player1Marks[5]").value(3))
+                .andExpect(jsonPath("$.player1Marks[6]").value(2))
+                .andExpect(jsonPath("$.player2Marks[5]").value(0));
+        mockMvc.perform(get("/api/gamestate/game/{id}/cricket", createGame("X01", 501)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void bobs27ReturnsTheAccuracyPerDouble() throws Exception {
+        long gameId = createGame("BOBS27", 27);
+        throwDart(gameId, 1, 2);
+        throwDart(gameId, 0, 0);
+        throwDart(gameId, 1, 2);
+
+        mockMvc.perform(get("/api/gamestate/game/{id}/bobs27", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].attempts[0]").value(3))
+                .andExpect(jsonPath("$[0].hits[0]").value(2))
+                .andExpect(jsonPath("$[1].attempts[0]").value(0));
+        mockMvc.perform(get("/api/gamestate/game/{id}/bobs27", createGame("X01", 501)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void winProbabilityFavoursThePlayerAhead() throws Exception {
+        long gameId = createGame("X01", 501);
+        throwVisit(gameId, 20, 3);
+
+        MvcResult result = mockMvc.perform(get("/api/gamestate/game/{id}/winprobability", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentPlayer").value("PLAYER2"))
+                .andExpect(jsonPath("$.player1Score").value(321))
+                .andExpect(jsonPath("$.player2Score").value(501))
+                .andReturn();
+        JsonNode probability = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(probability.get("player1WinProbability").asDouble()).isGreaterThan(0.5);
+        assertThat(probability.get("player1WinProbability").asDouble() + probability.get("player2WinProbability").asDouble())
+                .isCloseTo(1.0, offset(1e-9));
+        assertThat(probability.get("player1ExpectedDarts").asDouble())
+                .isLessThan(probability.get("player2ExpectedDarts").asDouble());
+
+        mockMvc.perform(get("/api/gamestate/game/{id}/winprobability", createGame("CRICKET", 0)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/gamestate/game/{id}/winprobability", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedUntilTheStateChanges() throws Exception {
+        long gameId = createGame("X01", 501);
+        throwDart(gameId, 20, 1);
+        String eTag = getState(gameId).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/gamestate/game/{id}", gameId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/api/gamestate/game/{id}", gameId).header(HttpHeaders.IF_NONE_MATCH, "\"0\", W/" + eTag))
+                .andExpect(status().isNotModified());
+
+        throwDart(gameId, 20, 1);
+        MvcResult changed = mockMvc.perform(get("/api/gamestate/game/{id}", gameId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player1Score").value(461))
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void correctionWithoutIfMatchIsPreconditionRequired() throws Exception {
+        long gameId = createGame("X01", 501);
+
+        mockMvc.perform(put("/api/gamestate/game/{id}", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"player1Score\":400}"))
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void correctionOfAChangedStateFailsThePrecondition() throws Exception {
+        long gameId = createGame("X01", 501);
+        String eTag = getState(gameId).getResponse().getHeader(HttpHeaders.ETAG);
+        throwDart(gameId, 20, 1);
+
+        mockMvc.perform(put("/api/gamestate/game/{id}", gameId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"player1Score\":400}"))
+                .andExpect(status().isPreconditionFailed());
+        // A weak tag never satisfies If-Match
+        mockMvc.perform(put("/api/gamestate/game/{id}", gameId)
+                        .header(HttpHeaders.IF_MATCH, "W/" + getState(gameId).getResponse().getHeader(HttpHeaders.ETAG))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"player1Score\":400}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/gamestate/game/{id}", gameId)).andExpect(jsonPath("$.player1Score").value(481));
+    }
+
+    @Test
+    void correctionSurvivesUndo() throws Exception {
+        long gameId = createGame("X01", 501);
+        throwVisit(gameId, 20, 3);
+
+        String eTag = getState(gameId).getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(put("/api/gamestate/game/{id}", gameId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"player1Score\":400}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player1Score").value(400));
+
+        // The visit is part of the correction
+        mockMvc.perform(post("/api/gamestate/game/{id}/undo", gameId)).andExpect(status().isConflict());
+        mockMvc.perform(get("/api/gamestate/game/{id}", gameId)).andExpect(jsonPath("$.player1Score").value(400));
+
+        // A visit after the correction can still be undone, back to the corrected state
+        throwVisit(gameId, 20, 1);
+        mockMvc.perform(post("/api/gamestate/game/{id}/undo", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player1Score").value(400))
+                .andExpect(jsonPath("$.player2Score").value(501));
+    }
+
+    @Test
+    void onlyX01GamesCanBeCorrected() throws Exception {
+        long gameId = createGame("CRICKET", 0);
+        String eTag = getState(gameId).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/gamestate/game/{id}", gameId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"player1Score\":10}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void streamSendsTheCurrentStateAndThenEachChange() throws Exception {
+        long gameId = createGame("X01", 501);
+        MvcResult stream = mockMvc.perform(get("/api/gamestate/game/{id}/stream", gameId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        throwDart(gameId, 20, 3);
+        throwDart(gameId, 20, 1);
+
+        String events = awaitEvents(stream, 3);
+        assertThat(events.indexOf("\"player1Score\":501"))
+                .isLessThan(events.indexOf("\"player1Score\":441"))
+                .isLessThan(events.indexOf("\"player1Score\":421"));
+    }
+
+    @Test
+    void streamOfAnUnknownGameIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/gamestate/game/{id}/stream", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamOfAllGamesSendsTheLiveStatesAndThenEveryChange() throws Exception {
+        long liveGameId = createGame("X01", 501);
+        throwDart(liveGameId, 20, 1);
+        MvcResult stream = mockMvc.perform(get("/api/gamestate/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long gameId = createGame("X01", 501);
+        throwDart(gameId, 20, 3);
+        mockMvc.perform(put("/api/games/{id}/finish", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"winnerId\":null}"))
+                .andExpect(status().isOk());
+
+        String events = awaitContent(stream, "event:finished");
+        int liveState = events.indexOf("\"game\":{\"id\":" + liveGameId + ",");
+        int changedState = events.indexOf("\"game\":{\"id\":" + gameId + ",");
+        assertThat(liveState).isNotNegative().isLessThan(changedState);
+        assertThat(events.indexOf("\"player1Score\":441", changedState)).isPositive();
+        assertThat(events.indexOf("event:finished")).isGreaterThan(changedState);
+    }
+
+    private static String awaitContent(MvcResult stream, String text) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String events = stream.getResponse().getContentAsString();
+        while (!events.contains(text) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events).contains(text);
+        return events;
+    }
+
+    private static String awaitEvents(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String events = stream.getResponse().getContentAsString();
+        while (events.split("event:state", -1).length - 1 < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events.split("event:state", -1)).hasSize(count + 1);
+        return events;
+    }
+
+    private MvcResult getState(long gameId) throws Exception {
+        return mockMvc.perform(get("/api/gamestate/game/{id}", gameId)).andExpect(status().isOk()).andReturn();
+    }
+
+    private void throwVisit(long gameId, int segment, int multiplier) throws Exception {
+        for (int dart = 0; dart < 3; dart++) {
+            throwDart(gameId, segment, multiplier);
+        }
+    }
+
+    private void throwDart(long gameId, int segment, int multiplier) throws Exception {
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":" + segment + ",\"multiplier\":" + multiplier + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private long createGame(String gameType, int startScore) throws Exception {
+        long player1Id = createPlayer("State One " + System.nanoTime());
+        long player2Id = createPlayer("State Two " + System.nanoTime());
+        return postJson("/api/games", "{\"player1Id\":" + player1Id + ",\"player2Id\":" + player2Id
+                + ",\"gameType\":\"" + gameType + "\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":" + startScore + "}")
+                .get("id").asLong();
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,113 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per read endpoint, counted by Hibernate's statistics with the second-level cache
+ * emptied first, so that every count is the one of a cold read. The statistics count the
+ * statements of every thread, so the background writes of states and journaled darts are held off.
+ */
+@SpringBootTest(properties = {"dartverein.state.flushIntervalMs=3600000", "dartverein.journal.flushIntervalMs=3600000"})
+@AutoConfigureMockMvc
+class StatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long player1Id;
+    private long gameId;
+
+    @BeforeEach
+    void createGame() throws Exception {
+        player1Id = createPlayer("Count One " + System.nanoTime());
+        long player2Id = createPlayer("Count Two " + System.nanoTime());
+        gameId = postJson("/api/games", "{\"player1Id\":" + player1Id + ",\"player2Id\":" + player2Id
+                + ",\"gameType\":\"X01\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":501}").get("id").asLong();
+    }
+
+    @Test
+    void gameReadsTakeOneStatement() throws Exception {
+        assertThat(statements(get("/api/games/{id}", gameId))).isEqualTo(1);
+        assertThat(statements(get("/api/games"))).isEqualTo(1);
+        assertThat(statements(get("/api/games/player/{id}", player1Id))).isEqualTo(1);
+    }
+
+    @Test
+    void playerListTakesOneStatement() throws Exception {
+        assertThat(statements(get("/api/players"))).isEqualTo(1);
+    }
+
+    @Test
+    void statisticsReads() throws Exception {
+        assertThat(statements(get("/api/statistics/game/{id}", gameId))).isEqualTo(1);
+        // The player, then their statistics
+        assertThat(statements(get("/api/statistics/player/{id}", player1Id))).isEqualTo(2);
+    }
+
+    @Test
+    void gameStateOfAFinishedGameTakesOneStatement() throws Exception {
+        mockMvc.perform(put("/api/games/{id}/finish", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"winnerId\":" + player1Id + "}"))
+                .andExpect(status().isOk());
+
+        assertThat(statements(get("/api/gamestate/game/{id}", gameId))).isEqualTo(1);
+    }
+
+    @Test
+    void gameStateOfALoadedGameIsServedFromMemory() throws Exception {
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":20,\"multiplier\":3}"))
+                .andExpect(status().isOk());
+
+        assertThat(statements(get("/api/gamestate/game/{id}", gameId))).isZero();
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
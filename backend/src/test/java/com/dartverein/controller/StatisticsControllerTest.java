@@ -0,0 +1,167 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void doublesCountThePlayersBobs27Darts() throws Exception {
+        long player = createPlayer("Doubles One " + System.nanoTime());
+        long opponent = createPlayer("Doubles Two " + System.nanoTime());
+        long gameId = createGame(player, opponent, "BOBS27", 27);
+        throwDart(gameId, 1, 2);
+        throwDart(gameId, 0, 0);
+        throwDart(gameId, 1, 2);
+
+        mockMvc.perform(get("/api/statistics/player/{id}/doubles", player))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerId").value(player))
+                .andExpect(jsonPath("$.attempts[0]").value(3))
+                .andExpect(jsonPath("$.hits[0]").value(2))
+                .andExpect(jsonPath("$.attempts[1]").value(0));
+        mockMvc.perform(get("/api/statistics/player/{id}/doubles", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void undoTakesTheDartsBackOutOfTheDoubles() throws Exception {
+        long player = createPlayer("Undo One " + System.nanoTime());
+        long opponent = createPlayer("Undo Two " + System.nanoTime());
+        long gameId = createGame(player, opponent, "BOBS27", 27);
+        getJson("/api/statistics/player/" + player + "/doubles");
+
+        // A dart of the open visit: the dart before it is applied again, but not counted twice
+        throwDart(gameId, 1, 2);
+        throwDart(gameId, 0, 0);
+        undo(gameId);
+        JsonNode doubles = getJson("/api/statistics/player/" + player + "/doubles");
+        assertThat(doubles.get("attempts").get(0).asInt()).isEqualTo(1);
+        assertThat(doubles.get("hits").get(0).asInt()).isEqualTo(1);
+
+        // A whole visit
+        throwDart(gameId, 1, 2);
+        throwDart(gameId, 1, 2);
+        undo(gameId);
+        doubles = getJson("/api/statistics/player/" + player + "/doubles");
+        assertThat(doubles.get("attempts").get(0).asInt()).isZero();
+        assertThat(doubles.get("hits").get(0).asInt()).isZero();
+    }
+
+    @Test
+    void rebuildRegeneratesTheCareerStatistics() throws Exception {
+        long winner = createPlayer("Career One " + System.nanoTime());
+        long loser = createPlayer("Career Two " + System.nanoTime());
+        long gameId = createGame(winner, loser, "X01", 40);
+        throwDart(gameId, 20, 2);
+        awaitSummary(winner, summary -> summary.get("gamesWon").asLong() == 1);
+
+        String rebuilt = mockMvc.perform(post("/api/statistics/career/rebuild"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(Integer.parseInt(rebuilt)).isGreaterThanOrEqualTo(2);
+        JsonNode winnerSummary = getJson("/api/statistics/player/" + winner + "/summary");
+        assertThat(winnerSummary.get("totalGames").asLong()).isEqualTo(1);
+        assertThat(winnerSummary.get("gamesWon").asLong()).isEqualTo(1);
+        JsonNode loserSummary = getJson("/api/statistics/player/" + loser + "/summary");
+        assertThat(loserSummary.get("totalGames").asLong()).isEqualTo(1);
+        assertThat(loserSummary.get("gamesWon").asLong()).isZero();
+    }
+
+    @Test
+    void summariesStreamTheRequestedPlayersByName() throws Exception {
+        long suffix = System.nanoTime();
+        long second = createPlayer("Summary B " + suffix);
+        long first = createPlayer("Summary A " + suffix);
+        long gameId = createGame(first, second, "X01", 40);
+        throwDart(gameId, 20, 2);
+        awaitSummary(first, summary -> summary.get("gamesWon").asLong() == 1);
+
+        MvcResult stream = mockMvc.perform(get("/api/statistics/summaries")
+                        .param("playerIds", first + "," + second + "," + Long.MAX_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode summaries = objectMapper.readTree(response);
+        assertThat(summaries).extracting(summary -> summary.get("playerId").asLong()).containsExactly(first, second);
+        assertThat(summaries.get(0).get("gamesWon").asLong()).isEqualTo(1);
+        assertThat(summaries.get(1).get("totalGames").asLong()).isEqualTo(1);
+    }
+
+    private JsonNode awaitSummary(long playerId, Predicate<JsonNode> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode summary = getJson("/api/statistics/player/" + playerId + "/summary");
+        while (!condition.test(summary) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            summary = getJson("/api/statistics/player/" + playerId + "/summary");
+        }
+        assertThat(condition.test(summary)).as("summary %s", summary).isTrue();
+        return summary;
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String response = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private void throwDart(long gameId, int segment, int multiplier) throws Exception {
+        mockMvc.perform(post("/api/gamestate/game/{id}/throw", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"segment\":" + segment + ",\"multiplier\":" + multiplier + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private void undo(long gameId) throws Exception {
+        mockMvc.perform(post("/api/gamestate/game/{id}/undo", gameId)).andExpect(status().isOk());
+    }
+
+    private long createGame(long player1Id, long player2Id, String gameType, int startScore) throws Exception {
+        return postJson("/api/games", "{\"player1Id\":" + player1Id + ",\"player2Id\":" + player2Id
+                + ",\"gameType\":\"" + gameType + "\",\"gameMode\":\"WITH_ENEMY\",\"startScore\":" + startScore + "}")
+                .get("id").asLong();
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
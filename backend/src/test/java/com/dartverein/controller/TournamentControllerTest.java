@@ -0,0 +1,136 @@
+package com.dartverein.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TournamentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void winnersMoveThroughTheBracketToTheTitle() throws Exception {
+        long seed1 = createPlayer("Seed One " + System.nanoTime());
+        long seed2 = createPlayer("Seed Two " + System.nanoTime());
+        long seed3 = createPlayer("Seed Three " + System.nanoTime());
+
+        JsonNode tournament = postJson("/api/tournaments", "{\"name\":\"Cup " + System.nanoTime()
+                + "\",\"gameType\":\"X01\",\"boards\":1,\"playerIds\":[" + seed1 + "," + seed2 + "," + seed3 + "]}");
+        long tournamentId = tournament.get("id").asLong();
+
+        // Four slots: seed 1 has a bye into the final, seeds 2 and 3 play on the only board
+        JsonNode bye = match(tournament, 1, 0);
+        assertThat(bye.get("status").asText()).isEqualTo("FINISHED");
+        assertThat(bye.get("winner").get("id").asLong()).isEqualTo(seed1);
+        JsonNode semi = match(tournament, 1, 1);
+        assertThat(semi.get("status").asText()).isEqualTo("PLAYING");
+        assertThat(semi.get("board").asInt()).isEqualTo(1);
+        assertThat(match(tournament, 2, 0).get("player1").get("id").asLong()).isEqualTo(seed1);
+
+        finish(semi.get("gameId").asLong(), seed3);
+        tournament = await(tournamentId, current -> match(current, 2, 0).get("status").asText().equals("PLAYING"));
+        JsonNode fin = match(tournament, 2, 0);
+        assertThat(match(tournament, 1, 1).get("winner").get("id").asLong()).isEqualTo(seed3);
+        assertThat(fin.get("player2").get("id").asLong()).isEqualTo(seed3);
+        assertThat(fin.get("board").asInt()).isEqualTo(1);
+
+        finish(fin.get("gameId").asLong(), seed1);
+        tournament = await(tournamentId, current -> current.get("status").asText().equals("FINISHED"));
+        assertThat(tournament.get("winner").get("id").asLong()).isEqualTo(seed1);
+        assertThat(match(tournament, 2, 0).get("status").asText()).isEqualTo("FINISHED");
+    }
+
+    @Test
+    void unknownOrRepeatedPlayersAreRejected() throws Exception {
+        long player = createPlayer("Seed Alone " + System.nanoTime());
+
+        mockMvc.perform(post("/api/tournaments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cup\",\"gameType\":\"X01\",\"playerIds\":[" + player + "," + player + "]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tournaments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cup\",\"gameType\":\"X01\",\"playerIds\":[" + player + "," + Long.MAX_VALUE + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listingsIncludeCreatedTournaments() throws Exception {
+        long player1 = createPlayer("Listed One " + System.nanoTime());
+        long player2 = createPlayer("Listed Two " + System.nanoTime());
+        long tournamentId = postJson("/api/tournaments", "{\"name\":\"League " + System.nanoTime()
+                + "\",\"gameType\":\"X01\",\"playerIds\":[" + player1 + "," + player2 + "]}").get("id").asLong();
+
+        assertThat(getJson("/api/tournaments")).extracting(tournament -> tournament.get("id").asLong()).contains(tournamentId);
+        assertThat(getJson("/api/tournaments/" + tournamentId).get("matches")).hasSize(1);
+        mockMvc.perform(get("/api/tournaments/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private static JsonNode match(JsonNode tournament, int round, int position) {
+        for (JsonNode match : tournament.get("matches")) {
+            if (match.get("round").asInt() == round && match.get("position").asInt() == position) {
+                return match;
+            }
+        }
+        throw new AssertionError("No match " + round + "/" + position);
+    }
+
+    // The bracket moves on on the tournament thread after the game's transaction commits
+    private JsonNode await(long tournamentId, Predicate<JsonNode> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode tournament = getJson("/api/tournaments/" + tournamentId);
+        while (!condition.test(tournament) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            tournament = getJson("/api/tournaments/" + tournamentId);
+        }
+        assertThat(condition.test(tournament)).as("tournament %s", tournament).isTrue();
+        return tournament;
+    }
+
+    private void finish(long gameId, long winnerId) throws Exception {
+        mockMvc.perform(put("/api/games/{id}/finish", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"winnerId\":" + winnerId + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String response = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private long createPlayer(String name) throws Exception {
+        return postJson("/api/players", "{\"name\":\"" + name + "\",\"email\":\"" + System.nanoTime() + "@example.com\"}")
+                .get("id").asLong();
+    }
+
+    private JsonNode postJson(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,24 @@
+package com.dartverein.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStateResponseTest {
+
+    @Test
+    void eTagHoldsVersionAndOpenVisitDarts() {
+        assertThat(GameStateResponse.eTag(7L, 0)).isEqualTo("7");
+        assertThat(GameStateResponse.eTag(7L, 2)).isEqualTo("7.2");
+    }
+
+    @Test
+    void laterStatesHaveGreaterETags() {
+        assertThat(GameStateResponse.compareETags("7.1", "7")).isPositive();
+        assertThat(GameStateResponse.compareETags("7.2", "7.1")).isPositive();
+        assertThat(GameStateResponse.compareETags("8", "7.2")).isPositive();
+        assertThat(GameStateResponse.compareETags("10", "9.2")).isPositive();
+        assertThat(GameStateResponse.compareETags("7.1", "7.1")).isZero();
+        assertThat(GameStateResponse.compareETags("7", "7.1")).isNegative();
+    }
+}
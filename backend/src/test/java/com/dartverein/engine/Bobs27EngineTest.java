@@ -0,0 +1,100 @@
+package com.dartverein.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bobs27EngineTest {
+
+    @Test
+    void hitsAddTheDoubleAndAMissedVisitSubtractsIt() {
+        Bobs27Engine engine = new Bobs27Engine(false);
+
+        engine.throwDart(1, 2);
+        engine.throwDart(1, 1);
+        engine.throwDart(1, 2);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(31);
+        assertThat(engine.getRoundNumber()).isEqualTo(2);
+
+        miss(engine);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(27);
+        assertThat(engine.getVisitTotal()).isEqualTo(-4);
+        assertThat(engine.getLastTarget()).isEqualTo(1);
+        assertThat(engine.isLastHit()).isFalse();
+    }
+
+    @Test
+    void countsAttemptsAndHitsPerDouble() {
+        Bobs27Engine engine = new Bobs27Engine(false);
+
+        engine.throwDart(1, 2);
+        engine.throwDart(0, 0);
+        engine.throwDart(1, 2);
+        miss(engine);
+
+        assertThat(engine.getAttempts(DartEngine.PLAYER1, 0)).isEqualTo(3);
+        assertThat(engine.getHits(DartEngine.PLAYER1, 0)).isEqualTo(2);
+        assertThat(engine.getAttempts(DartEngine.PLAYER1, 1)).isEqualTo(3);
+        assertThat(engine.getHits(DartEngine.PLAYER1, 1)).isZero();
+    }
+
+    @Test
+    void droppingBelowZeroEndsTheGame() {
+        Bobs27Engine engine = new Bobs27Engine(false);
+        // 27 - 2 - 4 - 6 - 8 = 7, then D5 takes it below zero
+        for (int round = 1; round <= 4; round++) {
+            miss(engine);
+        }
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(7);
+
+        engine.throwDart(0, 0);
+        engine.throwDart(0, 0);
+        assertThat(engine.throwDart(0, 0)).isEqualTo(DartResult.GAME_WON);
+        assertThat(engine.isFinished()).isTrue();
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(-3);
+    }
+
+    @Test
+    void twoPlayerGameEndsAfterTheBullWithTheHigherScoreWinning() {
+        Bobs27Engine engine = new Bobs27Engine(true);
+        for (int target = 0; target < Bobs27Engine.TARGETS; target++) {
+            int segment = Bobs27Engine.targetSegment(target);
+            // Player 1 hits each double once, player 2 twice
+            engine.throwDart(segment, 2);
+            engine.throwDart(0, 0);
+            engine.throwDart(0, 0);
+            engine.throwDart(segment, 2);
+            engine.throwDart(segment, 2);
+            DartResult last = engine.throwDart(0, 0);
+            assertThat(last).isEqualTo(target == Bobs27Engine.TARGETS - 1 ? DartResult.GAME_WON : DartResult.SCORED);
+        }
+
+        assertThat(engine.getWinner()).isEqualTo(DartEngine.PLAYER2);
+        // 27 plus twice D1 ... D20 and the bull
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(27 + 420 + 50);
+        assertThat(engine.getScore(DartEngine.PLAYER2)).isEqualTo(27 + 2 * (420 + 50));
+        assertThat(engine.getHits(DartEngine.PLAYER2, Bobs27Engine.TARGETS - 1)).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotKeepsAttemptsAndHits() {
+        Bobs27Engine engine = new Bobs27Engine(false);
+        engine.throwDart(1, 2);
+        engine.throwDart(1, 2);
+        engine.throwDart(0, 0);
+
+        Bobs27Engine restored = new Bobs27Engine(false);
+        restored.restoreSnapshot(engine.snapshot());
+
+        assertThat(restored.getScore(DartEngine.PLAYER1)).isEqualTo(31);
+        assertThat(restored.getHits(DartEngine.PLAYER1, 0)).isEqualTo(2);
+        assertThat(restored.getAttempts(DartEngine.PLAYER1, 0)).isEqualTo(3);
+        assertThat(restored.getRoundNumber()).isEqualTo(2);
+    }
+
+    private static void miss(DartEngine engine) {
+        for (int dart = 0; dart < DartEngine.DARTS_PER_VISIT; dart++) {
+            engine.throwDart(0, 0);
+        }
+    }
+}
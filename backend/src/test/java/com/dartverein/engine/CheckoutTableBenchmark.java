@@ -0,0 +1,54 @@
+package com.dartverein.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout lookups against building the routes, which is what a lookup would cost without the table.
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.include=CheckoutTableBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutTableBenchmark {
+
+    private CheckoutTable table;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        table = new CheckoutTable();
+    }
+
+    @Benchmark
+    public int lookup() {
+        // Every score, darts left and rule in turn
+        int i = next++;
+        return table.lookup(i % 181, 1 + (i / 181) % 3, (i & 1) != 0, (i & 2) == 0);
+    }
+
+    @Benchmark
+    public int aim() {
+        int i = next++;
+        return table.aim(i % 181, 1 + (i / 181) % 3, (i & 1) != 0, (i & 2) == 0);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CheckoutTable build() {
+        return new CheckoutTable();
+    }
+}
@@ -0,0 +1,86 @@
+package com.dartverein.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckoutTableTest {
+
+    private final CheckoutTable table = new CheckoutTable();
+
+    @Test
+    void everyRouteAddsUpAndObeysTheRules() {
+        for (int rule = 0; rule < 4; rule++) {
+            boolean doubleIn = (rule & 2) != 0;
+            boolean doubleOut = (rule & 1) != 0;
+            for (int darts = 1; darts <= CheckoutTable.MAX_DARTS; darts++) {
+                for (int score = 1; score <= CheckoutTable.MAX_SCORE; score++) {
+                    int route = table.lookup(score, darts, doubleIn, doubleOut);
+                    if (route == CheckoutTable.NO_FINISH) {
+                        continue;
+                    }
+                    int length = CheckoutTable.routeLength(route);
+                    assertThat(length).isBetween(1, darts);
+                    int total = 0;
+                    for (int dart = 0; dart < length; dart++) {
+                        total += CheckoutTable.value(CheckoutTable.dartCode(route, dart));
+                    }
+                    assertThat(total).as("score %d, %d darts, rule %d", score, darts, rule).isEqualTo(score);
+                    if (doubleIn) {
+                        assertThat(CheckoutTable.multiplier(CheckoutTable.dartCode(route, 0))).isEqualTo(2);
+                    }
+                    if (doubleOut) {
+                        assertThat(CheckoutTable.multiplier(CheckoutTable.dartCode(route, length - 1))).isEqualTo(2);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void knownFinishes() {
+        assertThat(labels(170, 3, false, true)).containsExactly("T20", "T20", "BULL");
+        assertThat(labels(40, 3, false, true)).containsExactly("D20");
+        assertThat(labels(50, 1, false, true)).containsExactly("BULL");
+        assertThat(labels(60, 1, false, false)).containsExactly("T20");
+    }
+
+    @Test
+    void bogeyNumbersHaveNoDoubleOutFinish() {
+        for (int score : new int[] {159, 162, 163, 165, 166, 168, 169}) {
+            assertThat(table.hasFinish(score, 3, false, true)).as("score %d", score).isFalse();
+        }
+        assertThat(table.hasFinish(1, 3, false, true)).isFalse();
+        assertThat(table.hasFinish(111, 2, false, true)).isFalse();
+        assertThat(table.hasFinish(110, 2, false, true)).isTrue();
+        assertThat(table.hasFinish(41, 1, false, true)).isFalse();
+    }
+
+    @Test
+    void scoresOutsideTheTableHaveNoFinish() {
+        assertThat(table.lookup(0, 3, false, true)).isEqualTo(CheckoutTable.NO_FINISH);
+        assertThat(table.lookup(181, 3, false, false)).isEqualTo(CheckoutTable.NO_FINISH);
+        assertThat(table.lookup(40, 0, false, true)).isEqualTo(CheckoutTable.NO_FINISH);
+    }
+
+    @Test
+    void aimsAtTheFirstDartOfTheFinishOrSetsOneUp() {
+        assertThat(CheckoutTable.label(table.aim(170, 3, false, true))).isEqualTo("T20");
+        // No two-dart finish for 121, so the first dart of the three-dart one
+        assertThat(table.aim(121, 2, false, true)).isEqualTo(table.aim(121, 3, false, true));
+        assertThat(CheckoutTable.label(table.aim(501, 3, false, true))).isEqualTo("T20");
+        assertThat(CheckoutTable.label(table.aim(501, 3, true, true))).isEqualTo("D20");
+    }
+
+    private List<String> labels(int score, int darts, boolean doubleIn, boolean doubleOut) {
+        int route = table.lookup(score, darts, doubleIn, doubleOut);
+        List<String> labels = new ArrayList<>();
+        for (int dart = 0; dart < CheckoutTable.routeLength(route); dart++) {
+            labels.add(CheckoutTable.label(CheckoutTable.dartCode(route, dart)));
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dartverein.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CricketEngineTest {
+
+    private static final int TARGET_15 = 0;
+    private static final int TARGET_19 = 4;
+    private static final int TARGET_20 = 5;
+
+    private final CricketEngine engine = new CricketEngine(1, 0, true);
+
+    @Test
+    void marksCountUpToThreeAndOnlyOnCricketTargets() {
+        engine.throwDart(20, 2);
+        engine.throwDart(25, 2);
+        engine.throwDart(14, 3);
+
+        assertThat(engine.getMarks(DartEngine.PLAYER1, TARGET_20)).isEqualTo(2);
+        assertThat(engine.getMarks(DartEngine.PLAYER1, CricketEngine.BULL_TARGET)).isEqualTo(2);
+        assertThat(engine.isClosed(DartEngine.PLAYER1, TARGET_20)).isFalse();
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isZero();
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER2);
+    }
+
+    @Test
+    void marksPastClosingScoreWhileTheOpponentIsOpen() {
+        miss(engine);
+        engine.throwDart(20, 3);
+        engine.throwDart(20, 3);
+        engine.throwDart(20, 1);
+
+        assertThat(engine.isClosed(DartEngine.PLAYER2, TARGET_20)).isTrue();
+        assertThat(engine.getMarks(DartEngine.PLAYER2, TARGET_20)).isEqualTo(3);
+        assertThat(engine.getScore(DartEngine.PLAYER2)).isEqualTo(80);
+        assertThat(engine.getVisitTotal()).isEqualTo(80);
+
+        engine.throwDart(20, 3);
+        engine.throwDart(20, 3);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isZero();
+        assertThat(engine.getDeadTargets()).isEqualTo(1 << TARGET_20);
+    }
+
+    @Test
+    void closingEverythingWinsOnlyWhenNotBehind() {
+        miss(engine);
+        engine.throwDart(20, 3);
+        engine.throwDart(20, 3);
+        engine.throwDart(0, 0);
+
+        visit(engine, 20, 19, 18);
+        miss(engine);
+        visit(engine, 17, 16, 15);
+        miss(engine);
+        engine.throwDart(25, 2);
+        assertThat(engine.throwDart(25, 1)).isEqualTo(DartResult.SCORED);
+        assertThat(engine.throwDart(19, 3)).isEqualTo(DartResult.SCORED);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(57);
+        assertThat(engine.isFinished()).isFalse();
+        miss(engine);
+
+        assertThat(engine.throwDart(19, 3)).isEqualTo(DartResult.GAME_WON);
+        assertThat(engine.getWinner()).isEqualTo(DartEngine.PLAYER1);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(114);
+        assertThat(engine.isClosed(DartEngine.PLAYER1, TARGET_19)).isTrue();
+    }
+
+    @Test
+    void soloGameIsWonByClosingEverything() {
+        CricketEngine solo = new CricketEngine(1, 0, false);
+        visit(solo, 20, 19, 18);
+        visit(solo, 17, 16, 15);
+        solo.throwDart(25, 2);
+
+        assertThat(solo.throwDart(25, 1)).isEqualTo(DartResult.GAME_WON);
+        assertThat(solo.getScore(DartEngine.PLAYER1)).isZero();
+        assertThat(solo.isClosed(DartEngine.PLAYER1, TARGET_15)).isTrue();
+    }
+
+    @Test
+    void snapshotKeepsTheMarks() {
+        visit(engine, 20, 19, 18);
+        engine.throwDart(17, 2);
+        engine.throwDart(0, 0);
+        engine.throwDart(0, 0);
+
+        CricketEngine restored = new CricketEngine(1, 0, true);
+        restored.restoreSnapshot(engine.snapshot());
+
+        assertThat(restored.getPackedMarks(DartEngine.PLAYER1)).isEqualTo(engine.getPackedMarks(DartEngine.PLAYER1));
+        assertThat(restored.getMarks(DartEngine.PLAYER2, 2)).isEqualTo(2);
+        assertThat(restored.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER1);
+    }
+
+    // A visit of three trebles
+    private static void visit(DartEngine engine, int segment1, int segment2, int segment3) {
+        engine.throwDart(segment1, 3);
+        engine.throwDart(segment2, 3);
+        engine.throwDart(segment3, 3);
+    }
+
+    private static void miss(DartEngine engine) {
+        for (int dart = 0; dart < DartEngine.DARTS_PER_VISIT; dart++) {
+            engine.throwDart(0, 0);
+        }
+    }
+}
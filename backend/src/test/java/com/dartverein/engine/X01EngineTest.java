@@ -0,0 +1,151 @@
+package com.dartverein.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class X01EngineTest {
+
+    @Test
+    void visitPassesTheTurnAfterThreeDarts() {
+        X01Engine engine = new X01Engine(501, false, false, 1, 0, true);
+
+        assertThat(engine.throwDart(20, 3)).isEqualTo(DartResult.SCORED);
+        engine.throwDart(20, 3);
+        engine.throwDart(20, 1);
+
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(361);
+        assertThat(engine.getVisitTotal()).isEqualTo(140);
+        assertThat(engine.isVisitClosed()).isTrue();
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER2);
+        assertThat(engine.getRoundNumber()).isEqualTo(1);
+
+        visit(engine, 1, 1, 1, 1, 1, 1);
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER1);
+        assertThat(engine.getRoundNumber()).isEqualTo(2);
+    }
+
+    @Test
+    void bustRestoresTheScoreOfTheVisitAndEndsIt() {
+        X01Engine engine = new X01Engine(40, false, true, 1, 0, true);
+
+        assertThat(engine.throwDart(20, 1)).isEqualTo(DartResult.SCORED);
+        assertThat(engine.throwDart(20, 2)).isEqualTo(DartResult.BUST);
+
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(40);
+        assertThat(engine.isVisitBust()).isTrue();
+        assertThat(engine.getVisitTotal()).isZero();
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER2);
+        assertThat(engine.getDartsThrown(DartEngine.PLAYER1)).isEqualTo(2);
+    }
+
+    @Test
+    void doubleOutBustsOnOneLeftAndOnAFinishWithoutADouble() {
+        X01Engine leavesOne = new X01Engine(40, false, true, 1, 0, false);
+        assertThat(leavesOne.throwDart(13, 3)).isEqualTo(DartResult.BUST);
+        assertThat(leavesOne.getScore(DartEngine.PLAYER1)).isEqualTo(40);
+
+        X01Engine single = new X01Engine(40, false, true, 1, 0, false);
+        single.throwDart(20, 1);
+        assertThat(single.throwDart(20, 1)).isEqualTo(DartResult.BUST);
+        assertThat(single.getScore(DartEngine.PLAYER1)).isEqualTo(40);
+    }
+
+    @Test
+    void doubleOutIsWonWithADoubleAndBullseye() {
+        X01Engine engine = new X01Engine(40, false, true, 1, 0, true);
+        assertThat(engine.throwDart(20, 2)).isEqualTo(DartResult.GAME_WON);
+        assertThat(engine.getWinner()).isEqualTo(DartEngine.PLAYER1);
+        assertThat(engine.isVisitCheckout()).isTrue();
+
+        X01Engine bull = new X01Engine(50, false, true, 1, 0, true);
+        assertThat(bull.throwDart(25, 2)).isEqualTo(DartResult.GAME_WON);
+    }
+
+    @Test
+    void withoutDoubleOutAnyDartFinishes() {
+        X01Engine engine = new X01Engine(41, false, false, 1, 0, true);
+        engine.throwDart(20, 2);
+        assertThat(engine.throwDart(1, 1)).isEqualTo(DartResult.GAME_WON);
+    }
+
+    @Test
+    void doubleInScoresNothingUntilADouble() {
+        X01Engine engine = new X01Engine(501, true, false, 1, 0, true);
+
+        assertThat(engine.throwDart(20, 3)).isEqualTo(DartResult.NOT_OPENED);
+        assertThat(engine.isOpened(DartEngine.PLAYER1)).isFalse();
+        assertThat(engine.throwDart(10, 2)).isEqualTo(DartResult.SCORED);
+        assertThat(engine.throwDart(20, 3)).isEqualTo(DartResult.SCORED);
+
+        assertThat(engine.isOpened(DartEngine.PLAYER1)).isTrue();
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(421);
+        assertThat(engine.getVisitPoints(0)).isZero();
+        assertThat(engine.getVisitTotal()).isEqualTo(80);
+    }
+
+    @Test
+    void bustInTheOpeningVisitClosesTheScoreAgain() {
+        X01Engine engine = new X01Engine(30, true, true, 1, 0, true);
+
+        engine.throwDart(10, 2);
+        assertThat(engine.throwDart(20, 1)).isEqualTo(DartResult.BUST);
+
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(30);
+        assertThat(engine.isOpened(DartEngine.PLAYER1)).isFalse();
+    }
+
+    @Test
+    void legsAndSetsAlternateTheStarter() {
+        X01Engine engine = new X01Engine(40, false, true, 2, 2, true);
+
+        assertThat(engine.throwDart(20, 2)).isEqualTo(DartResult.LEG_WON);
+        assertThat(engine.getLegs(DartEngine.PLAYER1)).isEqualTo(1);
+        assertThat(engine.getScore(DartEngine.PLAYER1)).isEqualTo(40);
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER2);
+
+        visit(engine, 1, 1, 1, 1, 1, 1);
+        assertThat(engine.throwDart(20, 2)).isEqualTo(DartResult.SET_WON);
+        assertThat(engine.getSets(DartEngine.PLAYER1)).isEqualTo(1);
+        assertThat(engine.getLegs(DartEngine.PLAYER1)).isZero();
+        assertThat(engine.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER1);
+        assertThat(engine.isFinished()).isFalse();
+    }
+
+    @Test
+    void snapshotRestoresTheEngineBetweenVisits() {
+        X01Engine engine = new X01Engine(501, true, true, 3, 0, true);
+        visit(engine, 20, 2, 20, 3, 20, 3);
+        int[] snapshot = engine.snapshot();
+
+        X01Engine restored = new X01Engine(501, true, true, 3, 0, true);
+        restored.restoreSnapshot(snapshot);
+
+        assertThat(restored.getScore(DartEngine.PLAYER1)).isEqualTo(501 - 160);
+        assertThat(restored.isOpened(DartEngine.PLAYER1)).isTrue();
+        assertThat(restored.isOpened(DartEngine.PLAYER2)).isFalse();
+        assertThat(restored.getCurrentPlayer()).isEqualTo(DartEngine.PLAYER2);
+
+        engine.throwDart(20, 1);
+        assertThatThrownBy(engine::snapshot).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsInvalidDartsAndDartsAfterTheGame() {
+        X01Engine engine = new X01Engine(40, false, true, 1, 0, false);
+
+        assertThatThrownBy(() -> engine.throwDart(25, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.throwDart(21, 1)).isInstanceOf(IllegalArgumentException.class);
+
+        engine.throwDart(20, 2);
+        assertThatThrownBy(() -> engine.throwDart(1, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void visit(DartEngine engine, int segment1, int multiplier1, int segment2, int multiplier2,
+                              int segment3, int multiplier3) {
+        engine.throwDart(segment1, multiplier1);
+        engine.throwDart(segment2, multiplier2);
+        engine.throwDart(segment3, multiplier3);
+    }
+}
@@ -0,0 +1,75 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.PlayerResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveGameRegistryTest {
+
+    private final ActiveGameRegistry<String> registry = new ActiveGameRegistry<>(4, 8, 60_000);
+
+    @Test
+    void listsGamesNewestFirstAndByPlayer() {
+        registry.add(game(1L, player(10L, "Anna"), player(11L, "Ben"), 1));
+        registry.add(game(2L, player(12L, "Cleo"), player(10L, "Anna"), 2));
+        registry.add(game(3L, player(12L, "Cleo"), player(11L, "Ben"), 3));
+
+        assertThat(registry.games()).extracting(GameResponse::getId).containsExactly(3L, 2L, 1L);
+        assertThat(registry.gamesOfPlayer(10L)).extracting(GameResponse::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void updatePlayerReplacesListingsInsteadOfChangingThem() {
+        registry.add(game(1L, player(10L, "Anna"), player(11L, "Ben"), 1));
+        GameResponse handedOut = registry.games().get(0);
+
+        registry.updatePlayer(player(10L, "Anna Maria"));
+
+        assertThat(handedOut.getPlayer1().getName()).isEqualTo("Anna");
+        GameResponse listed = registry.games().get(0);
+        assertThat(listed).isNotSameAs(handedOut);
+        assertThat(listed.getPlayer1().getName()).isEqualTo("Anna Maria");
+        assertThat(listed.getPlayer2()).isSameAs(handedOut.getPlayer2());
+    }
+
+    @Test
+    void loadedValuesAreEvictedLeastRecentlyUsedFirst() {
+        ActiveGameRegistry<String> small = new ActiveGameRegistry<>(1, 2, 60_000);
+        assertThat(small.load(game(1L, player(10L, "Anna"), null, 1), "one")).isNull();
+        assertThat(small.load(game(2L, player(10L, "Anna"), null, 2), "two")).isNull();
+        small.get(1L);
+
+        assertThat(small.load(game(3L, player(10L, "Anna"), null, 3), "three")).isEqualTo(2L);
+        assertThat(small.unload(2L)).isEqualTo("two");
+        assertThat(small.contains(2L)).isTrue();
+        assertThat(small.loaded()).containsExactlyInAnyOrder("one", "three");
+    }
+
+    @Test
+    void removeDropsListingAndLoadedValue() {
+        registry.load(game(1L, player(10L, "Anna"), null, 1), "one");
+
+        assertThat(registry.remove(1L)).isEqualTo("one");
+        assertThat(registry.contains(1L)).isFalse();
+        assertThat(registry.get(1L)).isNull();
+        assertThat(registry.games()).isEqualTo(List.of());
+    }
+
+    private static GameResponse game(Long id, PlayerResponse player1, PlayerResponse player2, int minute) {
+        GameResponse game = new GameResponse();
+        game.setId(id);
+        game.setPlayer1(player1);
+        game.setPlayer2(player2);
+        game.setCreatedAt(LocalDateTime.of(2024, 1, 1, 20, minute));
+        return game;
+    }
+
+    private static PlayerResponse player(Long id, String name) {
+        return new PlayerResponse(id, name, null, null, null, true);
+    }
+}
@@ -0,0 +1,169 @@
+package com.dartverein.service;
+
+import com.dartverein.dto.GameResponse;
+import com.dartverein.dto.GameStateResponse;
+import com.dartverein.model.Game;
+import com.dartverein.model.GameState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameDeltaServiceTest {
+
+    private static final long GAME_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GameDeltaService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GameDeltaService();
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "bufferSize", 64);
+        ReflectionTestUtils.setField(service, "historySize", 256);
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "retainMs", 60000L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void joinSendsASnapshotAndThenTheChangedFields() throws Exception {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        service.join(GAME_ID, session(messages), state(501, 0), null, null);
+        service.record(state(441, 3));
+
+        JsonNode snapshot = message(messages, 0);
+        assertThat(snapshot.get("type").asText()).isEqualTo("snapshot");
+        assertThat(snapshot.get("version").asLong()).isZero();
+        assertThat(snapshot.get("score1").asInt()).isEqualTo(501);
+        JsonNode delta = message(messages, 1);
+        assertThat(delta.get("type").asText()).isEqualTo("delta");
+        assertThat(delta.get("version").asLong()).isEqualTo(1);
+        assertThat(delta.get("score1").asInt()).isEqualTo(441);
+        assertThat(delta.get("darts1").asInt()).isEqualTo(3);
+        assertThat(delta.has("score2")).isFalse();
+    }
+
+    @Test
+    void changesOfARolledBackTransactionAreDropped() throws Exception {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        service.join(GAME_ID, session(messages), state(501, 0), null, null);
+        // The snapshot is sent asynchronously; wait for it before counting
+        message(messages, 0);
+
+        inTransaction(() -> service.record(state(441, 3)), TransactionSynchronization.STATUS_ROLLED_BACK);
+        inTransaction(() -> {
+            service.record(state(481, 1));
+            // Not sent before the commit
+            assertThat(messages).hasSize(1);
+        }, TransactionSynchronization.STATUS_COMMITTED);
+
+        JsonNode delta = message(messages, 1);
+        assertThat(delta.get("version").asLong()).isEqualTo(1);
+        assertThat(delta.get("score1").asInt()).isEqualTo(481);
+        assertThat(delta.get("darts1").asInt()).isEqualTo(1);
+        Thread.sleep(50);
+        assertThat(messages).hasSize(2);
+    }
+
+    @Test
+    void reconnectResumesFromTheVersionItHas() throws Exception {
+        List<String> first = new CopyOnWriteArrayList<>();
+        Session firstSession = session(first);
+        service.join(GAME_ID, firstSession, state(501, 0), null, null);
+        service.record(state(441, 3));
+        long stream = message(first, 0).get("stream").asLong();
+        message(first, 1);
+        service.leave(firstSession);
+        service.record(state(441, 3, 461));
+
+        List<String> resumed = new CopyOnWriteArrayList<>();
+        service.join(GAME_ID, session(resumed), state(441, 3, 461), stream, 1L);
+        JsonNode missed = message(resumed, 0);
+        assertThat(missed.get("type").asText()).isEqualTo("delta");
+        assertThat(missed.get("version").asLong()).isEqualTo(2);
+        assertThat(missed.get("score2").asInt()).isEqualTo(461);
+
+        // An unknown stream gets a snapshot instead
+        List<String> restarted = new CopyOnWriteArrayList<>();
+        service.join(GAME_ID, session(restarted), state(441, 3, 461), stream + 1, 1L);
+        assertThat(message(restarted, 0).get("type").asText()).isEqualTo("snapshot");
+    }
+
+    /**
+     * Runs {@code work} with transaction synchronization active and completes it with {@code status}.
+     */
+    private static void inTransaction(Runnable work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            work.run();
+        } finally {
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private JsonNode message(List<String> messages, int index) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (messages.size() <= index && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(messages).hasSizeGreaterThan(index);
+        return objectMapper.readTree(messages.get(index));
+    }
+
+    private static Session session(List<String> messages) throws Exception {
+        RemoteEndpoint.Basic remote = mock(RemoteEndpoint.Basic.class);
+        doAnswer(invocation -> messages.add(invocation.getArgument(0))).when(remote).sendText(anyString());
+        Session session = mock(Session.class);
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+        when(session.getBasicRemote()).thenReturn(remote);
+        return session;
+    }
+
+    private static GameStateResponse state(int player1Score, int player1Darts) {
+        return state(player1Score, player1Darts, 501);
+    }
+
+    private static GameStateResponse state(int player1Score, int player1Darts, int player2Score) {
+        GameResponse game = new GameResponse();
+        game.setId(GAME_ID);
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        GameStateResponse state = new GameStateResponse();
+        state.setGame(game);
+        state.setPlayer1Score(player1Score);
+        state.setPlayer2Score(player2Score);
+        state.setPlayer1DartsThrown(player1Darts);
+        state.setCurrentPlayer(GameState.CurrentPlayer.PLAYER1);
+        return state;
+    }
+}
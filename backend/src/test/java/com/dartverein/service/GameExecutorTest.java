@@ -0,0 +1,39 @@
+package com.dartverein.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GameExecutorTest {
+
+    private static final long GAME_ID = 1L;
+
+    @Autowired
+    private GameExecutor gameExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tasksTakeAConnectionOnlyForTheirStatements() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+
+        assertThat(gameExecutor.execute(GAME_ID, pool::getActiveConnections)).isZero();
+        assertThat(gameExecutor.query(GAME_ID, pool::getActiveConnections)).isZero();
+        assertThat(gameExecutor.execute(GAME_ID, () -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return pool.getActiveConnections();
+        })).isEqualTo(1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.dartverein.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameHistoryServiceTest {
+
+    @Test
+    void cursorRoundTripsItsKey() {
+        GameHistoryService.Cursor cursor = new GameHistoryService.Cursor(LocalDateTime.of(2026, 3, 14, 19, 30, 5, 123_456_000), 4711L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(GameHistoryService.Cursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorKeepsWholeSecondsAndLargeIds() {
+        GameHistoryService.Cursor cursor = new GameHistoryService.Cursor(LocalDateTime.of(2026, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(GameHistoryService.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> GameHistoryService.Cursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameHistoryService.Cursor.decode(encode("2026-01-01T00:00"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameHistoryService.Cursor.decode(encode("yesterday_12"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameHistoryService.Cursor.decode(encode("2026-01-01T00:00_x"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes());
+    }
+}
@@ -0,0 +1,102 @@
+package com.dartverein.service;
+
+import com.dartverein.model.GameStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics work per dart: the primitive accumulator against updating the GameStatistics entity
+ * through its setters, as a dart did before (the entity's per-dart write came on top of this).
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.include=GameStatisticsAccumulatorBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStatisticsAccumulatorBenchmark {
+
+    // Segment and multiplier of a few visits: T20 T20 T20, 20 T20 5, T19 D16 miss, 25 BULL D20
+    private static final int[][] DARTS = {
+            {20, 3}, {20, 3}, {20, 3},
+            {20, 1}, {20, 3}, {5, 1},
+            {19, 3}, {16, 2}, {0, 0},
+            {25, 1}, {25, 2}, {20, 2}
+    };
+
+    private GameStatisticsAccumulator accumulator;
+    private GameStatistics entity;
+    private int next;
+    private int visitTotal;
+
+    @Setup
+    public void setUp() {
+        accumulator = new GameStatisticsAccumulator(true);
+        entity = new GameStatistics();
+    }
+
+    @Benchmark
+    public int accumulator() {
+        int[] dart = nextDart();
+        accumulator.dart(dart[0], dart[1]);
+        if (visitClosed()) {
+            accumulator.visit(visitTotal, false);
+            visitTotal = 0;
+        }
+        return accumulator.getDartsThrown();
+    }
+
+    @Benchmark
+    public int entity() {
+        int[] dart = nextDart();
+        entity.setTotalDartsThrown(entity.getTotalDartsThrown() + 1);
+        if (dart[0] == 0) {
+            entity.setCountMisses(entity.getCountMisses() + 1);
+        } else {
+            if (dart[1] == 2) {
+                entity.setCountDoubles(entity.getCountDoubles() + 1);
+            } else if (dart[1] == 3) {
+                entity.setCountTriples(entity.getCountTriples() + 1);
+            }
+            if (dart[0] == 25) {
+                entity.setCountBullseyes(entity.getCountBullseyes() + 1);
+            }
+        }
+        if (visitClosed()) {
+            entity.setTotalScore(entity.getTotalScore() + visitTotal);
+            if (visitTotal == 180) {
+                entity.incrementCount180();
+            } else if (visitTotal >= 140) {
+                entity.incrementCount140Plus();
+            } else if (visitTotal >= 100) {
+                entity.incrementCount100Plus();
+            } else if (visitTotal >= 60) {
+                entity.incrementCount60Plus();
+            }
+            visitTotal = 0;
+        }
+        return entity.getTotalDartsThrown();
+    }
+
+    private int[] nextDart() {
+        int[] dart = DARTS[next];
+        next = (next + 1) % DARTS.length;
+        visitTotal += dart[0] * dart[1];
+        return dart;
+    }
+
+    private boolean visitClosed() {
+        return next % 3 == 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.dartverein.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThrowJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private ThrowJournal journal;
+
+    @AfterEach
+    void closeJournal() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void pendingReturnsOnlyClosedVisits() throws IOException {
+        journal = open(16);
+        visit(1L, 1);
+        dart(2L, 1, 1, 0);
+
+        assertThat(journal.pending(10)).extracting(ThrowJournal.Entry::getGameId).containsExactly(1L, 1L, 1L);
+        assertThat(journal.pending(2)).hasSize(2);
+        assertThat(journal.openVisit(2L)).extracting(ThrowJournal.Entry::getDartNumber).containsExactly(1);
+        assertThat(journal.openVisit(1L)).isEmpty();
+    }
+
+    @Test
+    void compactionDropsFlushedRecordsAndKeepsTheOrder() throws IOException {
+        journal = open(16);
+        visit(1L, 1);
+        dart(2L, 1, 1, 0);
+        visit(1L, 2);
+
+        journal.markFlushed(sequences(journal.pending(3)));
+        journal.compact();
+
+        assertThat(journal.size()).isEqualTo(4);
+        List<ThrowJournal.Entry> pending = journal.pending(10);
+        assertThat(pending).extracting(ThrowJournal.Entry::getRoundNumber).containsExactly(2, 2, 2);
+        assertThat(pending.get(0).getSequence()).isEqualTo(5);
+        assertThat(journal.openVisit(2L)).hasSize(1);
+    }
+
+    @Test
+    void fullJournalCompactsAndThenRefusesDarts() throws IOException {
+        journal = open(4);
+        visit(1L, 1);
+        dart(2L, 1, 1, 0);
+        journal.markFlushed(sequences(journal.pending(3)));
+
+        dart(2L, 1, 2, 0);
+        assertThat(journal.size()).isEqualTo(2);
+
+        dart(2L, 1, 3, 0);
+        dart(3L, 1, 1, 0);
+        assertThatThrownBy(() -> dart(3L, 1, 2, 0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void restartKeepsUnflushedRecordsAndContinuesTheSequence() throws IOException {
+        journal = open(16);
+        visit(1L, 1);
+        visit(1L, 2);
+        journal.markFlushed(sequences(journal.pending(3)));
+        journal.close();
+
+        journal = open(16);
+        assertThat(journal.size()).isEqualTo(3);
+        assertThat(journal.pending(10)).extracting(ThrowJournal.Entry::getSequence).containsExactly(4L, 5L, 6L);
+
+        dart(1L, 3, 1, 0);
+        assertThat(journal.openVisit(1L).get(0).getSequence()).isEqualTo(7);
+    }
+
+    @Test
+    void restartAfterAnInterruptedCompactionKeepsEachRecordOnce() throws IOException {
+        journal = open(16);
+        dart(1L, 1, 1, 0);
+        dart(2L, 1, 1, ThrowJournal.FLAG_VISIT_END);
+        journal.markFlushed(new long[] {1});
+        journal.close();
+
+        // The crash hit compaction after copying the record in slot 1 to slot 0, before freeing slot 1
+        try (FileChannel file = FileChannel.open(directory.resolve("throws.journal"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer record = ByteBuffer.allocate(ThrowJournal.RECORD_SIZE);
+            file.read(record, ThrowJournal.RECORD_SIZE);
+            record.flip();
+            file.write(record, 0);
+        }
+
+        journal = open(16);
+        assertThat(journal.size()).isEqualTo(1);
+        assertThat(journal.pending(10)).extracting(ThrowJournal.Entry::getSequence).containsExactly(2L);
+        assertThat(journal.openVisit(1L)).isEmpty();
+
+        dart(3L, 1, 1, 0);
+        assertThat(journal.openVisit(3L).get(0).getSequence()).isEqualTo(3);
+    }
+
+    private ThrowJournal open(int capacity) throws IOException {
+        ThrowJournal opened = new ThrowJournal();
+        ReflectionTestUtils.setField(opened, "path", directory.resolve("throws.journal").toString());
+        ReflectionTestUtils.setField(opened, "capacity", capacity);
+        opened.open();
+        return opened;
+    }
+
+    private void visit(long gameId, int roundNumber) {
+        dart(gameId, roundNumber, 1, 0);
+        dart(gameId, roundNumber, 2, 0);
+        dart(gameId, roundNumber, 3, ThrowJournal.FLAG_VISIT_END);
+    }
+
+    private void dart(long gameId, int roundNumber, int dartNumber, int flags) {
+        journal.append(gameId, 10L, roundNumber, dartNumber, 20, 1, flags, 501, 481, 20);
+    }
+
+    private static long[] sequences(List<ThrowJournal.Entry> entries) {
+        return entries.stream().mapToLong(ThrowJournal.Entry::getSequence).toArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dartverein.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TournamentServiceTest {
+
+    @Test
+    void seedsAreOrderedSoThatTopSeedsMeetLast() {
+        assertThat(TournamentService.seedOrder(2)).containsExactly(1, 2);
+        assertThat(TournamentService.seedOrder(4)).containsExactly(1, 4, 2, 3);
+        assertThat(TournamentService.seedOrder(8)).containsExactly(1, 8, 4, 5, 2, 7, 3, 6);
+    }
+
+    @Test
+    void everySeedIsPlacedOnceAndFirstRoundPairsAddUp() {
+        int size = 64;
+        int[] order = TournamentService.seedOrder(size);
+
+        assertThat(order).hasSize(size).containsExactlyInAnyOrder(IntStream.rangeClosed(1, size).toArray());
+        for (int position = 0; position < size / 2; position++) {
+            assertThat(order[2 * position] + order[2 * position + 1]).isEqualTo(size + 1);
+        }
+        // Seeds 1 and 2 are in different halves
+        assertThat(order[0]).isEqualTo(1);
+        assertThat(order[size / 2]).isEqualTo(2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.dartverein.service;
+
+import com.dartverein.DartvereinApplication;
+import com.dartverein.dto.VisitRequest;
+import com.dartverein.model.Game;
+import com.dartverein.model.Player;
+import com.dartverein.repository.GameRepository;
+import com.dartverein.repository.PlayerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second written by the bulk visit ingestion: each invocation imports {@link #VISITS}
+ * visits of three darts, i.e. {@link #ROWS} rounds and throws.
+ * <p>
+ * Runs against the in-memory H2 database of the tests. For MySQL, point the datasource at it through
+ * the environment, which the forked benchmark JVM inherits:
+ * <pre>
+ * SPRING_DATASOURCE_URL='jdbc:mysql://localhost:3306/dartverein?rewriteBatchedStatements=true' \
+ * SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... \
+ * SPRING_DATASOURCE_DRIVER_CLASS_NAME=com.mysql.cj.jdbc.Driver \
+ * SPRING_JPA_DATABASE_PLATFORM=org.hibernate.dialect.MySQLDialect \
+ * mvn -P benchmark test-compile exec:exec -Djmh.include=VisitIngestionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VisitIngestionBenchmark {
+
+    private static final int VISITS = 500;
+    private static final int ROWS = VISITS * 4;
+
+    private ConfigurableApplicationContext context;
+    private VisitIngestionService visitIngestionService;
+    private List<VisitRequest> visits;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(DartvereinApplication.class,
+                "--server.port=0",
+                "--logging.level.com.dartverein=WARN",
+                "--spring.jpa.properties.hibernate.generate_statistics=false");
+        visitIngestionService = context.getBean(VisitIngestionService.class);
+
+        PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+        Player player1 = playerRepository.save(new Player("Benchmark One", "benchmark1@example.com"));
+        Player player2 = playerRepository.save(new Player("Benchmark Two", "benchmark2@example.com"));
+        Game game = context.getBean(GameRepository.class)
+                .save(new Game(player1, player2, Game.GameType.X01, Game.GameMode.WITH_ENEMY, 501));
+
+        visits = new ArrayList<>(VISITS);
+        for (int i = 0; i < VISITS; i++) {
+            VisitRequest visit = new VisitRequest();
+            visit.setGameId(game.getId());
+            visit.setPlayerId(i % 2 == 0 ? player1.getId() : player2.getId());
+            visit.setRoundNumber(i / 2 + 1);
+            visit.setScoreBefore(501);
+            visit.setScoreAfter(441);
+            visit.setDarts(List.of(new VisitRequest.Dart(20, 1), new VisitRequest.Dart(20, 1), new VisitRequest.Dart(20, 1)));
+            visits.add(visit);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int ingest() {
+        return visitIngestionService.ingest(visits).getDarts();
+    }
+}
@@ -143,6 +143,16 @@ class _X01MatchScreenState extends State<X01MatchScreen> {
       setState(() {
         _currentGameState = updatedGameState;
       });
+    } on GameStateConflictException catch (e) {
+      setState(() {
+        _currentGameState = e.current;
+      });
+      ScaffoldMessenger.of(context).showSnackBar(
+        const SnackBar(
+          content: Text('Spielstand wurde auf einem anderen Gerät geändert'),
+          backgroundColor: Colors.orange,
+        ),
+      );
     } catch (e) {
       // Silent fail for now - could add error logging
       print('Failed to save game state: $e');
@@ -7,6 +7,9 @@ class GameService {
   static const String baseUrl = 'http://10.0.2.2:8081/api/games';
   static const String gameStateUrl = 'http://10.0.2.2:8081/api/gamestate';
 
+  // ETag of the last game state seen per game; updates must send it as If-Match
+  final Map<int, String> _gameStateETags = {};
+
   Future<Game> createGame({
     required int player1Id,
     int? player2Id,
@@ -172,6 +175,7 @@ class GameService {
       );
 
       if (response.statusCode == 200) {
+        _rememberETag(gameId, response);
         return GameState.fromJson(json.decode(response.body));
       } else if (response.statusCode == 404) {
         throw Exception('Game state not found');
@@ -209,21 +213,56 @@ class GameService {
       if (player1DartsThrown != null) requestBody['player1DartsThrown'] = player1DartsThrown;
       if (player2DartsThrown != null) requestBody['player2DartsThrown'] = player2DartsThrown;
 
+      if (!_gameStateETags.containsKey(gameId)) {
+        await getGameState(gameId);
+      }
+      final eTag = _gameStateETags[gameId];
+      if (eTag == null) {
+        throw Exception('Game state has no version to update');
+      }
+
       final response = await http.put(
         Uri.parse('$gameStateUrl/game/$gameId'),
-        headers: {'Content-Type': 'application/json'},
+        headers: {
+          'Content-Type': 'application/json',
+          'If-Match': eTag,
+        },
         body: json.encode(requestBody),
       );
 
       if (response.statusCode == 200) {
+        _rememberETag(gameId, response);
         return GameState.fromJson(json.decode(response.body));
       } else if (response.statusCode == 404) {
         throw Exception('Game state not found');
+      } else if (response.statusCode == 412 || response.statusCode == 428) {
+        // Not applied: the caller decides what to do with the current state
+        _gameStateETags.remove(gameId);
+        throw GameStateConflictException(await getGameState(gameId));
       } else {
         throw Exception('Failed to update game state: ${response.statusCode}');
       }
+    } on GameStateConflictException {
+      rethrow;
     } catch (e) {
       throw Exception('Error connecting to server: $e');
     }
   }
-}
\ No newline at end of file
+
+  void _rememberETag(int gameId, http.Response response) {
+    final eTag = response.headers['etag'];
+    if (eTag != null) {
+      _gameStateETags[gameId] = eTag;
+    }
+  }
+}
+
+/// An update that was not applied because the game state changed on another device.
+class GameStateConflictException implements Exception {
+  final GameState current;
+
+  GameStateConflictException(this.current);
+
+  @override
+  String toString() => 'Game state was changed on another device';
+}